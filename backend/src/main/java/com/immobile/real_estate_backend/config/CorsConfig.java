@@ -1,5 +1,6 @@
 package com.immobile.real_estate_backend.config;
 
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -16,6 +17,7 @@ public class CorsConfig {
                         .allowedOrigins("http://localhost:5173")
                         .allowedMethods("*")
                         .allowedHeaders("*")
+                        .exposedHeaders(CursorPageDTO.NEXT_CURSOR_HEADER)
                         .allowCredentials(true);
             }
         };
@@ -0,0 +1,50 @@
+package com.immobile.real_estate_backend.config;
+
+import com.immobile.real_estate_backend.service.ImageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves image bytes still stored in the {@code images} table into the image storage.
+ * Runs only when the application is started with {@code --migrate-image-blobs}; each
+ * image is migrated in its own transaction so a failure leaves the rest untouched.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageBlobMigrationRunner implements ApplicationRunner {
+
+    static final String OPTION = "migrate-image-blobs";
+
+    private final ImageService imageService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+
+        List<Long> imageIds = imageService.getImageIdsWithLegacyContent();
+        log.info("Migrating {} images from the database to the image storage", imageIds.size());
+
+        int migrated = 0;
+        int failed = 0;
+        for (Long imageId : imageIds) {
+            try {
+                if (imageService.migrateLegacyContent(imageId)) {
+                    migrated++;
+                }
+            } catch (Exception e) {
+                failed++;
+                log.error("Failed to migrate image {}: {}", imageId, e.getMessage(), e);
+            }
+        }
+
+        log.info("Image migration finished: {} migrated, {} failed", migrated, failed);
+    }
+}
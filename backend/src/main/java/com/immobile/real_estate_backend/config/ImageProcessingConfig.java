@@ -0,0 +1,30 @@
+package com.immobile.real_estate_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@Slf4j
+public class ImageProcessingConfig {
+
+    /**
+     * Small dedicated pool for resizing images so bursts of uploads cannot starve
+     * request threads. Renditions are optional (the original is served until they
+     * exist), so work beyond the queue is dropped rather than run on the caller.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageRenditionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("image-rendition-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Image rendition queue is full, skipping task"));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,27 @@
+package com.immobile.real_estate_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class OutboxConfig {
+
+    /**
+     * Pool that talks to the mail server, so a slow SMTP host only delays the outbox and
+     * never a request. The outbox claims no more emails than the pool can take; should the
+     * pool still reject one, the outbox releases it for the next run.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor outboxEmailExecutor(@Value("${outbox.email.pool-size:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("outbox-email-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -1,10 +1,12 @@
 package com.immobile.real_estate_backend.config;
 
 import com.immobile.real_estate_backend.service.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -32,6 +34,8 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (streaming exports) resume a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/auth/token-details").permitAll()
                         .requestMatchers("/auth/**").permitAll()
@@ -40,11 +44,13 @@ public class SecurityConfig {
                         .requestMatchers("/invite").permitAll()
                         .requestMatchers("/lease").permitAll()
                         .requestMatchers("/payment").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/payment/stripe/webhook").permitAll()
                         .requestMatchers("/demo/maintenance").permitAll()
                         .requestMatchers("/activity-log/all").permitAll()
                         .requestMatchers("/invitation/**").permitAll()
                         .requestMatchers("/demo/maintenance/**").permitAll()
                         .requestMatchers("/image/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/property/available").permitAll()
                         .anyRequest().authenticated()
                 )
                 .cors(Customizer.withDefaults())
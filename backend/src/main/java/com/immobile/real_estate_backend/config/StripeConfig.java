@@ -0,0 +1,54 @@
+package com.immobile.real_estate_backend.config;
+
+import com.stripe.StripeClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+
+@Configuration
+@Slf4j
+public class StripeConfig {
+
+    /**
+     * The one Stripe client of the application, so the API key is set once instead of
+     * through the global {@code Stripe.apiKey}. The API base is configurable so tests can
+     * point it at a local stand-in.
+     */
+    @Bean
+    public StripeClient stripeClient(@Value("${stripe.keys.secret}") String apiKey,
+                                     @Value("${stripe.api-base:https://api.stripe.com}") String apiBase,
+                                     @Value("${stripe.connect-timeout:5s}") Duration connectTimeout,
+                                     @Value("${stripe.read-timeout:20s}") Duration readTimeout,
+                                     @Value("${stripe.max-network-retries:2}") int maxNetworkRetries) {
+        return StripeClient.builder()
+                .setApiKey(apiKey)
+                .setApiBase(apiBase)
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setReadTimeout((int) readTimeout.toMillis())
+                .setMaxNetworkRetries(maxNetworkRetries)
+                .build();
+    }
+
+    /**
+     * Pool that processes stored Stripe events, so webhook deliveries are acknowledged as
+     * soon as they are persisted. Rejected events stay pending in the inbox and are picked
+     * up by the next sweep.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor stripeEventExecutor(@Value("${stripe.events.pool-size:2}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("stripe-event-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Stripe event queue is full, the event will be processed by the next sweep"));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -1,14 +1,21 @@
 package com.immobile.real_estate_backend.controller;
 
 import com.immobile.real_estate_backend.model.dto.ActivityLogDTO;
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import com.immobile.real_estate_backend.model.entity.User;
+import com.immobile.real_estate_backend.model.enums.ExportFormat;
 import com.immobile.real_estate_backend.service.ActivityLogService;
+import com.immobile.real_estate_backend.service.ExportService;
 import com.immobile.real_estate_backend.service.UserService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 
 @RestController
@@ -18,11 +25,32 @@ public class ActivityLogController {
 
     private final ActivityLogService activityLogService;
     private final UserService userService;
+    private final ExportService exportService;
 
     @GetMapping("")
     @PreAuthorize("hasRole('ADMIN')")
-    public List<ActivityLogDTO> getAllActivityLogs() {
-        return activityLogService.getAllLogs();
+    public ResponseEntity<List<ActivityLogDTO>> getAllActivityLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPageDTO<ActivityLogDTO> page = activityLogService.getLogsPage(cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPageDTO.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportActivityLogs(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = exportService.parseFormat(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("activity-logs." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(out -> exportService.exportActivityLogs(out, exportFormat));
     }
 
     @GetMapping("/recent")
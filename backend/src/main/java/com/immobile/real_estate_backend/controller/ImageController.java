@@ -1,20 +1,37 @@
 package com.immobile.real_estate_backend.controller;
 
+import com.immobile.real_estate_backend.model.dto.ImageMetadataDTO;
+import com.immobile.real_estate_backend.model.enums.ImageSize;
 import com.immobile.real_estate_backend.service.ImageService;
 import lombok.AllArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/image")
 @AllArgsConstructor
 public class ImageController {
 
+    // Image content never changes once uploaded, so clients may keep it indefinitely.
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable();
+
+    // A size that is served by its original must be fetched again once the rendition exists.
+    private static final CacheControl FALLBACK = CacheControl.noCache();
+
     private final ImageService imageService;
 
     @PostMapping
@@ -24,10 +41,39 @@ public class ImageController {
     }
 
     @GetMapping(value = "/{imageId}", produces = MediaType.IMAGE_JPEG_VALUE)
-    public ResponseEntity<Resource> downloadImage(@PathVariable Long imageId) {
-        byte[] content = imageService.downloadImage(imageId);
-        return ResponseEntity.ok()
+    public ResponseEntity<Resource> downloadImage(@PathVariable Long imageId,
+                                                  @RequestParam(required = false) String size,
+                                                  WebRequest request) {
+        ImageMetadataDTO metadata = imageService.getImageMetadata(imageId, parseSize(size));
+        String eTag = metadata.getContentHash() != null ? "\"" + metadata.getContentHash() + "\"" : null;
+        CacheControl cacheControl = metadata.isFallback() ? FALLBACK : IMMUTABLE;
+
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        Resource content = imageService.downloadImage(metadata);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .contentType(MediaType.IMAGE_JPEG)
-                .body(new ByteArrayResource(content));
+                .cacheControl(cacheControl);
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        return response.body(content);
+    }
+
+    private ImageSize parseSize(String size) {
+        if (size == null || size.isBlank()) {
+            return null;
+        }
+        try {
+            return ImageSize.valueOf(size.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unknown image size: " + size + ". Expected one of " + Arrays.toString(ImageSize.values()));
+        }
     }
 }
@@ -1,15 +1,22 @@
 package com.immobile.real_estate_backend.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.immobile.real_estate_backend.model.dto.BillingCycleDTO;
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import com.immobile.real_estate_backend.model.dto.LeaseDTO;
 import com.immobile.real_estate_backend.model.dto.LeaseRequestDTO;
 import com.immobile.real_estate_backend.model.entity.Lease;
+import com.immobile.real_estate_backend.model.enums.ExportFormat;
 import com.immobile.real_estate_backend.model.enums.LeaseStatus;
 import com.immobile.real_estate_backend.model.enums.LeaseTerminationStatus;
+import com.immobile.real_estate_backend.service.BillingCycleService;
+import com.immobile.real_estate_backend.service.ExportService;
 import com.immobile.real_estate_backend.service.LeaseService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +24,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -28,6 +36,8 @@ import java.util.Map;
 public class LeaseController {
 
     private final LeaseService leaseService;
+    private final ExportService exportService;
+    private final BillingCycleService billingCycleService;
 
     @GetMapping("/user/me")
     @PreAuthorize("hasRole('TENANT')")
@@ -74,6 +84,18 @@ public class LeaseController {
         return ResponseEntity.ok(leases);
     }
 
+    @GetMapping("/owner/me/billing-cycles/current")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LANDLORD')")
+    public ResponseEntity<List<BillingCycleDTO>> getCurrentBillingCyclesByOwner(Authentication auth) {
+        return ResponseEntity.ok(billingCycleService.getCurrentCyclesForOwner(auth.getName()));
+    }
+
+    @GetMapping("/{leaseId}/billing-cycles")
+    @PreAuthorize("hasAnyRole('TENANT', 'LANDLORD', 'ADMIN')")
+    public ResponseEntity<List<BillingCycleDTO>> getBillingCycles(@PathVariable Long leaseId) {
+        return ResponseEntity.ok(billingCycleService.getCyclesForLease(leaseId));
+    }
+
     @PostMapping("/{leaseId}/terminate-request")
     @PreAuthorize("hasRole('LANDLORD')")
     public ResponseEntity<Void> requestLeaseTermination(@PathVariable Long leaseId) {
@@ -104,8 +126,28 @@ public class LeaseController {
     }
 
     @GetMapping
-    public ResponseEntity<List<LeaseDTO>> getAllLeases() {
-        return new ResponseEntity<>(leaseService.getAllLeasesDTO(), HttpStatus.OK);
+    public ResponseEntity<List<LeaseDTO>> getAllLeases(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPageDTO<LeaseDTO> page = leaseService.getLeasesPage(cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPageDTO.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportLeases(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = exportService.parseFormat(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("leases." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(out -> exportService.exportLeases(out, exportFormat));
     }
 
     @DeleteMapping("/{leaseId}")
@@ -1,5 +1,6 @@
 package com.immobile.real_estate_backend.controller;
 
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import com.immobile.real_estate_backend.model.dto.MaintenanceRequestDTO;
 import com.immobile.real_estate_backend.model.enums.MaintenanceStatus;
 import com.immobile.real_estate_backend.service.MaintenanceRequestService;
@@ -15,6 +16,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/maintenance")
@@ -25,9 +27,21 @@ public class MaintenanceRequestController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<MaintenanceRequestDTO>> getAllMaintenanceRequests() {
-        List<MaintenanceRequestDTO> requests = maintenanceRequestService.getAllRequests();
-        return ResponseEntity.ok(requests);
+    public ResponseEntity<List<MaintenanceRequestDTO>> getAllMaintenanceRequests(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPageDTO<MaintenanceRequestDTO> page = maintenanceRequestService.getRequestsPage(cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPageDTO.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+
+    @GetMapping("/count")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Long>> countMaintenanceRequests() {
+        return ResponseEntity.ok(Map.of("count", maintenanceRequestService.countRequests()));
     }
 
     @PatchMapping("/{requestId}/mark-not-fixed")
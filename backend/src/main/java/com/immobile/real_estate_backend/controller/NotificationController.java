@@ -1,5 +1,6 @@
 package com.immobile.real_estate_backend.controller;
 
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import com.immobile.real_estate_backend.model.dto.NotificationDTO;
 import com.immobile.real_estate_backend.model.entity.Notification;
 import com.immobile.real_estate_backend.model.entity.User;
@@ -12,7 +13,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/notification")
@@ -23,8 +23,15 @@ public class NotificationController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<NotificationDTO>> getAllNotifications() {
-        return new ResponseEntity<>(notificationService.getAllNotificationsDTO(), HttpStatus.OK);
+    public ResponseEntity<List<NotificationDTO>> getAllNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPageDTO<NotificationDTO> page = notificationService.getNotificationsPage(cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPageDTO.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
     }
 
     @PostMapping
@@ -45,9 +52,17 @@ public class NotificationController {
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<NotificationDTO>> getUserNotifications(@PathVariable Long userId) {
-        return ResponseEntity.ok(notificationService.getAllNotificationsDTO().stream()
-                .filter(n -> n.getUserId().equals(userId))
-                .collect(Collectors.toList()));
+        return ResponseEntity.ok(notificationService.getNotificationsByUserId(userId));
+    }
+
+    @GetMapping("/user/{userId}/unread-count")
+    public ResponseEntity<Long> getUnreadCount(@PathVariable Long userId) {
+        return ResponseEntity.ok(notificationService.getUnreadCount(userId));
+    }
+
+    @GetMapping("/user/email/{email}/unread-count")
+    public ResponseEntity<Long> getUnreadCountByEmail(@PathVariable String email) {
+        return ResponseEntity.ok(notificationService.getUnreadCountByEmail(email));
     }
 
     @PatchMapping("/{notificationId}/read")
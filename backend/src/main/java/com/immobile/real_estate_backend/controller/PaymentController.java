@@ -1,32 +1,33 @@
 package com.immobile.real_estate_backend.controller;
 
-import com.immobile.real_estate_backend.model.dto.LeaseDTO;
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import com.immobile.real_estate_backend.model.dto.PaymentDTO;
 import com.immobile.real_estate_backend.model.dto.StripeSessionRequestDTO;
 import com.immobile.real_estate_backend.model.dto.UserDTO;
 import com.immobile.real_estate_backend.model.entity.Lease;
 import com.immobile.real_estate_backend.model.entity.User;
-import com.immobile.real_estate_backend.model.enums.LeaseStatus;
+import com.immobile.real_estate_backend.model.enums.ExportFormat;
+import com.immobile.real_estate_backend.model.enums.StripeEventStatus;
 import com.immobile.real_estate_backend.repository.LeaseRepository;
 import com.immobile.real_estate_backend.repository.UserRepository;
-import com.immobile.real_estate_backend.service.LeaseService;
+import com.immobile.real_estate_backend.service.ExportService;
 import com.immobile.real_estate_backend.service.PaymentService;
+import com.immobile.real_estate_backend.service.StripeEventService;
 import com.immobile.real_estate_backend.service.UserService;
-import com.stripe.Stripe;
-import com.stripe.exception.StripeException;
-import com.stripe.model.checkout.Session;
-import com.stripe.param.checkout.SessionCreateParams;
 import lombok.RequiredArgsConstructor;
 //import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
@@ -38,15 +39,32 @@ public class PaymentController {
 
     private final PaymentService paymentService;
     private final UserService userService;
-    private final LeaseService leaseService;
-    @Value("${stripe.keys.secret}")
-    private String apiKey;
+    private final ExportService exportService;
+    private final StripeEventService stripeEventService;
 
     @GetMapping
-    public ResponseEntity<List<PaymentDTO>> getAllPayments() {
+    public ResponseEntity<List<PaymentDTO>> getAllPayments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPageDTO<PaymentDTO> page = paymentService.getPaymentsPage(cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPageDTO.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
 
-        List<PaymentDTO> payments = paymentService.getAllPayments();
-        return ResponseEntity.ok(payments);
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportPayments(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = exportService.parseFormat(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("payments." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(out -> exportService.exportPayments(out, exportFormat));
     }
 
     @PostMapping("/{leaseId}")
@@ -93,49 +111,30 @@ public class PaymentController {
 
     @PostMapping("/stripe/create-session")
     @PreAuthorize("hasRole('TENANT')")
-    public ResponseEntity<Map<String, String>> createCheckoutSession(@RequestBody StripeSessionRequestDTO req) throws StripeException {
-        Stripe.apiKey = apiKey;
-
-        LeaseDTO lease = leaseService.getLeaseDTO(req.getLeaseId());
-
-        if (lease.getStatus() != LeaseStatus.ACTIVE) {
-            throw new RuntimeException("Cannot pay rent for an inactive lease.");
-        }
-
-        long amountInCents = lease.getMonthlyRent().multiply(BigDecimal.valueOf(100)).longValue();
-
-        System.out.println(amountInCents);
-
-        SessionCreateParams params = SessionCreateParams.builder()
-                .setMode(SessionCreateParams.Mode.PAYMENT)
-                .setSuccessUrl("http://localhost:5173/payment/success?session_id={CHECKOUT_SESSION_ID}") // update if needed
-                .setCancelUrl("http://localhost:5173/payment/cancel")
-                .addLineItem(
-                        SessionCreateParams.LineItem.builder()
-                                .setQuantity(1L)
-                                .setPriceData(
-                                        SessionCreateParams.LineItem.PriceData.builder()
-                                                .setCurrency("usd")
-                                                .setUnitAmount(amountInCents)
-                                                .setProductData(
-                                                        SessionCreateParams.LineItem.PriceData.ProductData.builder()
-                                                                .setName("Monthly Rent Payment")
-                                                                .build())
-                                                .build())
-                                .build())
-                .putMetadata("leaseId", lease.getLeaseId().toString())
-                .build();
-
-        Session session = Session.create(params);
-
-        return ResponseEntity.ok(Map.of("id", session.getId()));
+    public ResponseEntity<Map<String, String>> createCheckoutSession(@RequestBody StripeSessionRequestDTO req) {
+        String sessionId = paymentService.createCheckoutSession(req.getLeaseId());
+        return ResponseEntity.ok(Map.of("id", sessionId));
     }
 
     @PostMapping("/stripe/confirm")
     @PreAuthorize("hasRole('TENANT')")
-    public ResponseEntity<PaymentDTO> confirmStripePayment(@RequestParam("session_id") String sessionId) {
-        PaymentDTO payment = paymentService.confirmStripePayment(sessionId);
-        return ResponseEntity.ok(payment);
+    public ResponseEntity<Map<String, String>> confirmStripePayment(@RequestParam("session_id") String sessionId) {
+        StripeEventStatus status = stripeEventService.requestConfirmation(sessionId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("status", status.name()));
+    }
+
+    @GetMapping("/stripe/confirm")
+    @PreAuthorize("hasRole('TENANT')")
+    public ResponseEntity<Map<String, String>> getStripeConfirmationStatus(@RequestParam("session_id") String sessionId) {
+        StripeEventStatus status = stripeEventService.getConfirmationStatus(sessionId);
+        return ResponseEntity.ok(Map.of("status", status.name()));
+    }
+
+    @PostMapping("/stripe/webhook")
+    public ResponseEntity<Void> receiveStripeWebhook(@RequestBody String payload,
+                                                     @RequestHeader("Stripe-Signature") String signature) {
+        stripeEventService.receive(payload, signature);
+        return ResponseEntity.ok().build();
     }
 
     @GetMapping("/lease/{leaseId}")
@@ -1,13 +1,21 @@
 package com.immobile.real_estate_backend.controller;
 
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
+import com.immobile.real_estate_backend.model.dto.PageDTO;
+import com.immobile.real_estate_backend.model.dto.PropertyClusterDTO;
 import com.immobile.real_estate_backend.model.dto.PropertyDTO;
+import com.immobile.real_estate_backend.model.dto.PropertyFacetSearchDTO;
+import com.immobile.real_estate_backend.model.dto.PropertyLocationDTO;
 import com.immobile.real_estate_backend.model.dto.UserDTO;
 import com.immobile.real_estate_backend.model.entity.Property;
 import com.immobile.real_estate_backend.model.entity.User;
 import com.immobile.real_estate_backend.model.enums.PropertyStatus;
+import com.immobile.real_estate_backend.model.enums.PropertyType;
+import com.immobile.real_estate_backend.model.enums.RentBand;
 import com.immobile.real_estate_backend.model.enums.ValidationStatus;
 import com.immobile.real_estate_backend.repository.UserRepository;
 import com.immobile.real_estate_backend.service.PropertyService;
+import com.immobile.real_estate_backend.service.PublicPropertyListingCache;
 import com.immobile.real_estate_backend.service.UserService;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,10 +25,13 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/property")
@@ -32,8 +43,98 @@ public class PropertyController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<PropertyDTO>> getAllProperties() {
-        return new ResponseEntity<>(propertyService.getAllPropertiesDTO(), HttpStatus.OK);
+    public ResponseEntity<List<PropertyDTO>> getAllProperties(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPageDTO<PropertyDTO> page = propertyService.getPropertiesPage(cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPageDTO.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+
+    @GetMapping(params = "ids")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<PropertyDTO>> getPropertiesByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(propertyService.getPropertiesByIds(ids));
+    }
+
+    @GetMapping("/count")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Long>> countProperties() {
+        return ResponseEntity.ok(Map.of("count", propertyService.countProperties()));
+    }
+
+    @GetMapping(value = "/available", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getPublicListing(WebRequest request) {
+        PublicPropertyListingCache.Snapshot listing = propertyService.getPublicListing();
+        if (request.checkNotModified(listing.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(listing.eTag())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(listing.eTag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(listing.json());
+    }
+
+    @GetMapping("/nearby")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TENANT', 'LANDLORD')")
+    public ResponseEntity<PageDTO<PropertyLocationDTO>> getPropertiesNearby(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(propertyService.findAvailableNearby(latitude, longitude, radiusKm, page, size));
+    }
+
+    @GetMapping("/within")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TENANT', 'LANDLORD')")
+    public ResponseEntity<PageDTO<PropertyLocationDTO>> getPropertiesWithinBounds(
+            @RequestParam double minLatitude,
+            @RequestParam double minLongitude,
+            @RequestParam double maxLatitude,
+            @RequestParam double maxLongitude,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(propertyService.findAvailableWithinBounds(
+                minLatitude, minLongitude, maxLatitude, maxLongitude, page, size));
+    }
+
+    @GetMapping("/search/text")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PageDTO<PropertyDTO>> searchPropertiesByText(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(propertyService.searchByText(query, page, size));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TENANT', 'LANDLORD')")
+    public ResponseEntity<PropertyFacetSearchDTO> searchPropertiesByFacets(
+            @RequestParam(required = false) Set<PropertyType> type,
+            @RequestParam(required = false) Set<PropertyStatus> status,
+            @RequestParam(required = false) Set<ValidationStatus> validationStatus,
+            @RequestParam(required = false) Set<RentBand> rentBand,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(propertyService.searchByFacets(type, status, validationStatus, rentBand, page, size));
+    }
+
+    @GetMapping("/clusters")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TENANT', 'LANDLORD')")
+    public ResponseEntity<List<PropertyClusterDTO>> getPropertyClusters(
+            @RequestParam double minLatitude,
+            @RequestParam double minLongitude,
+            @RequestParam double maxLatitude,
+            @RequestParam double maxLongitude,
+            @RequestParam int zoom) {
+        return ResponseEntity.ok(propertyService.findAvailableClusters(
+                minLatitude, minLongitude, maxLatitude, maxLongitude, zoom));
     }
 
     @GetMapping("/{propertyId}")
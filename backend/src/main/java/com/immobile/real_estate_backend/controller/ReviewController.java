@@ -1,5 +1,6 @@
 package com.immobile.real_estate_backend.controller;
 
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import com.immobile.real_estate_backend.model.dto.LeaseDTO;
 import com.immobile.real_estate_backend.model.dto.ReviewDTO;
 import com.immobile.real_estate_backend.service.ReviewService;
@@ -24,9 +25,15 @@ public class ReviewController {
 
     @GetMapping()
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<ReviewDTO>> getAllReviews() {
-        List<ReviewDTO> allReviews = reviewService.getAllReviews();
-        return ResponseEntity.ok(allReviews);
+    public ResponseEntity<List<ReviewDTO>> getAllReviews(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPageDTO<ReviewDTO> page = reviewService.getReviewsPage(cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPageDTO.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
     }
 
     @GetMapping("/landlord/reviewed-leases")
@@ -0,0 +1,23 @@
+package com.immobile.real_estate_backend.model.converter;
+
+import com.immobile.real_estate_backend.model.dto.BillingCycleDTO;
+import com.immobile.real_estate_backend.model.entity.BillingCycle;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BillingCycleConverter {
+
+    public BillingCycleDTO toBillingCycleDTO(BillingCycle cycle) {
+        return BillingCycleDTO.builder()
+                .leaseId(cycle.getId().getLeaseId())
+                .cycleNumber(cycle.getId().getCycleNumber())
+                .startDate(cycle.getStartDate())
+                .endDate(cycle.getEndDate())
+                .dueDate(cycle.getDueDate())
+                .amountDue(cycle.getLease().getMonthlyRent())
+                .paid(cycle.isPaid())
+                .paymentId(cycle.getPaymentId())
+                .paidDate(cycle.getPaidDate())
+                .build();
+    }
+}
@@ -2,11 +2,10 @@ package com.immobile.real_estate_backend.model.converter;
 
 import com.immobile.real_estate_backend.model.dto.LeaseDTO;
 import com.immobile.real_estate_backend.model.entity.Lease;
-import com.immobile.real_estate_backend.model.entity.Payment;
+import com.immobile.real_estate_backend.model.entity.LeaseRentState;
 import com.immobile.real_estate_backend.model.entity.Property;
 import com.immobile.real_estate_backend.model.entity.User;
-import com.immobile.real_estate_backend.model.enums.PaymentStatus;
-import com.immobile.real_estate_backend.model.enums.RentStatus;
+import com.immobile.real_estate_backend.repository.LeaseRentStateRepository;
 import com.immobile.real_estate_backend.repository.PaymentRepository;
 import com.immobile.real_estate_backend.repository.PropertyRepository;
 import com.immobile.real_estate_backend.repository.UserRepository;
@@ -14,8 +13,11 @@ import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Service
@@ -24,6 +26,7 @@ public class LeaseConverter {
     private final UserRepository userRepository;
     private final PropertyRepository propertyRepository;
     private final PaymentRepository paymentRepository;
+    private final LeaseRentStateRepository leaseRentStateRepository;
 
     public Lease toLease(LeaseDTO leaseDTO) {
         User searchedTenant = userRepository.findById(leaseDTO.getTenantId()).orElseThrow();
@@ -44,15 +47,49 @@ public class LeaseConverter {
     }
 
     public LeaseDTO toLeaseDTO(Lease lease) {
-        Long tenantId = lease.getTenant() != null ? lease.getTenant().getUserId() : null;
+        return toLeaseDTOs(List.of(lease)).get(0);
+    }
+
+    public List<LeaseDTO> toLeaseDTOs(List<Lease> leases) {
+        if (leases.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> leaseIds = leases.stream()
+                .map(Lease::getLeaseId)
+                .toList();
+        Map<Long, LeaseRentState> rentStates = findRentStates(leases, leaseIds);
+
+        return leases.stream()
+                .map(lease -> toLeaseDTO(lease, rentStates.get(lease.getLeaseId())))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, LeaseRentState> findRentStates(List<Lease> leases, List<Long> leaseIds) {
+        Map<Long, LeaseRentState> rentStates = leaseRentStateRepository.findAllById(leaseIds).stream()
+                .collect(Collectors.toMap(LeaseRentState::getLeaseId, Function.identity()));
+
+        List<Lease> missing = leases.stream()
+                .filter(lease -> !rentStates.containsKey(lease.getLeaseId()))
+                .toList();
+        if (missing.isEmpty()) {
+            return rentStates;
+        }
+
+        Map<Long, LocalDate> latestPaymentDates = paymentRepository.findLatestCompletedPaymentDates(
+                        missing.stream().map(Lease::getLeaseId).toList()).stream()
+                .collect(Collectors.toMap(
+                        PaymentRepository.LatestPayment::getLeaseId,
+                        PaymentRepository.LatestPayment::getLatestPaymentDate));
 
-        List<Payment> payments = paymentRepository.findByLeaseLeaseId(lease.getLeaseId());
-        RentStatus rentStatus = calculateRentStatus(lease, payments);
+        LocalDate today = LocalDate.now();
+        missing.forEach(lease -> rentStates.put(lease.getLeaseId(),
+                LeaseRentState.of(lease, latestPaymentDates.get(lease.getLeaseId()), today)));
+        return rentStates;
+    }
 
-        Payment latestPayment = payments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.COMPLETED)
-                .max(Comparator.comparing(Payment::getPaymentDate))
-                .orElse(null);
+    private LeaseDTO toLeaseDTO(Lease lease, LeaseRentState rentState) {
+        Long tenantId = lease.getTenant() != null ? lease.getTenant().getUserId() : null;
 
         return LeaseDTO.builder()
                 .leaseId(lease.getLeaseId())
@@ -65,39 +102,8 @@ public class LeaseConverter {
                 .createdAt(lease.getCreatedAt())
                 .terminationStatus(lease.getLeaseTerminationStatus())
                 .terminationRequestedAt(lease.getTerminationRequestedAt())
-                .rentStatus(rentStatus)
-                .latestPaymentDate(latestPayment != null ? latestPayment.getPaymentDate() : null)
+                .rentStatus(rentState.getStatus())
+                .latestPaymentDate(rentState.getLatestPaidDate())
                 .build();
     }
-
-    private RentStatus calculateRentStatus(Lease lease, List<Payment> payments) {
-        int dueDay = lease.getStartDate().getDayOfMonth();
-        LocalDate currentDate = LocalDate.now();
-        LocalDate dueDate = LocalDate.of(
-                currentDate.getYear(),
-                currentDate.getMonth(),
-                Math.min(dueDay, currentDate.lengthOfMonth())
-        );
-
-        if (payments.isEmpty()) {
-            return currentDate.isAfter(dueDate) ? RentStatus.OVERDUE : RentStatus.UNPAID;
-        }
-
-        Payment latest = payments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.COMPLETED)
-                .max(Comparator.comparing(Payment::getPaymentDate))
-                .orElse(null);
-
-        if (latest == null) {
-            return currentDate.isAfter(dueDate) ? RentStatus.OVERDUE : RentStatus.UNPAID;
-        }
-
-        LocalDate paymentDate = latest.getPaymentDate();
-
-        if (!paymentDate.isAfter(dueDate)) {
-            return RentStatus.CURRENT;
-        } else {
-            return RentStatus.LATE;
-        }
-    }
 }
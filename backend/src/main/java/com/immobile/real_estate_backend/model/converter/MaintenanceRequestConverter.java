@@ -1,20 +1,24 @@
 package com.immobile.real_estate_backend.model.converter;
 
 import com.immobile.real_estate_backend.model.dto.MaintenanceRequestDTO;
-import com.immobile.real_estate_backend.model.entity.Image;
 import com.immobile.real_estate_backend.model.entity.Lease;
 import com.immobile.real_estate_backend.model.entity.MaintenanceRequest;
 import com.immobile.real_estate_backend.model.enums.MaintenanceStatus;
+import com.immobile.real_estate_backend.repository.ImageRepository;
 import com.immobile.real_estate_backend.repository.LeaseRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Service
 public class MaintenanceRequestConverter {
     private final LeaseRepository leaseRepository;
+    private final ImageRepository imageRepository;
 
     public MaintenanceRequest toMaintenanceRequest(MaintenanceRequestDTO dto) {
         Lease lease = leaseRepository.findById(dto.getLeaseId())
@@ -33,6 +37,29 @@ public class MaintenanceRequestConverter {
     }
 
     public MaintenanceRequestDTO toMaintenanceRequestDTO(MaintenanceRequest request) {
+        return toMaintenanceRequestDTOs(List.of(request)).get(0);
+    }
+
+    public List<MaintenanceRequestDTO> toMaintenanceRequestDTOs(List<MaintenanceRequest> requests) {
+        List<Long> requestIds = requests.stream()
+                .map(MaintenanceRequest::getRequestId)
+                .filter(Objects::nonNull)
+                .toList();
+
+        Map<Long, List<Long>> imageIdsByRequest = requestIds.isEmpty()
+                ? Map.of()
+                : imageRepository.findImageIdsByMaintenanceRequestIds(requestIds).stream()
+                        .collect(Collectors.groupingBy(
+                                ImageRepository.OwnerImageId::getOwnerId,
+                                Collectors.mapping(ImageRepository.OwnerImageId::getImageId, Collectors.toList())));
+
+        return requests.stream()
+                .map(request -> toMaintenanceRequestDTO(request,
+                        imageIdsByRequest.getOrDefault(request.getRequestId(), List.of())))
+                .toList();
+    }
+
+    private MaintenanceRequestDTO toMaintenanceRequestDTO(MaintenanceRequest request, List<Long> imageIds) {
         return MaintenanceRequestDTO.builder()
                 .requestId(request.getRequestId())
                 .leaseId(request.getLease().getLeaseId())
@@ -42,9 +69,7 @@ public class MaintenanceRequestConverter {
                 .updatedAt(request.getUpdatedAt())
                 .cost(request.getCost())
                 .isFixed(request.getIsFixed())
-                .imageUrls(request.getImages().stream()
-                        .map(Image::getId)
-                        .collect(Collectors.toList()))
+                .imageUrls(imageIds)
                 .build();
     }
 }
\ No newline at end of file
@@ -1,20 +1,25 @@
 package com.immobile.real_estate_backend.model.converter;
 
 import com.immobile.real_estate_backend.model.dto.PropertyDTO;
-import com.immobile.real_estate_backend.model.entity.Image;
+import com.immobile.real_estate_backend.model.dto.PublicPropertyDTO;
 import com.immobile.real_estate_backend.model.entity.Property;
 import com.immobile.real_estate_backend.model.entity.User;
 import com.immobile.real_estate_backend.model.enums.ValidationStatus;
+import com.immobile.real_estate_backend.repository.ImageRepository;
 import com.immobile.real_estate_backend.repository.UserRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Service
 public class PropertyConverter {
     private final UserRepository userRepository;
+    private final ImageRepository imageRepository;
 
     public Property toProperty(PropertyDTO propertyDTO) {
         User owner = userRepository.findById(propertyDTO.getOwnerId())
@@ -60,6 +65,58 @@ public class PropertyConverter {
 
 
     public PropertyDTO toPropertyDTO(Property property) {
+        return toPropertyDTOs(List.of(property)).get(0);
+    }
+
+    /**
+     * Image ids come from one projection query for the whole batch instead of
+     * initializing each property's images collection.
+     */
+    public List<PropertyDTO> toPropertyDTOs(List<Property> properties) {
+        Map<Long, List<Long>> imageIdsByProperty = imageIdsByProperty(properties);
+
+        return properties.stream()
+                .map(property -> toPropertyDTO(property,
+                        imageIdsByProperty.getOrDefault(property.getPropertyId(), List.of())))
+                .toList();
+    }
+
+    public List<PublicPropertyDTO> toPublicPropertyDTOs(List<Property> properties) {
+        Map<Long, List<Long>> imageIdsByProperty = imageIdsByProperty(properties);
+
+        return properties.stream()
+                .map(property -> PublicPropertyDTO.builder()
+                        .propertyId(property.getPropertyId())
+                        .name(property.getName())
+                        .type(property.getType())
+                        .rentAmount(property.getRentAmount())
+                        .latitude(coarsen(property.getLatitude()))
+                        .longitude(coarsen(property.getLongitude()))
+                        .imageUrls(imageIdsByProperty.getOrDefault(property.getPropertyId(), List.of()))
+                        .build())
+                .toList();
+    }
+
+    // Two decimal places is about 1.1 km: enough to place a listing on a city map, not on a building
+    private static Double coarsen(Double coordinate) {
+        return coordinate != null ? Math.round(coordinate * 100) / 100.0 : null;
+    }
+
+    private Map<Long, List<Long>> imageIdsByProperty(List<Property> properties) {
+        List<Long> propertyIds = properties.stream()
+                .map(Property::getPropertyId)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return propertyIds.isEmpty()
+                ? Map.of()
+                : imageRepository.findImageIdsByPropertyIds(propertyIds).stream()
+                        .collect(Collectors.groupingBy(
+                                ImageRepository.OwnerImageId::getOwnerId,
+                                Collectors.mapping(ImageRepository.OwnerImageId::getImageId, Collectors.toList())));
+    }
+
+    private PropertyDTO toPropertyDTO(Property property, List<Long> imageIds) {
         return PropertyDTO.builder()
                 .propertyId(property.getPropertyId())
                 .ownerId(property.getOwner().getUserId())
@@ -72,9 +129,7 @@ public class PropertyConverter {
                 .longitude(property.getLongitude())
                 .validationStatus(property.getValidationStatus())
                 .isFlagged(property.getIsFlagged())
-                .imageUrls(property.getImages().stream()
-                        .map(Image::getId)
-                        .collect(Collectors.toList()))
+                .imageUrls(imageIds)
                 .createdAt(property.getCreatedAt())
                 .build();
     }
@@ -0,0 +1,24 @@
+package com.immobile.real_estate_backend.model.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BillingCycleDTO {
+
+    private Long leaseId;
+    private Integer cycleNumber;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate dueDate;
+    private BigDecimal amountDue;
+    private boolean paid;
+    private Long paymentId;
+    private LocalDate paidDate;
+}
@@ -0,0 +1,19 @@
+package com.immobile.real_estate_backend.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private List<T> content;
+    // null on the last page
+    private String nextCursor;
+    private int limit;
+}
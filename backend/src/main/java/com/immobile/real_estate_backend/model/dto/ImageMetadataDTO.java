@@ -0,0 +1,22 @@
+package com.immobile.real_estate_backend.model.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageMetadataDTO {
+    private Long id;
+    private String name;
+    private String contentType;
+    private String contentHash;
+    private Long size;
+    // True when a rendition was asked for but the original is served in its place
+    private boolean fallback;
+
+    public ImageMetadataDTO(Long id, String name, String contentType, String contentHash, Long size) {
+        this(id, name, contentType, contentHash, size, false);
+    }
+}
@@ -0,0 +1,20 @@
+package com.immobile.real_estate_backend.model.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertyClusterDTO {
+    private Double latitude;
+    private Double longitude;
+    private Integer count;
+    private BigDecimal minRent;
+    private BigDecimal maxRent;
+    // Only set when the cluster holds a single property.
+    private Long propertyId;
+}
@@ -0,0 +1,20 @@
+package com.immobile.real_estate_backend.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertyFacetSearchDTO {
+    private List<Long> propertyIds;
+    private int page;
+    private int size;
+    private long totalElements;
+    // facet name -> facet value -> number of matches if that value were selected
+    private Map<String, Map<String, Integer>> facetCounts;
+}
@@ -0,0 +1,22 @@
+package com.immobile.real_estate_backend.model.dto;
+
+import com.immobile.real_estate_backend.model.enums.PropertyType;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PropertyLocationDTO {
+    private Long propertyId;
+    private String name;
+    private String address;
+    private PropertyType type;
+    private BigDecimal rentAmount;
+    private Double latitude;
+    private Double longitude;
+    private Double distanceKm;
+}
@@ -0,0 +1,26 @@
+package com.immobile.real_estate_backend.model.dto;
+
+import com.immobile.real_estate_backend.model.enums.PropertyType;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * What anonymous visitors see of a listed property: no owner, no street address, and
+ * coordinates rounded to roughly a kilometre.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PublicPropertyDTO {
+    private Long propertyId;
+    private String name;
+    private PropertyType type;
+    private BigDecimal rentAmount;
+    private Double latitude;
+    private Double longitude;
+    private List<Long> imageUrls;
+}
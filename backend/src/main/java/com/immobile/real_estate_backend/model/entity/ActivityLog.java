@@ -8,7 +8,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "activity_logs")
+@Table(name = "activity_logs", indexes = @Index(name = "idx_activity_logs_created_at_id", columnList = "created_at, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,7 +37,7 @@ public class ActivityLog {
     private String details;
 
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
 }
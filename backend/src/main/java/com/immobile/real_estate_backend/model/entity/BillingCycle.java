@@ -0,0 +1,57 @@
+package com.immobile.real_estate_backend.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * One rent period of a lease, generated for the whole term when the lease becomes active.
+ * The paid flag is set by the payment that settles the cycle.
+ */
+@Entity
+@Table(name = "billing_cycle", indexes = {
+        @Index(name = "idx_billing_cycle_due_date_paid", columnList = "due_date, paid")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BillingCycle {
+
+    @EmbeddedId
+    private BillingCycleId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("leaseId")
+    @JoinColumn(name = "lease_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Lease lease;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Column(nullable = false)
+    private boolean paid;
+
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    @Column(name = "paid_date")
+    private LocalDate paidDate;
+
+    public void markPaid(Payment payment) {
+        paid = true;
+        paymentId = payment.getPaymentId();
+        paidDate = payment.getPaymentDate();
+    }
+}
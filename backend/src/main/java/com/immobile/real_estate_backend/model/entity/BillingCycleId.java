@@ -0,0 +1,27 @@
+package com.immobile.real_estate_backend.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Key of a billing cycle: the lease and the cycle's position in it, counted from 0 at the
+ * lease start. Both parts can be derived from a date, so the cycle a payment falls into
+ * is a primary key lookup.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class BillingCycleId implements Serializable {
+
+    @Column(name = "lease_id")
+    private Long leaseId;
+
+    @Column(name = "cycle_number")
+    private Integer cycleNumber;
+}
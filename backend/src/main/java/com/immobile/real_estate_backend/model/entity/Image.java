@@ -6,7 +6,7 @@ import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
-@Table(name = "images")
+@Table(name = "images", indexes = @Index(name = "idx_images_content_hash", columnList = "content_hash"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,12 +18,22 @@ public class Image {
     @GeneratedValue
     private Long id;
 
+    /**
+     * Legacy in-table bytes; new images live in the image storage and only keep
+     * {@link #contentHash} here.
+     */
     @Lob
     private byte[] content;
     private String name;
     @Column(name = "content_type")
     private String contentType;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "size_bytes")
+    private Long size;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "maintenance_request_id")
     @OnDelete(action = OnDeleteAction.CASCADE)
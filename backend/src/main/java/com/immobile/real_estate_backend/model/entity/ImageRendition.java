@@ -0,0 +1,45 @@
+package com.immobile.real_estate_backend.model.entity;
+
+import com.immobile.real_estate_backend.model.enums.ImageSize;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A resized JPEG copy of an uploaded image. Renditions are keyed by the content hash
+ * of the original, so every {@link Image} row sharing that content shares them too.
+ */
+@Entity
+@Table(name = "image_renditions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_image_rendition_source_size",
+                columnNames = {"source_hash", "size"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageRendition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "source_hash", length = 64, nullable = false)
+    private String sourceHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "size", nullable = false)
+    private ImageSize size;
+
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    private Integer width;
+
+    private Integer height;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+}
@@ -11,7 +11,7 @@ import java.time.LocalDate;
 import java.util.*;
 
 @Entity
-@Table(name = "leases")
+@Table(name = "leases", indexes = @Index(name = "idx_leases_start_date_id", columnList = "start_date, lease_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,90 @@
+package com.immobile.real_estate_backend.model.entity;
+
+import com.immobile.real_estate_backend.model.enums.RentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "lease_rent_state")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaseRentState {
+
+    @Id
+    @Column(name = "lease_id")
+    private Long leaseId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "lease_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Lease lease;
+
+    @Column(name = "cycle_start", nullable = false)
+    private LocalDate cycleStart;
+
+    @Column(name = "latest_paid_date")
+    private LocalDate latestPaidDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RentStatus status;
+
+    @Column(name = "next_due_date", nullable = false)
+    private LocalDate nextDueDate;
+
+    @Column(name = "last_updated")
+    private LocalDateTime lastUpdated;
+
+    public static LeaseRentState of(Lease lease, LocalDate latestPaidDate, LocalDate today) {
+        LeaseRentState state = LeaseRentState.builder()
+                .lease(lease)
+                .latestPaidDate(latestPaidDate)
+                .build();
+        state.recalculate(lease.getStartDate(), today);
+        return state;
+    }
+
+    public void recordPayment(LocalDate paymentDate, LocalDate leaseStartDate, LocalDate today) {
+        if (latestPaidDate == null || paymentDate.isAfter(latestPaidDate)) {
+            latestPaidDate = paymentDate;
+        }
+        recalculate(leaseStartDate, today);
+    }
+
+    public void recalculate(LocalDate leaseStartDate, LocalDate today) {
+        int dueDay = leaseStartDate.getDayOfMonth();
+        LocalDate dueDate = LocalDate.of(
+                today.getYear(),
+                today.getMonth(),
+                Math.min(dueDay, today.lengthOfMonth())
+        );
+
+        long monthsElapsed = (today.getYear() - leaseStartDate.getYear()) * 12L
+                + today.getMonthValue() - leaseStartDate.getMonthValue();
+        if (today.isBefore(leaseStartDate.plusMonths(monthsElapsed))) {
+            monthsElapsed--;
+        }
+        cycleStart = leaseStartDate.plusMonths(monthsElapsed);
+
+        if (latestPaidDate == null) {
+            status = today.isAfter(dueDate) ? RentStatus.OVERDUE : RentStatus.UNPAID;
+        } else if (!latestPaidDate.isAfter(dueDate)) {
+            status = RentStatus.CURRENT;
+        } else {
+            status = RentStatus.LATE;
+        }
+
+        boolean paidThisCycle = latestPaidDate != null && !latestPaidDate.isBefore(cycleStart);
+        nextDueDate = paidThisCycle ? leaseStartDate.plusMonths(monthsElapsed + 1) : dueDate;
+        lastUpdated = LocalDateTime.now();
+    }
+}
@@ -12,7 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "maintenance_requests")
+@Table(name = "maintenance_requests", indexes = @Index(name = "idx_maintenance_requests_created_at_id", columnList = "created_at, request_id"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -43,7 +43,7 @@ public class MaintenanceRequest {
     @Column(name = "is_fixed")
     private Boolean isFixed;
 
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
@@ -16,7 +16,10 @@ import java.time.LocalDateTime;
 @Setter
 @Entity
 @Builder
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_created_at_id", columnList = "created_at, notification_id"),
+        @Index(name = "idx_notifications_user_read", columnList = "user_id, is_read")
+})
 public class Notification {
 
     @Id
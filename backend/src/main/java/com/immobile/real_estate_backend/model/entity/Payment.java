@@ -12,7 +12,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_payment_date_id", columnList = "payment_date, payment_id"),
+        @Index(name = "idx_payments_was_late_id", columnList = "was_late, payment_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = Payment.LEASE_CYCLE_CONSTRAINT, columnNames = {"lease_id", "cycle_number"}),
+        @UniqueConstraint(name = Payment.STRIPE_SESSION_CONSTRAINT, columnNames = {"stripe_session_id"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,6 +26,9 @@ import java.time.LocalDateTime;
 @Builder
 public class Payment {
 
+    public static final String LEASE_CYCLE_CONSTRAINT = "uk_payments_lease_cycle";
+    public static final String STRIPE_SESSION_CONSTRAINT = "uk_payments_stripe_session";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long paymentId;
@@ -47,5 +56,11 @@ public class Payment {
     @Column(name = "was_late")
     private Boolean wasLate;
 
+    // Billing cycle the payment settles; null for payments recorded before cycles were tracked
+    @Column(name = "cycle_number")
+    private Integer cycleNumber;
 
+    // Stripe Checkout session that paid this rent, so one session is never recorded twice
+    @Column(name = "stripe_session_id")
+    private String stripeSessionId;
 }
@@ -12,7 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "properties")
+@Table(name = "properties", indexes = @Index(name = "idx_properties_created_at_id", columnList = "created_at, property_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = @Index(name = "idx_reviews_created_at_id", columnList = "created_at, review_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -47,7 +47,7 @@ public class Review {
     private String displayName;
 
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Enumerated(EnumType.STRING)
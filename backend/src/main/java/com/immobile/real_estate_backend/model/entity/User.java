@@ -14,7 +14,7 @@ import java.util.List;
 @Data
 @Entity
 @Builder
-@Table (name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_email_id", columnList = "email, user_id"))
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,17 @@
+package com.immobile.real_estate_backend.model.enums;
+
+public enum ImageSize {
+    THUMB(320),
+    MEDIUM(1024),
+    FULL(2048);
+
+    private final int maxDimension;
+
+    ImageSize(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+}
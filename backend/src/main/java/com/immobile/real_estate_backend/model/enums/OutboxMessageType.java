@@ -0,0 +1,6 @@
+package com.immobile.real_estate_backend.model.enums;
+
+public enum OutboxMessageType {
+    NOTIFICATION,
+    EMAIL
+}
@@ -0,0 +1,7 @@
+package com.immobile.real_estate_backend.model.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,37 @@
+package com.immobile.real_estate_backend.model.enums;
+
+import java.math.BigDecimal;
+
+public enum RentBand {
+    BUDGET(0, 300),
+    ECONOMY(300, 500),
+    STANDARD(500, 800),
+    COMFORT(800, 1200),
+    PREMIUM(1200, 2000),
+    LUXURY(2000, null);
+
+    private final BigDecimal minInclusive;
+    private final BigDecimal maxExclusive;
+
+    RentBand(int minInclusive, Integer maxExclusive) {
+        this.minInclusive = BigDecimal.valueOf(minInclusive);
+        this.maxExclusive = maxExclusive != null ? BigDecimal.valueOf(maxExclusive) : null;
+    }
+
+    public BigDecimal getMinInclusive() {
+        return minInclusive;
+    }
+
+    public BigDecimal getMaxExclusive() {
+        return maxExclusive;
+    }
+
+    public static RentBand of(BigDecimal rentAmount) {
+        for (RentBand band : values()) {
+            if (band.maxExclusive == null || rentAmount.compareTo(band.maxExclusive) < 0) {
+                return band;
+            }
+        }
+        return LUXURY;
+    }
+}
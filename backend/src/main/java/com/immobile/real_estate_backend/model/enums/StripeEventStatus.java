@@ -0,0 +1,8 @@
+package com.immobile.real_estate_backend.model.enums;
+
+public enum StripeEventStatus {
+    PENDING,
+    PROCESSED,
+    IGNORED,
+    FAILED
+}
@@ -1,10 +1,34 @@
 package com.immobile.real_estate_backend.repository;
 
 import com.immobile.real_estate_backend.model.entity.ActivityLog;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long> {
     List<ActivityLog> findTop10ByUserUserIdOrderByCreatedAtDesc(Long userId);
+
+    @Query("SELECT a FROM ActivityLog a ORDER BY a.createdAt DESC, a.id DESC")
+    List<ActivityLog> findFirstPage(Limit limit);
+
+    @Query("""
+        SELECT a FROM ActivityLog a
+        WHERE a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)
+        ORDER BY a.createdAt DESC, a.id DESC
+    """)
+    List<ActivityLog> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    // Forward-only cursor for exports; callers must consume it inside a transaction and close it
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a FROM ActivityLog a ORDER BY a.id")
+    Stream<ActivityLog> streamAllForExport();
 }
@@ -0,0 +1,58 @@
+package com.immobile.real_estate_backend.repository;
+
+import com.immobile.real_estate_backend.model.entity.BillingCycle;
+import com.immobile.real_estate_backend.model.entity.BillingCycleId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BillingCycleRepository extends JpaRepository<BillingCycle, BillingCycleId> {
+
+    @Query("SELECT c FROM BillingCycle c WHERE c.id.leaseId = :leaseId ORDER BY c.id.cycleNumber")
+    List<BillingCycle> findByLeaseId(@Param("leaseId") Long leaseId);
+
+    @Query("SELECT MAX(c.id.cycleNumber) FROM BillingCycle c WHERE c.id.leaseId = :leaseId")
+    Optional<Integer> findLastCycleNumber(@Param("leaseId") Long leaseId);
+
+    @Query("""
+        SELECT c.id.leaseId AS leaseId, MAX(c.id.cycleNumber) AS lastCycleNumber
+        FROM BillingCycle c
+        WHERE c.id.leaseId IN :leaseIds
+        GROUP BY c.id.leaseId
+    """)
+    List<LastCycle> findLastCycleNumbers(@Param("leaseIds") Collection<Long> leaseIds);
+
+    interface LastCycle {
+        Long getLeaseId();
+        Integer getLastCycleNumber();
+    }
+
+    @Query("""
+        SELECT c FROM BillingCycle c
+        JOIN FETCH c.lease l
+        WHERE l.property.owner.userId = :ownerId
+            AND l.status = com.immobile.real_estate_backend.model.enums.LeaseStatus.ACTIVE
+            AND :date BETWEEN c.startDate AND c.endDate
+        ORDER BY c.dueDate, c.id.leaseId
+    """)
+    List<BillingCycle> findCurrentByOwnerId(@Param("ownerId") Long ownerId, @Param("date") LocalDate date);
+
+    @Modifying
+    @Query("""
+        UPDATE BillingCycle c
+        SET c.paid = true, c.paymentId = :paymentId, c.paidDate = :paidDate
+        WHERE c.id = :id AND c.paid = false
+    """)
+    int markPaid(@Param("id") BillingCycleId id, @Param("paymentId") Long paymentId,
+                 @Param("paidDate") LocalDate paidDate);
+
+    @Modifying
+    @Query("DELETE FROM BillingCycle c WHERE c.id.leaseId = :leaseId AND c.startDate > :date AND c.paid = false")
+    int deleteUnpaidStartingAfter(@Param("leaseId") Long leaseId, @Param("date") LocalDate date);
+}
@@ -0,0 +1,32 @@
+package com.immobile.real_estate_backend.repository;
+
+import com.immobile.real_estate_backend.model.entity.ImageRendition;
+import com.immobile.real_estate_backend.model.enums.ImageSize;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ImageRenditionRepository extends JpaRepository<ImageRendition, Long> {
+
+    Optional<ImageRendition> findBySourceHashAndSize(String sourceHash, ImageSize size);
+
+    List<ImageRendition> findAllBySourceHash(String sourceHash);
+
+    @Query("SELECT DISTINCT r.contentHash FROM ImageRendition r WHERE r.contentHash IN :contentHashes")
+    List<String> findReferencedContentHashes(@Param("contentHashes") Collection<String> contentHashes);
+
+    /**
+     * Deletes renditions whose original no image refers to any more. Renditions are only
+     * generated after the image row committed, so an upload in flight never has any.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ImageRendition r WHERE NOT EXISTS (SELECT i.id FROM Image i WHERE i.contentHash = r.sourceHash)")
+    int deleteOrphaned();
+}
@@ -1,7 +1,61 @@
 package com.immobile.real_estate_backend.repository;
 
+import com.immobile.real_estate_backend.model.dto.ImageMetadataDTO;
 import com.immobile.real_estate_backend.model.entity.Image;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ImageRepository extends JpaRepository<Image, Long> {
+
+    @Query("SELECT i.id FROM Image i WHERE i.contentHash IS NULL AND i.content IS NOT NULL ORDER BY i.id")
+    List<Long> findIdsWithLegacyContent();
+
+    @Query("""
+        SELECT DISTINCT i.contentHash FROM Image i
+        WHERE i.contentHash > :afterHash
+          AND (SELECT COUNT(r) FROM ImageRendition r WHERE r.sourceHash = i.contentHash) < :sizeCount
+        ORDER BY i.contentHash
+    """)
+    List<String> findHashesMissingRenditions(@Param("afterHash") String afterHash,
+                                             @Param("sizeCount") long sizeCount,
+                                             Limit limit);
+
+    @Query("SELECT DISTINCT i.contentHash FROM Image i WHERE i.contentHash IN :contentHashes")
+    List<String> findReferencedContentHashes(@Param("contentHashes") Collection<String> contentHashes);
+
+    @Query("""
+        SELECT new com.immobile.real_estate_backend.model.dto.ImageMetadataDTO(
+            i.id, i.name, i.contentType, i.contentHash, i.size)
+        FROM Image i
+        WHERE i.id = :imageId
+    """)
+    Optional<ImageMetadataDTO> findMetadataById(@Param("imageId") Long imageId);
+
+    @Query("""
+        SELECT i.property.propertyId AS ownerId, i.id AS imageId
+        FROM Image i
+        WHERE i.property.propertyId IN :propertyIds
+        ORDER BY i.id
+    """)
+    List<OwnerImageId> findImageIdsByPropertyIds(@Param("propertyIds") Collection<Long> propertyIds);
+
+    @Query("""
+        SELECT i.maintenanceRequest.requestId AS ownerId, i.id AS imageId
+        FROM Image i
+        WHERE i.maintenanceRequest.requestId IN :requestIds
+        ORDER BY i.id
+    """)
+    List<OwnerImageId> findImageIdsByMaintenanceRequestIds(@Param("requestIds") Collection<Long> requestIds);
+
+    interface OwnerImageId {
+        Long getOwnerId();
+
+        Long getImageId();
+    }
 }
@@ -0,0 +1,7 @@
+package com.immobile.real_estate_backend.repository;
+
+import com.immobile.real_estate_backend.model.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
@@ -0,0 +1,6 @@
+package com.immobile.real_estate_backend.repository;
+
+public interface LandlordAggregate {
+    Long getLandlordId();
+    Number getValue();
+}
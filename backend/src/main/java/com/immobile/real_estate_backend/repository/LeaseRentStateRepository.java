@@ -0,0 +1,7 @@
+package com.immobile.real_estate_backend.repository;
+
+import com.immobile.real_estate_backend.model.entity.LeaseRentState;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface LeaseRentStateRepository extends JpaRepository<LeaseRentState, Long> {
+}
@@ -6,13 +6,19 @@ import com.immobile.real_estate_backend.model.entity.Property;
 import com.immobile.real_estate_backend.model.entity.User;
 import com.immobile.real_estate_backend.model.enums.LeaseStatus;
 import com.immobile.real_estate_backend.model.enums.LeaseTerminationStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface LeaseRepository extends JpaRepository<Lease, Long> {
     Optional<Lease> findByLeaseIdAndTenantUserId(Long leaseId, Long tenantId);
@@ -33,9 +39,15 @@ public interface LeaseRepository extends JpaRepository<Lease, Long> {
 
     List<Lease> findAllByStatus(LeaseStatus leaseStatus);
 
+    @Query("SELECT l FROM Lease l WHERE l.status = :status AND l.leaseId > :afterId ORDER BY l.leaseId")
+    List<Lease> findByStatusAfter(@Param("status") LeaseStatus status, @Param("afterId") Long afterId, Limit limit);
+
     @Query("SELECT l FROM Lease l WHERE l.startDate IS NOT NULL")
     List<Lease> findAllWithStartDates();
 
+    @Query("SELECT l FROM Lease l WHERE l.startDate IS NOT NULL AND l.leaseId > :afterId ORDER BY l.leaseId")
+    List<Lease> findWithStartDatesAfter(@Param("afterId") Long afterId, Limit limit);
+
     @Query("""
     SELECT COUNT(l) FROM Lease l
     WHERE l.property.owner.userId = :landlordId
@@ -44,6 +56,15 @@ public interface LeaseRepository extends JpaRepository<Lease, Long> {
 """)
     int countTerminatedLeases(Long landlordId);
 
+    @Query("""
+        SELECT l.property.owner.userId AS landlordId, COUNT(l) AS value
+        FROM Lease l
+        WHERE l.status = 'TERMINATED'
+          AND l.leaseTerminationStatus = 'APPROVED'
+        GROUP BY l.property.owner.userId
+    """)
+    List<LandlordAggregate> countTerminatedLeasesPerLandlord();
+
     boolean existsByTenantUserIdAndPropertyPropertyIdAndStatus(Long tenantId, Long propertyId, LeaseStatus status);
 
     @Query("SELECT COUNT(l) FROM Lease l WHERE l.tenant.userId = :tenantId AND l.status = 'ACTIVE'")
@@ -94,5 +115,18 @@ public interface LeaseRepository extends JpaRepository<Lease, Long> {
     List<Lease> findAllByTenantAndStatus(User tenant, LeaseStatus status);
     boolean existsByTenantAndPropertyAndStatus(User tenant, Property property, LeaseStatus status);
 
+    @Query("SELECT l FROM Lease l ORDER BY l.startDate DESC, l.leaseId DESC")
+    List<Lease> findFirstPage(Limit limit);
+
+    @Query("""
+        SELECT l FROM Lease l
+        WHERE l.startDate < :startDate OR (l.startDate = :startDate AND l.leaseId < :leaseId)
+        ORDER BY l.startDate DESC, l.leaseId DESC
+    """)
+    List<Lease> findPageAfter(@Param("startDate") LocalDate startDate, @Param("leaseId") Long leaseId, Limit limit);
 
+    // Forward-only cursor for exports; callers must consume it inside a transaction and close it
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT l FROM Lease l ORDER BY l.leaseId")
+    Stream<Lease> streamAllForExport();
 }
@@ -1,15 +1,15 @@
 package com.immobile.real_estate_backend.repository;
 
 import com.immobile.real_estate_backend.model.entity.MaintenanceRequest;
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface MaintenanceRequestRepository extends JpaRepository<MaintenanceRequest, Long> {
-    @EntityGraph(attributePaths = "images")
     List<MaintenanceRequest> findByLeaseLeaseId(Long leaseId);
 
     @Query("SELECT mr FROM MaintenanceRequest mr " +
@@ -31,7 +31,30 @@ public interface MaintenanceRequestRepository extends JpaRepository<MaintenanceR
 """)
     List<MaintenanceRequest> findByPropertyIds(@Param("propertyIds") List<Long> propertyIds);
 
+    @Query("""
+        SELECT m.lease.property.owner.userId AS landlordId,
+               AVG(FLOOR(((m.updatedAt - m.createdAt) BY SECOND) / 3600.0)) AS value
+        FROM MaintenanceRequest m
+        WHERE m.status = 'COMPLETED'
+        GROUP BY m.lease.property.owner.userId
+    """)
+    List<LandlordAggregate> averageResponseHoursPerLandlord();
 
+    @Query("""
+        SELECT AVG(FLOOR(((m.updatedAt - m.createdAt) BY SECOND) / 3600.0))
+        FROM MaintenanceRequest m
+        WHERE m.status = 'COMPLETED'
+          AND m.lease.property.owner.userId = :landlordId
+    """)
+    Double averageResponseHoursForLandlord(@Param("landlordId") Long landlordId);
 
+    @Query("SELECT m FROM MaintenanceRequest m ORDER BY m.createdAt DESC, m.requestId DESC")
+    List<MaintenanceRequest> findFirstPage(Limit limit);
 
+    @Query("""
+        SELECT m FROM MaintenanceRequest m
+        WHERE m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.requestId < :requestId)
+        ORDER BY m.createdAt DESC, m.requestId DESC
+    """)
+    List<MaintenanceRequest> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("requestId") Long requestId, Limit limit);
 }
@@ -2,15 +2,42 @@ package com.immobile.real_estate_backend.repository;
 
 import com.immobile.real_estate_backend.model.entity.Notification;
 import com.immobile.real_estate_backend.model.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     @Query("SELECT n FROM Notification n WHERE n.user.userId = :userId AND n.isRead = false")
     List<Notification> findUnreadByUserId(@Param("userId") Long userId);
 
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.userId = :userId AND n.isRead = false")
+    long countUnreadByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Notification n
+        SET n.isRead = true, n.status = com.immobile.real_estate_backend.model.enums.NotificationStatus.READ
+        WHERE n.user.userId = :userId AND n.isRead = false
+    """)
+    int markAllReadByUserId(@Param("userId") Long userId);
+
     List<Notification> findAllByUser(User user);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.userId = :userId ORDER BY n.createdAt DESC, n.notificationId DESC")
+    List<Notification> findAllByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT n FROM Notification n ORDER BY n.createdAt DESC, n.notificationId DESC")
+    List<Notification> findFirstPage(Limit limit);
+
+    @Query("""
+        SELECT n FROM Notification n
+        WHERE n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.notificationId < :notificationId)
+        ORDER BY n.createdAt DESC, n.notificationId DESC
+    """)
+    List<Notification> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("notificationId") Long notificationId, Limit limit);
 }
@@ -0,0 +1,95 @@
+package com.immobile.real_estate_backend.repository;
+
+import com.immobile.real_estate_backend.model.entity.OutboxMessage;
+import com.immobile.real_estate_backend.model.enums.OutboxMessageType;
+import com.immobile.real_estate_backend.model.enums.OutboxStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    @Query("""
+        SELECT m FROM OutboxMessage m
+        WHERE m.status = com.immobile.real_estate_backend.model.enums.OutboxStatus.PENDING
+          AND m.type = :type
+          AND m.nextAttemptAt <= :now
+        ORDER BY m.nextAttemptAt, m.id
+    """)
+    List<OutboxMessage> findDue(@Param("type") OutboxMessageType type, @Param("now") LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxMessage m SET m.nextAttemptAt = :claimedUntil, m.claimToken = :claimToken WHERE m.id IN :ids")
+    int claim(@Param("ids") List<Long> ids, @Param("claimToken") String claimToken,
+              @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    /**
+     * Renews a claim right before the message is sent. Matches nothing once the claim has
+     * expired or was taken over by a later claim, so a message that waited too long in the
+     * pool's queue is not sent next to the copy the later claim queued.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE OutboxMessage m SET m.nextAttemptAt = :claimedUntil
+        WHERE m.id = :id
+          AND m.claimToken = :claimToken
+          AND m.status = com.immobile.real_estate_backend.model.enums.OutboxStatus.PENDING
+          AND m.nextAttemptAt > :now
+    """)
+    int renewClaim(@Param("id") Long id, @Param("claimToken") String claimToken, @Param("now") LocalDateTime now,
+                   @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    /**
+     * Makes a claimed message due again at once, for messages the pool could not accept.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE OutboxMessage m SET m.nextAttemptAt = :now
+        WHERE m.id = :id
+          AND m.claimToken = :claimToken
+          AND m.status = com.immobile.real_estate_backend.model.enums.OutboxStatus.PENDING
+    """)
+    int releaseClaim(@Param("id") Long id, @Param("claimToken") String claimToken, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE OutboxMessage m
+        SET m.status = com.immobile.real_estate_backend.model.enums.OutboxStatus.SENT,
+            m.attempts = m.attempts + 1, m.processedAt = :processedAt, m.lastError = null
+        WHERE m.id IN :ids
+    """)
+    int markSent(@Param("ids") List<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE OutboxMessage m
+        SET m.status = com.immobile.real_estate_backend.model.enums.OutboxStatus.SENT,
+            m.attempts = m.attempts + 1, m.processedAt = :processedAt, m.lastError = null
+        WHERE m.id = :id
+          AND m.claimToken = :claimToken
+          AND m.status = com.immobile.real_estate_backend.model.enums.OutboxStatus.PENDING
+    """)
+    int markSentIfClaimed(@Param("id") Long id, @Param("claimToken") String claimToken,
+                          @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE OutboxMessage m
+        SET m.status = :status, m.attempts = :attempts, m.nextAttemptAt = :nextAttemptAt, m.lastError = :lastError
+        WHERE m.id = :id
+    """)
+    int markAttemptFailed(@Param("id") Long id, @Param("status") OutboxStatus status, @Param("attempts") int attempts,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError);
+}
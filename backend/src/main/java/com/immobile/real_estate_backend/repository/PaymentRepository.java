@@ -3,15 +3,23 @@ package com.immobile.real_estate_backend.repository;
 import com.immobile.real_estate_backend.model.entity.Lease;
 import com.immobile.real_estate_backend.model.entity.Payment;
 import com.immobile.real_estate_backend.model.enums.PaymentStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
@@ -50,6 +58,9 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
             @Param("end") LocalDateTime end
             );
     List<Payment> findByLeaseLeaseId(Long leaseId);
+
+    @Query("SELECT p FROM Payment p WHERE p.lease.leaseId IN :leaseIds AND p.status = 'COMPLETED'")
+    List<Payment> findCompletedByLeaseIds(@Param("leaseIds") Collection<Long> leaseIds);
     Optional<Payment> findByPaymentId(Long paymentId);
 
     @Query("SELECT p FROM Payment p WHERE p.lease.property.owner.userId = :landlordId")
@@ -69,11 +80,61 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     Optional<Payment> findTopByLeaseLeaseIdOrderByPaymentDateDesc(Long leaseId);
 
+    Optional<Payment> findByStripeSessionId(String stripeSessionId);
+
+    boolean existsByStripeSessionId(String stripeSessionId);
+
     @Query("SELECT p FROM Payment p WHERE p.lease.tenant.userId = :tenantId AND p.status = 'COMPLETED'")
     List<Payment> findCompletedByTenantId(@Param("tenantId") Long tenantId);
 
-    @Query("SELECT p FROM Payment p JOIN FETCH p.lease l WHERE p.wasLate IS NULL")
-    List<Payment> findAllWithLease();
+    @Query("""
+        SELECT p.paymentId AS paymentId, p.paymentDate AS paymentDate,
+               l.startDate AS leaseStartDate, t.userId AS tenantId
+        FROM Payment p
+        JOIN p.lease l
+        LEFT JOIN l.tenant t
+        WHERE p.wasLate IS NULL AND p.paymentId > :afterId
+        ORDER BY p.paymentId
+    """)
+    List<UnevaluatedPayment> findUnevaluatedAfter(@Param("afterId") Long afterId, Limit limit);
+
+    interface UnevaluatedPayment {
+        Long getPaymentId();
+        LocalDate getPaymentDate();
+        LocalDate getLeaseStartDate();
+        Long getTenantId();
+    }
+
+    @Modifying
+    @Query("UPDATE Payment p SET p.wasLate = :late WHERE p.paymentId IN :paymentIds AND p.wasLate IS NULL")
+    int markLateness(@Param("paymentIds") Collection<Long> paymentIds, @Param("late") boolean late);
 
+    @Query("""
+        SELECT p.lease.leaseId AS leaseId, MAX(p.paymentDate) AS latestPaymentDate
+        FROM Payment p
+        WHERE p.lease.leaseId IN :leaseIds
+            AND p.status = 'COMPLETED'
+        GROUP BY p.lease.leaseId
+    """)
+    List<LatestPayment> findLatestCompletedPaymentDates(@Param("leaseIds") Collection<Long> leaseIds);
+
+    interface LatestPayment {
+        Long getLeaseId();
+        LocalDate getLatestPaymentDate();
+    }
+
+    @Query("SELECT p FROM Payment p ORDER BY p.paymentDate DESC, p.paymentId DESC")
+    List<Payment> findFirstPage(Limit limit);
+
+    @Query("""
+        SELECT p FROM Payment p
+        WHERE p.paymentDate < :paymentDate OR (p.paymentDate = :paymentDate AND p.paymentId < :paymentId)
+        ORDER BY p.paymentDate DESC, p.paymentId DESC
+    """)
+    List<Payment> findPageAfter(@Param("paymentDate") LocalDate paymentDate, @Param("paymentId") Long paymentId, Limit limit);
 
+    // Forward-only cursor for exports; callers must consume it inside a transaction and close it
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Payment p ORDER BY p.paymentId")
+    Stream<Payment> streamAllForExport();
 }
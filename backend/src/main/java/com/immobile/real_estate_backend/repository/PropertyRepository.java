@@ -4,10 +4,12 @@ import com.immobile.real_estate_backend.model.entity.Property;
 import com.immobile.real_estate_backend.model.entity.User;
 import com.immobile.real_estate_backend.model.enums.PropertyStatus;
 import com.immobile.real_estate_backend.model.enums.ValidationStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -35,5 +37,26 @@ public interface PropertyRepository extends JpaRepository<Property, Long> {
 """)
     int countFlaggedPropertiesByOwnerId(@Param("ownerId") Long ownerId);
 
+    @Query("""
+        SELECT p.owner.userId AS landlordId, COUNT(p) AS value
+        FROM Property p
+        WHERE p.isFlagged = true
+        GROUP BY p.owner.userId
+    """)
+    List<LandlordAggregate> countFlaggedPropertiesPerLandlord();
+
     List<Property> findByValidationStatus(ValidationStatus validationStatus);
+
+    List<Property> findByStatusAndValidationStatusOrderByPropertyId(PropertyStatus status,
+                                                                    ValidationStatus validationStatus);
+
+    @Query("SELECT p FROM Property p ORDER BY p.createdAt DESC, p.propertyId DESC")
+    List<Property> findFirstPage(Limit limit);
+
+    @Query("""
+        SELECT p FROM Property p
+        WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.propertyId < :propertyId)
+        ORDER BY p.createdAt DESC, p.propertyId DESC
+    """)
+    List<Property> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("propertyId") Long propertyId, Limit limit);
 }
@@ -2,11 +2,13 @@ package com.immobile.real_estate_backend.repository;
 
 import com.immobile.real_estate_backend.model.entity.Review;
 import com.immobile.real_estate_backend.model.enums.ReviewType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import com.immobile.real_estate_backend.model.enums.ReviewStatus;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -28,4 +30,21 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT r FROM Review r WHERE r.tenant.userId = :tenantId AND r.reviewType = 'LANDLORD_TO_TENANT'")
     List<Review> findLandlordReviewsAboutTenant(@Param("tenantId") Long tenantId);
 
+    @Query("""
+        SELECT r.landlord.userId AS landlordId, AVG(r.rating) AS value
+        FROM Review r
+        WHERE r.reviewType = 'TENANT_TO_LANDLORD'
+        GROUP BY r.landlord.userId
+    """)
+    List<LandlordAggregate> averageTenantRatingPerLandlord();
+
+    @Query("SELECT r FROM Review r ORDER BY r.createdAt DESC, r.reviewId DESC")
+    List<Review> findFirstPage(Limit limit);
+
+    @Query("""
+        SELECT r FROM Review r
+        WHERE r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.reviewId < :reviewId)
+        ORDER BY r.createdAt DESC, r.reviewId DESC
+    """)
+    List<Review> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("reviewId") Long reviewId, Limit limit);
 }
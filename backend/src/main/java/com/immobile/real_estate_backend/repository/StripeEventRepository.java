@@ -0,0 +1,60 @@
+package com.immobile.real_estate_backend.repository;
+
+import com.immobile.real_estate_backend.model.entity.StripeEvent;
+import com.immobile.real_estate_backend.model.enums.StripeEventStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StripeEventRepository extends JpaRepository<StripeEvent, String> {
+
+    @Query("""
+        SELECT e.eventId FROM StripeEvent e
+        WHERE e.status = com.immobile.real_estate_backend.model.enums.StripeEventStatus.PENDING
+          AND e.nextAttemptAt <= :now
+        ORDER BY e.nextAttemptAt, e.eventId
+    """)
+    List<String> findDueIds(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Claims one due event by pushing its next attempt to {@code claimedUntil}. Only one
+     * caller can match the row, so an event handed to the pool twice is still handled once.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE StripeEvent e SET e.nextAttemptAt = :claimedUntil
+        WHERE e.eventId = :eventId
+          AND e.status = com.immobile.real_estate_backend.model.enums.StripeEventStatus.PENDING
+          AND e.nextAttemptAt <= :now
+    """)
+    int claim(@Param("eventId") String eventId, @Param("now") LocalDateTime now,
+              @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE StripeEvent e
+        SET e.status = :status, e.attempts = e.attempts + 1, e.processedAt = :processedAt, e.lastError = null
+        WHERE e.eventId = :eventId
+    """)
+    int markDone(@Param("eventId") String eventId, @Param("status") StripeEventStatus status,
+                 @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE StripeEvent e
+        SET e.status = :status, e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError
+        WHERE e.eventId = :eventId
+    """)
+    int markAttemptFailed(@Param("eventId") String eventId, @Param("status") StripeEventStatus status,
+                          @Param("attempts") int attempts, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                          @Param("lastError") String lastError);
+}
@@ -1,11 +1,13 @@
 package com.immobile.real_estate_backend.repository;
 
 import com.immobile.real_estate_backend.model.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +30,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
 """)
     List<User> findAllByRole(@Param("role") String roleName);
 
+    @Query("SELECT u.userId FROM User u JOIN u.roles r WHERE r.name = :role")
+    List<Long> findUserIdsByRole(@Param("role") String roleName);
+
+    @Query("""
+        SELECT u.userId FROM User u
+        JOIN u.roles r
+        WHERE r.name = 'TENANT'
+          AND NOT EXISTS (SELECT s FROM TenantStats s WHERE s.tenantId = u.userId AND s.lastUpdated >= :since)
+    """)
+    List<Long> findTenantIdsWithoutStatsSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT u FROM User u ORDER BY u.email ASC, u.userId ASC")
+    List<User> findFirstPage(Limit limit);
+
+    @Query("""
+        SELECT u FROM User u
+        WHERE u.email > :email OR (u.email = :email AND u.userId > :userId)
+        ORDER BY u.email ASC, u.userId ASC
+    """)
+    List<User> findPageAfter(@Param("email") String email, @Param("userId") Long userId, Limit limit);
 }
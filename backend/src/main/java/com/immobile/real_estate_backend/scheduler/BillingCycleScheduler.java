@@ -0,0 +1,30 @@
+package com.immobile.real_estate_backend.scheduler;
+
+import com.immobile.real_estate_backend.service.BillingCycleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BillingCycleScheduler {
+
+    private final BillingCycleService billingCycleService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 0 * * *")
+    public void generateBillingCycles() {
+        log.info("Generating billing cycles for active leases...");
+
+        try {
+            int generated = billingCycleService.generateForActiveLeases();
+            log.info("Billing cycle generation completed, {} cycles added", generated);
+        } catch (Exception e) {
+            log.error("Billing cycle generation failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.immobile.real_estate_backend.scheduler;
+
+import com.immobile.real_estate_backend.service.ImageContentSweeper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageContentSweepScheduler {
+
+    private final ImageContentSweeper imageContentSweeper;
+
+    @Scheduled(fixedDelayString = "${image.storage.sweep-interval-ms:3600000}",
+            initialDelayString = "${image.storage.sweep-interval-ms:3600000}")
+    public void sweepImageContent() {
+        try {
+            int deleted = imageContentSweeper.sweep();
+            if (deleted > 0) {
+                log.info("Deleted {} unreferenced image files", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Image content sweep failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.immobile.real_estate_backend.scheduler;
+
+import com.immobile.real_estate_backend.service.ImageRenditionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageRenditionBackfillScheduler {
+
+    private final ImageRenditionService imageRenditionService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${image.renditions.backfill-interval-ms:600000}",
+            initialDelayString = "${image.renditions.backfill-interval-ms:600000}")
+    public void backfillRenditions() {
+        try {
+            int queued = imageRenditionService.backfillMissing();
+            if (queued > 0) {
+                log.info("Queued rendition generation for {} images", queued);
+            }
+        } catch (Exception e) {
+            log.error("Image rendition backfill failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.immobile.real_estate_backend.model.enums.LeaseStatus;
 import com.immobile.real_estate_backend.model.enums.PropertyStatus;
 import com.immobile.real_estate_backend.repository.LeaseRepository;
 import com.immobile.real_estate_backend.service.PropertyService;
+import com.immobile.real_estate_backend.service.TenantScoreService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -22,6 +23,7 @@ public class LeaseExpirationScheduler {
 
     private final LeaseRepository leaseRepository;
     private final PropertyService propertyService;
+    private final TenantScoreService tenantScoreService;
 
     @Scheduled(cron = "0 0 0 * * *")
     @Transactional
@@ -45,6 +47,9 @@ public class LeaseExpirationScheduler {
                 try {
                     lease.setStatus(LeaseStatus.TERMINATED);
                     leaseRepository.save(lease);
+                    if (lease.getTenant() != null) {
+                        tenantScoreService.markTenantDirty(lease.getTenant().getUserId());
+                    }
 
                     Property property = lease.getProperty();
                     if (property.getStatus() == PropertyStatus.RENTED) {
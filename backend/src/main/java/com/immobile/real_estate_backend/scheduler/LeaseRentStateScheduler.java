@@ -0,0 +1,27 @@
+package com.immobile.real_estate_backend.scheduler;
+
+import com.immobile.real_estate_backend.service.LeaseRentStateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LeaseRentStateScheduler {
+
+    private final LeaseRentStateService leaseRentStateService;
+
+    @Scheduled(cron = "0 5 0 * * *")
+    public void rolloverRentStates() {
+        log.info("Starting daily rent state rollover...");
+
+        try {
+            int refreshed = leaseRentStateService.refreshAll();
+            log.info("Rent state rollover completed for {} leases", refreshed);
+        } catch (Exception e) {
+            log.error("Rent state rollover failed: {}", e.getMessage(), e);
+        }
+    }
+}
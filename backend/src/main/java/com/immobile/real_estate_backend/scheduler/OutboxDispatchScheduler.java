@@ -0,0 +1,28 @@
+package com.immobile.real_estate_backend.scheduler;
+
+import com.immobile.real_estate_backend.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatchScheduler {
+
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final OutboxService outboxService;
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void dispatchOutbox() {
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN && outboxService.dispatchDue() > 0; i++) {
+                // keep draining while the outbox is backed up
+            }
+        } catch (Exception e) {
+            log.error("Outbox dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+}
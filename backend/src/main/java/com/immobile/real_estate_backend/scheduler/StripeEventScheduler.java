@@ -0,0 +1,25 @@
+package com.immobile.real_estate_backend.scheduler;
+
+import com.immobile.real_estate_backend.service.StripeEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StripeEventScheduler {
+
+    private final StripeEventService stripeEventService;
+
+    // Retries and events the pool could not take when they arrived
+    @Scheduled(fixedDelayString = "${stripe.events.poll-interval-ms:10000}")
+    public void processDueEvents() {
+        try {
+            stripeEventService.processDue();
+        } catch (Exception e) {
+            log.error("Stripe event sweep failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -5,9 +5,14 @@ import com.immobile.real_estate_backend.repository.UserRepository;
 import com.immobile.real_estate_backend.service.TenantScoreService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Component
@@ -15,12 +20,56 @@ import java.util.List;
 @Slf4j
 public class TenantScoreScheduler {
 
+    private static final int DIRTY_BATCH_SIZE = 100;
+    private static final Duration RECONCILIATION_INTERVAL = Duration.ofDays(1);
+
     private final TenantScoreService tenantScoreService;
     private final UserRepository userRepository;
 
-    @Scheduled(cron = "0 * * * * *")
+    /**
+     * Dirty marks do not survive a restart. Rather than recomputing every tenant on boot,
+     * only tenants with no stats or stats older than the last nightly reconciliation are
+     * queued; a change lost in the restart is picked up by the next reconciliation.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void markStaleTenantsDirty() {
+        List<Long> tenantIds = userRepository.findTenantIdsWithoutStatsSince(
+                LocalDateTime.now().minus(RECONCILIATION_INTERVAL));
+        tenantIds.forEach(tenantScoreService::markTenantDirty);
+        log.info("Queued {} tenants with missing or stale scores", tenantIds.size());
+    }
+
+    @Scheduled(fixedDelay = 15000)
+    public void updateDirtyTenantScores() {
+        int updatedCount = 0;
+        List<Long> failed = new ArrayList<>();
+        List<Long> batch = tenantScoreService.pollDirtyTenants(DIRTY_BATCH_SIZE);
+
+        while (!batch.isEmpty()) {
+            for (Long tenantId : batch) {
+                try {
+                    tenantScoreService.updateScoreForTenant(tenantId);
+                    updatedCount++;
+                } catch (Exception e) {
+                    log.error("Failed to update score for tenant ID {}: {}", tenantId, e.getMessage());
+                    failed.add(tenantId);
+                }
+            }
+            batch = tenantScoreService.pollDirtyTenants(DIRTY_BATCH_SIZE);
+        }
+
+        // Re-queued after draining so a failing tenant is retried on the next run, not in this loop
+        failed.forEach(tenantScoreService::markTenantDirty);
+
+        if (updatedCount > 0 || !failed.isEmpty()) {
+            log.info("Recomputed scores for {} changed tenants, {} re-queued after failures",
+                    updatedCount, failed.size());
+        }
+    }
+
+    @Scheduled(cron = "0 0 3 * * *")
     public void updateAllTenantScores() {
-        log.info("Starting scheduled tenant score updates...");
+        log.info("Starting tenant score reconciliation...");
 
         List<User> tenants = userRepository.findAllByRole("TENANT");
         log.info("Found {} tenants to update scores for", tenants.size());
@@ -38,4 +87,4 @@ public class TenantScoreScheduler {
         log.info("Completed tenant score updates. Successfully updated {} out of {} tenants",
                 updatedCount, tenants.size());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,25 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * An activity log entry waiting to be written by {@link ActivityLogWriter}. It only holds
+ * ids and values so it can outlive the persistence context it was created in.
+ * {@code details} is either a ready string or an object (usually a DTO) that the writer
+ * serializes to JSON off the request thread.
+ */
+public record ActivityLogEvent(Long userId, String actionType, String entityType, Long entityId,
+                               Object details, LocalDateTime createdAt) {
+
+    public static ActivityLogEvent of(User user, String actionType, String entityType, Long entityId,
+                                      Object details) {
+        return new ActivityLogEvent(user.getUserId(), actionType, entityType, entityId, details,
+                LocalDateTime.now());
+    }
+
+    ActivityLogEvent withDetails(String details) {
+        return new ActivityLogEvent(userId, actionType, entityType, entityId, details, createdAt);
+    }
+}
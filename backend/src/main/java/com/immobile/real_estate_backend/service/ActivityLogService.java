@@ -2,9 +2,12 @@ package com.immobile.real_estate_backend.service;
 
 import com.immobile.real_estate_backend.model.converter.ActivityLogConverter;
 import com.immobile.real_estate_backend.model.dto.ActivityLogDTO;
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
+import com.immobile.real_estate_backend.model.entity.ActivityLog;
 import com.immobile.real_estate_backend.model.entity.User;
 import com.immobile.real_estate_backend.repository.ActivityLogRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,11 +20,17 @@ public class ActivityLogService {
     private final ActivityLogRepository activityLogRepository;
     private final ActivityLogConverter activityConverter;
 
-    public List<ActivityLogDTO> getAllLogs() {
-        return activityLogRepository.findAll()
-                .stream()
-                .map(activityConverter::toDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<ActivityLogDTO> getLogsPage(String cursor, int limit) {
+        Limit queryLimit = KeysetCursor.queryLimit(limit);
+        List<ActivityLog> logs;
+        if (cursor == null) {
+            logs = activityLogRepository.findFirstPage(queryLimit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            logs = activityLogRepository.findPageAfter(after.sortKeyAsDateTime(), after.id(), queryLimit);
+        }
+        return KeysetCursor.page(logs, limit, ActivityLog::getCreatedAt, ActivityLog::getId,
+                page -> page.stream().map(activityConverter::toDTO).toList());
     }
 
     public List<ActivityLogDTO> getRecentLogsForUser(User user) {
@@ -0,0 +1,403 @@
+package com.immobile.real_estate_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes activity logs off the request path. Callers hand over an {@link ActivityLogEvent}
+ * (after their transaction commits, so rolled-back work is never logged) and a single
+ * background thread inserts them with JDBC batches, flushing when a batch is full or the
+ * flush interval has passed.
+ * <p>
+ * When a batch fails it is retried one entry at a time, so a single bad entry cannot hold
+ * back the others. Entries the database rejects (a deleted user, say) are moved to a
+ * dead-letter file next to the overflow file and never retried.
+ * <p>
+ * When the queue is full, or the database cannot be reached, entries are appended to an
+ * overflow file instead of being dropped or blocking the caller. The writer replays that
+ * file once it is idle again. A replay that stops early keeps only the entries it has not
+ * written yet; it is still at-least-once, since a crash halfway through a replay can write
+ * the last batch twice.
+ */
+@Component
+@Slf4j
+public class ActivityLogWriter {
+
+    private static final int MAX_DETAILS_LENGTH = 1024;
+    private static final Duration REPLAY_BACKOFF = Duration.ofSeconds(30);
+
+    // The entity maps "entity.id", which Hibernate creates as the quoted column "entity_id"
+    private static final String INSERT_SQL = """
+            INSERT INTO activity_logs (user_id, action_type, entity_type, "entity_id", details, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<ActivityLogEvent> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Path overflowFile;
+    private final Path replayFile;
+    private final Path deadLetterFile;
+    private final Object overflowLock = new Object();
+
+    private final Counter enqueued;
+    private final Counter written;
+    private final Counter overflowed;
+    private final Counter failedBatches;
+    private final Counter deadLettered;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread worker;
+    private long nextReplayAttempt;
+
+    public ActivityLogWriter(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${activity-log.writer.queue-capacity:10000}") int queueCapacity,
+                             @Value("${activity-log.writer.batch-size:200}") int batchSize,
+                             @Value("${activity-log.writer.flush-interval:1s}") Duration flushInterval,
+                             @Value("${activity-log.writer.overflow-file:data/activity-log-overflow.ndjson}") Path overflowFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.overflowFile = overflowFile;
+        this.replayFile = overflowFile.resolveSibling(overflowFile.getFileName() + ".replaying");
+        this.deadLetterFile = overflowFile.resolveSibling(overflowFile.getFileName() + ".dead");
+
+        meterRegistry.gauge("activity_log.queue.size", queue, BlockingQueue::size);
+        this.enqueued = meterRegistry.counter("activity_log.enqueued");
+        this.written = meterRegistry.counter("activity_log.written");
+        this.overflowed = meterRegistry.counter("activity_log.overflowed");
+        this.failedBatches = meterRegistry.counter("activity_log.failed_batches");
+        this.deadLettered = meterRegistry.counter("activity_log.dead_lettered");
+        this.flushTimer = meterRegistry.timer("activity_log.flush");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "activity-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Not interrupted: the worker notices within one flush interval and writes what is left
+        running = false;
+        worker.join(flushInterval.toMillis() + TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public void record(ActivityLogEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(ActivityLogEvent event) {
+        if (event.userId() == null || event.entityId() == null) {
+            // Would fail the NOT NULL constraints and poison a whole batch
+            log.warn("Dropping {} activity log without user or entity id", event.actionType());
+            return;
+        }
+        enqueued.increment();
+        if (!queue.offer(event)) {
+            overflow(List.of(event));
+        }
+    }
+
+    private void run() {
+        List<ActivityLogEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ActivityLogEvent first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replayOverflow();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    ActivityLogEvent next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // Keep the flag clear so the final JDBC writes are not aborted
+                running = false;
+            }
+            flush(batch);
+        }
+
+        queue.drainTo(batch);
+        flush(batch);
+    }
+
+    private void flush(List<ActivityLogEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ActivityLogEvent> resolved = batch.stream().map(this::resolveDetails).toList();
+        batch.clear();
+        List<ActivityLogEvent> unwritten = write(resolved);
+        if (!unwritten.isEmpty()) {
+            log.error("Failed to write {} activity logs, moving them to the overflow file", unwritten.size());
+            overflow(unwritten);
+        }
+    }
+
+    /**
+     * Writes the events as one batch, or one by one when the batch fails. Events the
+     * database rejects are dead-lettered. Returns the events left unwritten because the
+     * database could not be used at all; they should be tried again later.
+     */
+    private List<ActivityLogEvent> write(List<ActivityLogEvent> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        try {
+            flushTimer.record(() -> insert(events));
+            written.increment(events.size());
+            return List.of();
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            log.warn("Writing {} activity logs as a batch failed, retrying one by one: {}", events.size(), e.getMessage());
+        }
+
+        for (int i = 0; i < events.size(); i++) {
+            ActivityLogEvent event = events.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, event)));
+                written.increment();
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Activity log {} {} {} was rejected: {}", event.actionType(), event.entityType(),
+                        event.entityId(), e.getMostSpecificCause().getMessage());
+                deadLetter(List.of(event));
+            } catch (RuntimeException e) {
+                // Not caused by this entry, so the rest would fail the same way
+                log.warn("Writing activity logs one by one failed: {}", e.getMessage());
+                return events.subList(i, events.size());
+            }
+        }
+        return List.of();
+    }
+
+    private void insert(List<ActivityLogEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, events, batchSize, this::bind));
+    }
+
+    private void bind(PreparedStatement ps, ActivityLogEvent event) throws SQLException {
+        ps.setLong(1, event.userId());
+        ps.setString(2, event.actionType());
+        ps.setString(3, event.entityType());
+        ps.setLong(4, event.entityId());
+        ps.setString(5, (String) event.details());
+        ps.setTimestamp(6, Timestamp.valueOf(event.createdAt()));
+    }
+
+    private ActivityLogEvent resolveDetails(ActivityLogEvent event) {
+        Object details = event.details();
+        String text;
+        if (details == null || details instanceof String) {
+            text = (String) details;
+        } else {
+            try {
+                text = objectMapper.writeValueAsString(details);
+            } catch (JsonProcessingException e) {
+                log.warn("Could not serialize details of {} activity log: {}", event.actionType(), e.getMessage());
+                text = null;
+            }
+        }
+        if (text != null && text.length() > MAX_DETAILS_LENGTH) {
+            text = text.substring(0, MAX_DETAILS_LENGTH);
+        }
+        return event.withDetails(text);
+    }
+
+    private void overflow(List<ActivityLogEvent> events) {
+        synchronized (overflowLock) {
+            try {
+                append(overflowFile, toLines(events));
+                overflowed.increment(events.size());
+            } catch (IOException e) {
+                log.error("Could not write {} activity logs to {}, they are lost", events.size(), overflowFile, e);
+            }
+        }
+    }
+
+    private void deadLetter(List<ActivityLogEvent> events) {
+        try {
+            deadLetterLines(toLines(events));
+        } catch (IOException e) {
+            log.error("Could not write {} activity logs to {}, they are lost", events.size(), deadLetterFile, e);
+        }
+    }
+
+    // Only the writer thread dead-letters, so the file needs no lock
+    private void deadLetterLines(List<String> lines) throws IOException {
+        append(deadLetterFile, lines);
+        deadLettered.increment(lines.size());
+    }
+
+    private List<String> toLines(List<ActivityLogEvent> events) throws IOException {
+        List<String> lines = new ArrayList<>(events.size());
+        for (ActivityLogEvent event : events) {
+            lines.add(objectMapper.writeValueAsString(resolveDetails(event)));
+        }
+        return lines;
+    }
+
+    private static void append(Path file, List<String> lines) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Moves the overflow file aside and writes its entries, finishing an interrupted replay
+     * first. When the database cannot be reached, the entries not written yet stay in the
+     * replay file for the next attempt, after {@link #REPLAY_BACKOFF}.
+     */
+    void replayOverflow() {
+        if (System.currentTimeMillis() < nextReplayAttempt) {
+            return;
+        }
+        try {
+            // A second pass picks up what overflowed while an earlier replay was pending
+            for (int pass = 0; pass < 2; pass++) {
+                synchronized (overflowLock) {
+                    if (!Files.exists(replayFile)) {
+                        if (!Files.exists(overflowFile)) {
+                            return;
+                        }
+                        Files.move(overflowFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                    }
+                }
+                if (!replay()) {
+                    nextReplayAttempt = System.currentTimeMillis() + REPLAY_BACKOFF.toMillis();
+                    log.warn("Replaying activity log overflow stopped, retrying in {}", REPLAY_BACKOFF);
+                    return;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            nextReplayAttempt = System.currentTimeMillis() + REPLAY_BACKOFF.toMillis();
+            log.warn("Replaying activity log overflow failed, retrying in {}: {}", REPLAY_BACKOFF, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the replay file in batches and deletes it. If a batch cannot be written, the
+     * file is replaced by its unwritten entries and the rest of the file, so the entries
+     * already committed are not written again. Returns whether the whole file was written.
+     */
+    private boolean replay() throws IOException {
+        Path remainder = replayFile.resolveSibling(replayFile.getFileName() + ".tmp");
+        long replayed = 0;
+        boolean complete = true;
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            List<String> lines = new ArrayList<>(batchSize);
+            String line;
+            do {
+                line = reader.readLine();
+                if (line != null) {
+                    lines.add(line);
+                }
+                if (lines.size() == batchSize || (line == null && !lines.isEmpty())) {
+                    List<String> unwritten = replayBatch(lines);
+                    replayed += lines.size() - unwritten.size();
+                    lines.clear();
+                    if (!unwritten.isEmpty()) {
+                        try (BufferedWriter writer = Files.newBufferedWriter(remainder, StandardCharsets.UTF_8)) {
+                            for (String kept : unwritten) {
+                                writer.write(kept);
+                                writer.newLine();
+                            }
+                            reader.transferTo(writer);
+                        }
+                        complete = false;
+                        break;
+                    }
+                }
+            } while (line != null);
+        }
+
+        if (complete) {
+            Files.delete(replayFile);
+        } else {
+            Files.move(remainder, replayFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        log.info("Replayed {} activity logs from the overflow file", replayed);
+        return complete;
+    }
+
+    // Returns the lines whose entries could not be written, always the tail of the batch
+    private List<String> replayBatch(List<String> lines) throws IOException {
+        List<ActivityLogEvent> events = new ArrayList<>(lines.size());
+        List<String> parsed = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            try {
+                events.add(objectMapper.readValue(line, ActivityLogEvent.class));
+                parsed.add(line);
+            } catch (JsonProcessingException e) {
+                log.warn("Unreadable activity log in the overflow file: {}", e.getOriginalMessage());
+                deadLetterLines(List.of(line));
+            }
+        }
+        int unwritten = write(events).size();
+        return new ArrayList<>(parsed.subList(parsed.size() - unwritten, parsed.size()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.Lease;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Billing rules derived from a lease's start date. Cycle {@code n} starts {@code n} months
+ * after the lease start (clamped to the last day of shorter months) and runs until the day
+ * before the next one. Rent is due on the lease's start day of each calendar month, clamped
+ * the same way, so a payment is late only when it is made after that day in its own month;
+ * paying earlier in the month is on time. Payment writes, the billing cycle table and the
+ * nightly lateness job all go through here so they always agree.
+ */
+@Component
+public class BillingCalendar {
+
+    public int cycleNumber(LocalDate leaseStartDate, LocalDate date) {
+        int monthsElapsed = (date.getYear() - leaseStartDate.getYear()) * 12
+                + date.getMonthValue() - leaseStartDate.getMonthValue();
+
+        if (date.isBefore(leaseStartDate.plusMonths(monthsElapsed))) {
+            monthsElapsed--;
+        }
+
+        return monthsElapsed;
+    }
+
+    public LocalDate cycleStart(LocalDate leaseStartDate, int cycleNumber) {
+        return leaseStartDate.plusMonths(cycleNumber);
+    }
+
+    public LocalDate cycleStart(LocalDate leaseStartDate, LocalDate date) {
+        return cycleStart(leaseStartDate, cycleNumber(leaseStartDate, date));
+    }
+
+    public LocalDate cycleEnd(LocalDate leaseStartDate, int cycleNumber) {
+        return cycleStart(leaseStartDate, cycleNumber + 1).minusDays(1);
+    }
+
+    public LocalDate dueDate(LocalDate leaseStartDate, int cycleNumber) {
+        return cycleStart(leaseStartDate, cycleNumber);
+    }
+
+    public LocalDate dueDate(LocalDate leaseStartDate, YearMonth month) {
+        return month.atDay(Math.min(leaseStartDate.getDayOfMonth(), month.lengthOfMonth()));
+    }
+
+    public boolean isLate(LocalDate paymentDate, LocalDate leaseStartDate) {
+        return paymentDate.isAfter(dueDate(leaseStartDate, YearMonth.from(paymentDate)));
+    }
+
+    /**
+     * Lateness of a payment made on {@code paymentDate} for {@code lease}, or {@code null}
+     * when the lease has no start date to bill against.
+     */
+    public Boolean lateness(Lease lease, LocalDate paymentDate) {
+        if (lease == null || lease.getStartDate() == null || paymentDate == null) {
+            return null;
+        }
+        return isLate(paymentDate, lease.getStartDate());
+    }
+}
@@ -0,0 +1,296 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.converter.BillingCycleConverter;
+import com.immobile.real_estate_backend.model.dto.BillingCycleDTO;
+import com.immobile.real_estate_backend.model.entity.BillingCycle;
+import com.immobile.real_estate_backend.model.entity.BillingCycleId;
+import com.immobile.real_estate_backend.model.entity.Lease;
+import com.immobile.real_estate_backend.model.entity.Payment;
+import com.immobile.real_estate_backend.model.entity.User;
+import com.immobile.real_estate_backend.model.enums.LeaseStatus;
+import com.immobile.real_estate_backend.model.enums.PaymentStatus;
+import com.immobile.real_estate_backend.repository.BillingCycleRepository;
+import com.immobile.real_estate_backend.repository.LeaseRepository;
+import com.immobile.real_estate_backend.repository.PaymentRepository;
+import com.immobile.real_estate_backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@code billing_cycle} rows of active leases. A lease gets one row per
+ * cycle for its whole term when it becomes active; leases without an end date are
+ * generated a fixed number of months ahead and extended daily. Cycles that already
+ * started are created with their paid flag taken from the lease's completed payments.
+ */
+@Service
+public class BillingCycleService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO billing_cycle
+                (lease_id, cycle_number, start_date, end_date, due_date, paid, payment_id, paid_date)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final BillingCycleRepository billingCycleRepository;
+    private final LeaseRepository leaseRepository;
+    private final PaymentRepository paymentRepository;
+    private final UserRepository userRepository;
+    private final BillingCycleConverter billingCycleConverter;
+    private final BillingCalendar billingCalendar;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int openEndedMonths;
+    private final int chunkSize;
+
+    public BillingCycleService(BillingCycleRepository billingCycleRepository,
+                               LeaseRepository leaseRepository,
+                               PaymentRepository paymentRepository,
+                               UserRepository userRepository,
+                               BillingCycleConverter billingCycleConverter,
+                               BillingCalendar billingCalendar,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${billing-cycle.open-ended-months:12}") int openEndedMonths,
+                               @Value("${billing-cycle.chunk-size:500}") int chunkSize) {
+        this.billingCycleRepository = billingCycleRepository;
+        this.leaseRepository = leaseRepository;
+        this.paymentRepository = paymentRepository;
+        this.userRepository = userRepository;
+        this.billingCycleConverter = billingCycleConverter;
+        this.billingCalendar = billingCalendar;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.openEndedMonths = openEndedMonths;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates the cycles of {@code lease} that do not exist yet and returns how many were
+     * added. Safe to call repeatedly.
+     */
+    @Transactional
+    public int generateCycles(Lease lease) {
+        List<BillingCycle> cycles = buildMissingCycles(lease, LocalDate.now());
+        insert(cycles);
+        return cycles.size();
+    }
+
+    /**
+     * Generates or extends the cycles of every active lease; used to backfill leases that
+     * were activated before cycles existed and to roll open-ended leases forward. Leases are
+     * walked in id order and each chunk commits on its own, so a large backfill neither holds
+     * one long transaction nor loses finished chunks when a later one fails.
+     */
+    public int generateForActiveLeases() {
+        LocalDate today = LocalDate.now();
+        long afterId = 0;
+        int total = 0;
+        while (true) {
+            long from = afterId;
+            ChunkResult result = transactionTemplate.execute(status -> generateChunk(from, today));
+            if (result == null || result.lastId() == null) {
+                break;
+            }
+            afterId = result.lastId();
+            total += result.created();
+            if (result.size() < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private ChunkResult generateChunk(long afterId, LocalDate today) {
+        List<Lease> leases = leaseRepository.findByStatusAfter(LeaseStatus.ACTIVE, afterId, Limit.of(chunkSize));
+        if (leases.isEmpty()) {
+            return new ChunkResult(0, 0, null);
+        }
+
+        List<Long> leaseIds = leases.stream().map(Lease::getLeaseId).toList();
+        Map<Long, Integer> firstMissing = billingCycleRepository.findLastCycleNumbers(leaseIds).stream()
+                .collect(Collectors.toMap(BillingCycleRepository.LastCycle::getLeaseId, last -> last.getLastCycleNumber() + 1));
+
+        // Payments are only consulted for cycles that already started, so leases that are
+        // merely rolled forward into future months skip the payment query altogether
+        List<Long> needPayments = leases.stream()
+                .filter(lease -> addsStartedCycle(lease, today, firstMissing.getOrDefault(lease.getLeaseId(), 0)))
+                .map(Lease::getLeaseId)
+                .toList();
+        Map<Long, List<Payment>> paymentsByLease = needPayments.isEmpty()
+                ? Map.of()
+                : paymentRepository.findCompletedByLeaseIds(needPayments).stream()
+                        .collect(Collectors.groupingBy(payment -> payment.getLease().getLeaseId()));
+
+        List<BillingCycle> cycles = new ArrayList<>();
+        for (Lease lease : leases) {
+            cycles.addAll(buildMissingCycles(lease, today, firstMissing.getOrDefault(lease.getLeaseId(), 0),
+                    () -> paymentsByLease.getOrDefault(lease.getLeaseId(), List.of())));
+        }
+        insert(cycles);
+        return new ChunkResult(leases.size(), cycles.size(), leaseIds.get(leaseIds.size() - 1));
+    }
+
+    private boolean addsStartedCycle(Lease lease, LocalDate today, int first) {
+        if (lease.getStartDate() == null) {
+            return false;
+        }
+        LocalDate firstStart = billingCalendar.cycleStart(lease.getStartDate(), first);
+        return !firstStart.isAfter(today) && (first == 0 || firstStart.isBefore(until(lease, today)));
+    }
+
+    private record ChunkResult(int size, int created, Long lastId) {
+    }
+
+    /**
+     * Drops the unpaid cycles that start after {@code date}, so a terminated lease only
+     * lists the cycles of the term it actually ran.
+     */
+    @Transactional
+    public int closeCycles(Lease lease, LocalDate date) {
+        return billingCycleRepository.deleteUnpaidStartingAfter(lease.getLeaseId(), date);
+    }
+
+    public Optional<BillingCycle> findCycle(Lease lease, LocalDate date) {
+        if (lease.getStartDate() == null || date.isBefore(lease.getStartDate())) {
+            return Optional.empty();
+        }
+        return billingCycleRepository.findById(
+                new BillingCycleId(lease.getLeaseId(), billingCalendar.cycleNumber(lease.getStartDate(), date)));
+    }
+
+    /**
+     * Flags {@code cycle} as settled by {@code payment}. The update only matches an unpaid
+     * cycle, so a second payment for the same cycle is rejected with a 409.
+     */
+    @Transactional
+    public void markPaid(BillingCycle cycle, Payment payment) {
+        int updated = billingCycleRepository.markPaid(cycle.getId(), payment.getPaymentId(), payment.getPaymentDate());
+        if (updated == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Rent for this billing cycle has already been paid");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<BillingCycleDTO> getCyclesForLease(Long leaseId) {
+        leaseRepository.findById(leaseId)
+                .orElseThrow(() -> new RuntimeException("Lease not found"));
+
+        return billingCycleRepository.findByLeaseId(leaseId).stream()
+                .map(billingCycleConverter::toBillingCycleDTO)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<BillingCycleDTO> getCurrentCyclesForOwner(String email) {
+        User owner = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+
+        return billingCycleRepository.findCurrentByOwnerId(owner.getUserId(), LocalDate.now()).stream()
+                .map(billingCycleConverter::toBillingCycleDTO)
+                .toList();
+    }
+
+    List<BillingCycle> buildMissingCycles(Lease lease, LocalDate today) {
+        if (lease.getStartDate() == null) {
+            return List.of();
+        }
+        int first = billingCycleRepository.findLastCycleNumber(lease.getLeaseId())
+                .map(last -> last + 1)
+                .orElse(0);
+        return buildMissingCycles(lease, today, first, () -> paymentRepository.findByLeaseLeaseId(lease.getLeaseId()));
+    }
+
+    private List<BillingCycle> buildMissingCycles(Lease lease, LocalDate today, int first,
+                                                  Supplier<List<Payment>> payments) {
+        LocalDate leaseStart = lease.getStartDate();
+        if (leaseStart == null) {
+            return List.of();
+        }
+
+        LocalDate until = until(lease, today);
+
+        List<BillingCycle> cycles = new ArrayList<>();
+        Map<Integer, Payment> paymentsByCycle = null;
+        for (int n = first; ; n++) {
+            LocalDate cycleStart = billingCalendar.cycleStart(leaseStart, n);
+            if (n > 0 && !cycleStart.isBefore(until)) {
+                break;
+            }
+
+            BillingCycle cycle = BillingCycle.builder()
+                    .id(new BillingCycleId(lease.getLeaseId(), n))
+                    .lease(lease)
+                    .startDate(cycleStart)
+                    .endDate(billingCalendar.cycleEnd(leaseStart, n))
+                    .dueDate(billingCalendar.dueDate(leaseStart, n))
+                    .build();
+
+            if (!cycleStart.isAfter(today)) {
+                if (paymentsByCycle == null) {
+                    paymentsByCycle = completedPaymentsByCycle(lease, payments.get());
+                }
+                Payment payment = paymentsByCycle.get(n);
+                if (payment != null) {
+                    cycle.markPaid(payment);
+                }
+            }
+            cycles.add(cycle);
+        }
+        return cycles;
+    }
+
+    private LocalDate until(Lease lease, LocalDate today) {
+        return lease.getEndDate() != null ? lease.getEndDate() : today.plusMonths(openEndedMonths);
+    }
+
+    private Map<Integer, Payment> completedPaymentsByCycle(Lease lease, List<Payment> payments) {
+        return payments.stream()
+                .filter(payment -> payment.getStatus() == PaymentStatus.COMPLETED)
+                .filter(payment -> !payment.getPaymentDate().isBefore(lease.getStartDate()))
+                .sorted(Comparator.comparing(Payment::getPaymentDate).thenComparing(Payment::getPaymentId))
+                .collect(Collectors.toMap(
+                        payment -> billingCalendar.cycleNumber(lease.getStartDate(), payment.getPaymentDate()),
+                        Function.identity(),
+                        (first, second) -> first));
+    }
+
+    private void insert(List<BillingCycle> cycles) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, cycles, BATCH_SIZE, (ps, cycle) -> {
+            ps.setLong(1, cycle.getId().getLeaseId());
+            ps.setInt(2, cycle.getId().getCycleNumber());
+            ps.setDate(3, Date.valueOf(cycle.getStartDate()));
+            ps.setDate(4, Date.valueOf(cycle.getEndDate()));
+            ps.setDate(5, Date.valueOf(cycle.getDueDate()));
+            ps.setBoolean(6, cycle.isPaid());
+            if (cycle.getPaymentId() != null) {
+                ps.setLong(7, cycle.getPaymentId());
+                ps.setDate(8, Date.valueOf(cycle.getPaidDate()));
+            } else {
+                ps.setNull(7, Types.BIGINT);
+                ps.setNull(8, Types.DATE);
+            }
+        });
+    }
+}
@@ -1,9 +1,6 @@
 package com.immobile.real_estate_backend.service;
 
-import com.immobile.real_estate_backend.model.entity.Lease;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -13,7 +10,7 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final OutboxService outboxService;
     private final AccountInvitationService accountInvitationService;
 
     public void sendAccountAndLeaseInvitation(String email, Long propertyId, String propertyName, LocalDate startDate, LocalDate endDate, BigDecimal rent) {
@@ -37,12 +34,7 @@ public class EmailService {
     The Team
     """.formatted(invitationLink, propertyName, startDate, endDate, rent);
 
-        SimpleMailMessage mailMessage = new SimpleMailMessage();
-        mailMessage.setTo(email);
-        mailMessage.setSubject("You're Invited to Lease a Property");
-        mailMessage.setText(message);
-
-        mailSender.send(mailMessage);
+        outboxService.enqueueEmail(email, "You're Invited to Lease a Property", message);
     }
 
 }
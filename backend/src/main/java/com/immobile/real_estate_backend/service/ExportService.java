@@ -0,0 +1,187 @@
+package com.immobile.real_estate_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.immobile.real_estate_backend.model.converter.ActivityLogConverter;
+import com.immobile.real_estate_backend.model.converter.LeaseConverter;
+import com.immobile.real_estate_backend.model.converter.PaymentConverter;
+import com.immobile.real_estate_backend.model.dto.ActivityLogDTO;
+import com.immobile.real_estate_backend.model.dto.LeaseDTO;
+import com.immobile.real_estate_backend.model.dto.PaymentDTO;
+import com.immobile.real_estate_backend.model.entity.ActivityLog;
+import com.immobile.real_estate_backend.model.entity.Lease;
+import com.immobile.real_estate_backend.model.entity.Payment;
+import com.immobile.real_estate_backend.model.enums.ExportFormat;
+import com.immobile.real_estate_backend.repository.ActivityLogRepository;
+import com.immobile.real_estate_backend.repository.LeaseRepository;
+import com.immobile.real_estate_backend.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams full-table exports as NDJSON or CSV. Rows come from forward-only repository
+ * streams, are converted {@link #CHUNK_SIZE} at a time (so batch converters keep their
+ * batched lookups) and the persistence context is cleared after every chunk, so memory
+ * stays flat no matter how many rows are exported.
+ * <p>
+ * Each method runs in its own read-only transaction because it is invoked from the
+ * {@code StreamingResponseBody} thread, after the request thread has returned.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final List<Column<PaymentDTO>> PAYMENT_COLUMNS = List.of(
+            new Column<>("paymentId", PaymentDTO::getPaymentId),
+            new Column<>("leaseId", PaymentDTO::getLeaseId),
+            new Column<>("amount", PaymentDTO::getAmount),
+            new Column<>("paymentMethod", PaymentDTO::getPaymentMethod),
+            new Column<>("status", PaymentDTO::getStatus),
+            new Column<>("paymentDate", PaymentDTO::getPaymentDate));
+
+    private static final List<Column<LeaseDTO>> LEASE_COLUMNS = List.of(
+            new Column<>("leaseId", LeaseDTO::getLeaseId),
+            new Column<>("tenantId", LeaseDTO::getTenantId),
+            new Column<>("propertyId", LeaseDTO::getPropertyId),
+            new Column<>("startDate", LeaseDTO::getStartDate),
+            new Column<>("endDate", LeaseDTO::getEndDate),
+            new Column<>("monthlyRent", LeaseDTO::getMonthlyRent),
+            new Column<>("status", LeaseDTO::getStatus),
+            new Column<>("createdAt", LeaseDTO::getCreatedAt),
+            new Column<>("terminationStatus", LeaseDTO::getTerminationStatus),
+            new Column<>("terminationRequestedAt", LeaseDTO::getTerminationRequestedAt),
+            new Column<>("rentStatus", LeaseDTO::getRentStatus),
+            new Column<>("latestPaymentDate", LeaseDTO::getLatestPaymentDate));
+
+    private static final List<Column<ActivityLogDTO>> ACTIVITY_LOG_COLUMNS = List.of(
+            new Column<>("id", ActivityLogDTO::getId),
+            new Column<>("userId", ActivityLogDTO::getUserId),
+            new Column<>("actionType", ActivityLogDTO::getActionType),
+            new Column<>("entityType", ActivityLogDTO::getEntityType),
+            new Column<>("entityId", ActivityLogDTO::getEntityId),
+            new Column<>("details", ActivityLogDTO::getDetails),
+            new Column<>("createdAt", ActivityLogDTO::getCreatedAt));
+
+    private final PaymentRepository paymentRepository;
+    private final LeaseRepository leaseRepository;
+    private final ActivityLogRepository activityLogRepository;
+    private final PaymentConverter paymentConverter;
+    private final LeaseConverter leaseConverter;
+    private final ActivityLogConverter activityLogConverter;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    private record Column<D>(String header, Function<D, Object> value) {
+    }
+
+    public ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unknown export format: " + format + ". Expected one of " + Arrays.toString(ExportFormat.values()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportPayments(OutputStream out, ExportFormat format) throws IOException {
+        try (Stream<Payment> payments = paymentRepository.streamAllForExport()) {
+            long rows = export(payments, chunk -> chunk.stream().map(paymentConverter::toPaymentDTO).toList(),
+                    PAYMENT_COLUMNS, out, format);
+            log.info("Exported {} payments as {}", rows, format);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportLeases(OutputStream out, ExportFormat format) throws IOException {
+        try (Stream<Lease> leases = leaseRepository.streamAllForExport()) {
+            long rows = export(leases, leaseConverter::toLeaseDTOs, LEASE_COLUMNS, out, format);
+            log.info("Exported {} leases as {}", rows, format);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportActivityLogs(OutputStream out, ExportFormat format) throws IOException {
+        try (Stream<ActivityLog> logs = activityLogRepository.streamAllForExport()) {
+            long rows = export(logs, chunk -> chunk.stream().map(activityLogConverter::toDTO).toList(),
+                    ACTIVITY_LOG_COLUMNS, out, format);
+            log.info("Exported {} activity logs as {}", rows, format);
+        }
+    }
+
+    private <E, D> long export(Stream<E> rows, Function<List<E>, List<D>> converter, List<Column<D>> columns,
+                               OutputStream out, ExportFormat format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writeCsvRow(writer, columns.stream().map(Column::header).toList());
+        }
+        // Get the first bytes to the client before the query has produced anything
+        writer.flush();
+
+        long count = 0;
+        List<E> chunk = new ArrayList<>(CHUNK_SIZE);
+        Iterator<E> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                for (D dto : converter.apply(chunk)) {
+                    if (format == ExportFormat.CSV) {
+                        writeCsvRow(writer, columns.stream().map(column -> column.value().apply(dto)).toList());
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(dto));
+                        writer.write('\n');
+                    }
+                }
+                count += chunk.size();
+                chunk.clear();
+                // Detach everything loaded for this chunk, including lookups done by the converter
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Spreadsheets evaluate cells starting with these characters as formulas
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            text = "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
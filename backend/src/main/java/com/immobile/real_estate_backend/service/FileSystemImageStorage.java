@@ -0,0 +1,145 @@
+package com.immobile.real_estate_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Stores images under {@code image.storage.directory} as {@code ab/cd/abcd...}, where the
+ * file name is the SHA-256 of the content. Uploads are written to a temporary file first
+ * and moved into place atomically, so readers never see a partially written image.
+ * A file's modification time is the last time its content was stored.
+ */
+@Component
+@Slf4j
+public class FileSystemImageStorage implements ImageStorage {
+
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public FileSystemImageStorage(@Value("${image.storage.directory:data/images}") String directory) {
+        this.root = Path.of(directory).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public StoredContent store(InputStream content) throws IOException {
+        Files.createDirectories(root);
+        Path tempFile = Files.createTempFile(root, "upload-", ".tmp");
+
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                size = new DigestInputStream(content, digest).transferTo(out);
+            }
+
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(contentHash);
+            Files.createDirectories(target.getParent());
+
+            // A file swept in the meantime cannot be refreshed, so ours takes its place
+            if (refresh(target)) {
+                log.debug("Image {} already stored, reusing existing file", contentHash);
+            } else {
+                try {
+                    Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    log.debug("Image {} stored concurrently, reusing existing file", contentHash);
+                    refresh(target);
+                }
+            }
+            return new StoredContent(contentHash, size);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public Resource load(String contentHash) {
+        return new FileSystemResource(resolve(contentHash));
+    }
+
+    @Override
+    public Stream<String> storedContentHashes() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+        return Files.walk(root)
+                .filter(Files::isRegularFile)
+                .map(path -> path.getFileName().toString())
+                .filter(name -> CONTENT_HASH.matcher(name).matches());
+    }
+
+    /**
+     * Moves the file aside before deleting it and checks its age again once moved. An
+     * upload refreshing it before the move is seen by that check; one arriving after the
+     * move finds no file and stores its own copy.
+     */
+    @Override
+    public boolean deleteIfStoredBefore(String contentHash, Instant cutoff) throws IOException {
+        Path path = resolve(contentHash);
+        Path doomed = path.resolveSibling(contentHash + ".sweep");
+        try {
+            if (!Files.getLastModifiedTime(path).toInstant().isBefore(cutoff)) {
+                return false;
+            }
+            Files.move(path, doomed, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+
+        if (!Files.getLastModifiedTime(doomed).toInstant().isBefore(cutoff)) {
+            Files.move(doomed, path, StandardCopyOption.ATOMIC_MOVE);
+            return false;
+        }
+        Files.delete(doomed);
+        return true;
+    }
+
+    // Marks existing content as freshly stored, so it is not swept while its upload commits
+    private static boolean refresh(Path path) throws IOException {
+        try {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private Path resolve(String contentHash) {
+        if (contentHash == null || !CONTENT_HASH.matcher(contentHash).matches()) {
+            throw new IllegalArgumentException("Invalid content hash: " + contentHash);
+        }
+        return root.resolve(contentHash.substring(0, 2))
+                .resolve(contentHash.substring(2, 4))
+                .resolve(contentHash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
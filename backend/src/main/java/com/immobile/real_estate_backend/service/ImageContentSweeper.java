@@ -0,0 +1,91 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.repository.ImageRenditionRepository;
+import com.immobile.real_estate_backend.repository.ImageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Removes stored image content that no image or rendition refers to: uploads whose
+ * transaction rolled back, and images that were deleted. Content is shared by hash, so
+ * whether a file is still needed cannot be decided when one transaction ends; an upload
+ * of the same bytes may not have committed yet. Files are therefore only removed once
+ * they were last stored more than {@code image.storage.orphan-grace} ago.
+ */
+@Service
+@Slf4j
+public class ImageContentSweeper {
+
+    private final ImageRepository imageRepository;
+    private final ImageRenditionRepository imageRenditionRepository;
+    private final ImageStorage imageStorage;
+    private final Duration grace;
+    private final int batchSize;
+
+    public ImageContentSweeper(ImageRepository imageRepository,
+                               ImageRenditionRepository imageRenditionRepository,
+                               ImageStorage imageStorage,
+                               @Value("${image.storage.orphan-grace:6h}") Duration grace,
+                               @Value("${image.storage.sweep-batch-size:500}") int batchSize) {
+        this.imageRepository = imageRepository;
+        this.imageRenditionRepository = imageRenditionRepository;
+        this.imageStorage = imageStorage;
+        this.grace = grace;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Deletes the renditions of originals no image uses any more, then every stored file
+     * older than the grace period that no row refers to. Returns how many files were deleted.
+     */
+    public int sweep() throws IOException {
+        int orphanedRenditions = imageRenditionRepository.deleteOrphaned();
+        if (orphanedRenditions > 0) {
+            log.info("Deleted {} renditions of removed images", orphanedRenditions);
+        }
+
+        Instant cutoff = Instant.now().minus(grace);
+        int deleted = 0;
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Stream<String> hashes = imageStorage.storedContentHashes()) {
+            for (String hash : (Iterable<String>) hashes::iterator) {
+                batch.add(hash);
+                if (batch.size() == batchSize) {
+                    deleted += sweepBatch(batch, cutoff);
+                    batch.clear();
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (!batch.isEmpty()) {
+            deleted += sweepBatch(batch, cutoff);
+        }
+        return deleted;
+    }
+
+    private int sweepBatch(List<String> hashes, Instant cutoff) throws IOException {
+        Set<String> referenced = new HashSet<>(imageRepository.findReferencedContentHashes(hashes));
+        referenced.addAll(imageRenditionRepository.findReferencedContentHashes(hashes));
+
+        int deleted = 0;
+        for (String hash : hashes) {
+            if (!referenced.contains(hash) && imageStorage.deleteIfStoredBefore(hash, cutoff)) {
+                log.debug("Deleted unreferenced image content {}", hash);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,262 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.ImageRendition;
+import com.immobile.real_estate_backend.model.enums.ImageSize;
+import com.immobile.real_estate_backend.repository.ImageRenditionRepository;
+import com.immobile.real_estate_backend.repository.ImageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Produces the fixed {@link ImageSize} renditions of uploaded images in the background
+ * using only {@code javax.imageio}. Until a rendition exists the original is served.
+ * Work that was dropped by the full queue or lost on restart is picked up again by
+ * {@link #backfillMissing()}.
+ * <p>
+ * Originals are decoded subsampled down to about the largest rendition, and originals
+ * whose header claims more than {@code image.renditions.max-source-pixels} are not
+ * decoded at all, so a small but highly compressed upload cannot exhaust the heap.
+ */
+@Service
+@Slf4j
+public class ImageRenditionService {
+
+    private static final String RENDITION_CONTENT_TYPE = "image/jpeg";
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final int MAX_RENDITION_DIMENSION = Arrays.stream(ImageSize.values())
+            .mapToInt(ImageSize::getMaxDimension)
+            .max()
+            .orElseThrow();
+
+    private final ImageRenditionRepository imageRenditionRepository;
+    private final ImageRepository imageRepository;
+    private final ImageStorage imageStorage;
+    private final TaskExecutor imageRenditionExecutor;
+    private final int backfillBatchSize;
+    private final long maxSourcePixels;
+
+    // Where the next backfill continues, so originals that cannot be resized do not hold back the rest
+    private final AtomicReference<String> backfillCursor = new AtomicReference<>("");
+
+    public ImageRenditionService(ImageRenditionRepository imageRenditionRepository,
+                                 ImageRepository imageRepository,
+                                 ImageStorage imageStorage,
+                                 @Qualifier("imageRenditionExecutor") TaskExecutor imageRenditionExecutor,
+                                 @Value("${image.renditions.backfill-batch-size:100}") int backfillBatchSize,
+                                 @Value("${image.renditions.max-source-pixels:100000000}") long maxSourcePixels) {
+        this.imageRenditionRepository = imageRenditionRepository;
+        this.imageRepository = imageRepository;
+        this.imageStorage = imageStorage;
+        this.imageRenditionExecutor = imageRenditionExecutor;
+        this.backfillBatchSize = backfillBatchSize;
+        this.maxSourcePixels = maxSourcePixels;
+    }
+
+    public Optional<ImageRendition> findRendition(String sourceHash, ImageSize size) {
+        return imageRenditionRepository.findBySourceHashAndSize(sourceHash, size);
+    }
+
+    /**
+     * Queues rendition generation for the given original. When called inside a
+     * transaction the work starts only after commit, so a rolled back upload never
+     * produces renditions.
+     */
+    public void requestRenditions(String sourceHash) {
+        if (sourceHash == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    imageRenditionExecutor.execute(() -> generateRenditions(sourceHash));
+                }
+            });
+        } else {
+            imageRenditionExecutor.execute(() -> generateRenditions(sourceHash));
+        }
+    }
+
+    /**
+     * Queues one batch of originals that are missing at least one rendition and returns
+     * how many were queued. Each call continues after the last original of the previous
+     * one and starts over once the end is reached.
+     */
+    public int backfillMissing() {
+        String after = backfillCursor.get();
+        List<String> hashes = imageRepository.findHashesMissingRenditions(after, ImageSize.values().length,
+                Limit.of(backfillBatchSize));
+        backfillCursor.set(hashes.size() < backfillBatchSize ? "" : hashes.get(hashes.size() - 1));
+
+        hashes.forEach(hash -> imageRenditionExecutor.execute(() -> generateRenditions(hash)));
+        return hashes.size();
+    }
+
+    public void generateRenditions(String sourceHash) {
+        Set<ImageSize> existing = imageRenditionRepository.findAllBySourceHash(sourceHash).stream()
+                .map(ImageRendition::getSize)
+                .collect(Collectors.toSet());
+        Set<ImageSize> missing = EnumSet.allOf(ImageSize.class);
+        missing.removeAll(existing);
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        try {
+            BufferedImage source = readImage(imageStorage.load(sourceHash));
+            if (source == null) {
+                log.info("Image {} cannot be decoded or is too large, serving the original only", sourceHash);
+                return;
+            }
+
+            for (ImageSize size : missing) {
+                saveRendition(sourceHash, size, resize(source, size.getMaxDimension()));
+            }
+        } catch (IOException e) {
+            log.error("Failed to generate renditions for image {}: {}", sourceHash, e.getMessage(), e);
+        }
+    }
+
+    private void saveRendition(String sourceHash, ImageSize size, BufferedImage image) throws IOException {
+        ImageStorage.StoredContent stored = imageStorage.store(new ByteArrayInputStream(encodeJpeg(image)));
+        try {
+            imageRenditionRepository.save(ImageRendition.builder()
+                    .sourceHash(sourceHash)
+                    .size(size)
+                    .contentHash(stored.contentHash())
+                    .contentType(RENDITION_CONTENT_TYPE)
+                    .width(image.getWidth())
+                    .height(image.getHeight())
+                    .sizeBytes(stored.size())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Rendition {} of image {} was created concurrently", size, sourceHash);
+        }
+    }
+
+    /**
+     * Decodes the image, reading every n-th pixel so that its longer side is no smaller
+     * than the largest rendition. Returns {@code null} when no reader understands the
+     * format or the header declares more than {@link #maxSourcePixels} pixels.
+     */
+    BufferedImage readImage(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream();
+             ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long width = reader.getWidth(0);
+                long height = reader.getHeight(0);
+                if (width * height > maxSourcePixels) {
+                    log.warn("Image of {}x{} pixels exceeds the limit of {} pixels", width, height, maxSourcePixels);
+                    return null;
+                }
+
+                int subsampling = (int) Math.max(1, Math.max(width, height) / MAX_RENDITION_DIMENSION);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales the image to fit within a square of {@code maxDimension} pixels without
+     * upscaling. Large reductions are done in halving steps, which keeps bilinear
+     * filtering from aliasing the way a single big step does.
+     */
+    static BufferedImage resize(BufferedImage source, int maxDimension) {
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = toRgb(source);
+        int width = current.getWidth();
+        int height = current.getHeight();
+        while (width != targetWidth || height != targetHeight) {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        }
+
+        return current;
+    }
+
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        return draw(source, source.getWidth(), source.getHeight());
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no alpha channel; flatten transparent areas onto white.
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
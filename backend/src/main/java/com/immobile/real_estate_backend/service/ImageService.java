@@ -1,9 +1,12 @@
 package com.immobile.real_estate_backend.service;
 
+import com.immobile.real_estate_backend.model.dto.ImageMetadataDTO;
 import com.immobile.real_estate_backend.model.entity.Image;
+import com.immobile.real_estate_backend.model.enums.ImageSize;
 import com.immobile.real_estate_backend.repository.ImageRepository;
-import jakarta.persistence.EntityNotFoundException;
 import lombok.AllArgsConstructor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,39 +14,123 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.util.StringUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.Objects;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
 
 @Service
 @AllArgsConstructor
 public class ImageService {
 
     private final ImageRepository imageRepository;
+    private final ImageStorage imageStorage;
+    private final ImageRenditionService imageRenditionService;
+    private final ImageUploadLimiter imageUploadLimiter;
 
     @Transactional
     public Long uploadImage(MultipartFile multipartImage) {
-        try {
-            String filename = StringUtils.cleanPath(Objects.requireNonNull(multipartImage.getOriginalFilename()));
-            Image image = new Image();
-            image.setName(filename);
-            image.setContent(multipartImage.getBytes());
+        return imageRepository.save(newImage(multipartImage)).getId();
+    }
 
-            return imageRepository.save(image).getId();
+    /**
+     * Streams the file into the image storage, hashing it on the way, and returns an
+     * unsaved {@link Image} holding only its metadata; callers attach it to a property
+     * or maintenance request. The upload is never buffered in memory as a whole.
+     */
+    public Image newImage(MultipartFile file) {
+        try {
+            ImageStorage.StoredContent stored = imageUploadLimiter.run(() -> {
+                try (InputStream content = file.getInputStream()) {
+                    return imageStorage.store(content);
+                }
+            });
+            imageRenditionService.requestRenditions(stored.contentHash());
+            return Image.builder()
+                    .name(StringUtils.cleanPath(file.getOriginalFilename()))
+                    .contentType(file.getContentType())
+                    .contentHash(stored.contentHash())
+                    .size(stored.size())
+                    .build();
         } catch (IOException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not store image", e);
         }
     }
 
+    /**
+     * Reads only the metadata columns, never the legacy content, so conditional
+     * requests can be answered without touching the image bytes.
+     */
     @Transactional(readOnly = true)
-    public byte[] downloadImage(Long imageId) {
-        Image image = imageRepository.findById(imageId)
+    public ImageMetadataDTO getImageMetadata(Long imageId, ImageSize size) {
+        ImageMetadataDTO metadata = imageRepository.findMetadataById(imageId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Image not found"));
 
+        if (size == null) {
+            return metadata;
+        }
+
+        // Fall back to the original while the rendition is still being generated.
+        return Optional.ofNullable(metadata.getContentHash())
+                .flatMap(contentHash -> imageRenditionService.findRendition(contentHash, size))
+                .map(rendition -> ImageMetadataDTO.builder()
+                        .id(metadata.getId())
+                        .name(metadata.getName())
+                        .contentType(rendition.getContentType())
+                        .contentHash(rendition.getContentHash())
+                        .size(rendition.getSizeBytes())
+                        .build())
+                .orElseGet(() -> {
+                    metadata.setFallback(true);
+                    return metadata;
+                });
+    }
+
+    @Transactional(readOnly = true)
+    public Resource downloadImage(ImageMetadataDTO metadata) {
+        if (metadata.getContentHash() != null) {
+            Resource resource = imageStorage.load(metadata.getContentHash());
+            if (!resource.exists()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Image content not found");
+            }
+            return resource;
+        }
+
+        // Rows written before the storage backend existed keep their bytes in the table
+        // until the migration has run.
+        Image image = imageRepository.findById(metadata.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Image not found"));
         byte[] content = image.getContent();
         if (content == null || content.length == 0) {
             throw new ResponseStatusException(HttpStatus.NO_CONTENT, "Image content is empty");
         }
 
-        return content;
+        return new ByteArrayResource(content);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> getImageIdsWithLegacyContent() {
+        return imageRepository.findIdsWithLegacyContent();
+    }
+
+    @Transactional
+    public boolean migrateLegacyContent(Long imageId) {
+        Image image = imageRepository.findById(imageId).orElse(null);
+        if (image == null || image.getContentHash() != null || image.getContent() == null) {
+            return false;
+        }
+
+        try {
+            ImageStorage.StoredContent stored = imageStorage.store(new ByteArrayInputStream(image.getContent()));
+            image.setContentHash(stored.contentHash());
+            image.setSize(stored.size());
+            image.setContent(null);
+            imageRepository.save(image);
+            imageRenditionService.requestRenditions(stored.contentHash());
+            return true;
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not migrate image " + imageId, e);
+        }
     }
 }
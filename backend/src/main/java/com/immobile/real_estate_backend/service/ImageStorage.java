@@ -0,0 +1,38 @@
+package com.immobile.real_estate_backend.service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Storage backend for image bytes. Images are addressed by the SHA-256 hash of their
+ * content, so identical uploads share one stored copy and the {@code images} table
+ * only needs to keep the hash next to the metadata.
+ */
+public interface ImageStorage {
+
+    /**
+     * Consumes the stream (without closing it) and stores its bytes.
+     */
+    StoredContent store(InputStream content) throws IOException;
+
+    Resource load(String contentHash);
+
+    /**
+     * Lists the hashes of everything stored. The stream must be closed.
+     */
+    Stream<String> storedContentHashes() throws IOException;
+
+    /**
+     * Removes the stored bytes unless they were last stored at or after {@code cutoff}.
+     * Storing content that already exists counts as storing it again, so an upload still
+     * in flight keeps its bytes. Returns whether anything was deleted.
+     */
+    boolean deleteIfStoredBefore(String contentHash, Instant cutoff) throws IOException;
+
+    record StoredContent(String contentHash, long size) {
+    }
+}
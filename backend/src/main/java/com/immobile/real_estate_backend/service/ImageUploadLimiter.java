@@ -0,0 +1,57 @@
+package com.immobile.real_estate_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many uploads are copied into the image storage at the same time, so a
+ * burst of large uploads queues up instead of competing with regular traffic for
+ * disk and CPU. Callers that cannot get a slot within the timeout receive a 503.
+ */
+@Component
+@Slf4j
+public class ImageUploadLimiter {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    public ImageUploadLimiter(@Value("${image.upload.max-concurrent:4}") int maxConcurrent,
+                              @Value("${image.upload.acquire-timeout:10s}") Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public <T> T run(UploadTask<T> task) throws IOException {
+        acquire();
+        try {
+            return task.run();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Rejected image upload after waiting {} for a free slot", acquireTimeout);
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many uploads in progress, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Upload interrupted", e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface UploadTask<T> {
+        T run() throws IOException;
+    }
+}
@@ -0,0 +1,98 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Continuation token for keyset pagination: the sort key and id of the last row of the
+ * previous page. Lists are ordered by (sort key, id), so the next page is simply the rows
+ * after that pair and the database never has to skip over earlier pages.
+ * <p>
+ * The token is Base64URL-encoded so clients treat it as opaque.
+ */
+public record KeysetCursor(String sortKey, long id) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return new KeysetCursor(decoded.substring(0, separator), Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public static String encode(Object sortKey, Long id) {
+        String raw = sortKey + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Validates the requested page size and returns the limit to query with: one extra row
+     * tells whether another page follows.
+     */
+    public static Limit queryLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return Limit.of(limit + 1);
+    }
+
+    /**
+     * Lookups by a list of ids are held to the same bound as a page, so a client cannot
+     * turn one request into an unbounded IN list.
+     */
+    public static void checkBatchSize(int size) {
+        if (size > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_LIMIT + " ids can be requested at once");
+        }
+    }
+
+    public static <E, D> CursorPageDTO<D> page(List<E> rows, int limit,
+                                               Function<E, ?> sortKey, Function<E, Long> id,
+                                               Function<List<E>, List<D>> converter) {
+        boolean hasMore = rows.size() > limit;
+        List<E> content = hasMore ? rows.subList(0, limit) : rows;
+        E last = hasMore ? content.get(content.size() - 1) : null;
+
+        return CursorPageDTO.<D>builder()
+                .content(converter.apply(content))
+                .nextCursor(last != null ? encode(sortKey.apply(last), id.apply(last)) : null)
+                .limit(limit)
+                .build();
+    }
+
+    public LocalDateTime sortKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public LocalDate sortKeyAsDate() {
+        try {
+            return LocalDate.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -1,15 +1,16 @@
 package com.immobile.real_estate_backend.service;
 
 import com.immobile.real_estate_backend.model.entity.*;
-import com.immobile.real_estate_backend.model.enums.MaintenanceStatus;
 import com.immobile.real_estate_backend.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +21,8 @@ public class LandlordScoreService {
     private final LandlordStatsRepository landlordStatsRepository;
     private final LeaseRepository leaseRepository;
     private final PropertyRepository propertyRepository;
+    private final UserRepository userRepository;
+    private final LandlordStatsBatchWriter landlordStatsBatchWriter;
 
     private static final double WEIGHT_RATING = 0.5;
     private static final double WEIGHT_MAINTENANCE = 0.3;
@@ -36,9 +39,7 @@ public class LandlordScoreService {
         double maintenanceScore = getMaintenanceScore(landlordId);
         double behaviorScore = getAppBehaviorScore(landlordId);
 
-        double overallScore = (ratingScore * WEIGHT_RATING)
-                + (maintenanceScore * WEIGHT_MAINTENANCE)
-                + (behaviorScore * WEIGHT_BEHAVIOR);
+        double overallScore = toOverallScore(ratingScore, maintenanceScore, behaviorScore);
 
         int completedLeases = leaseRepository.countTerminatedLeases(landlordId);
         long avgResponseTime = calculateAvgResponseTime(landlordId);
@@ -61,16 +62,67 @@ public class LandlordScoreService {
         landlordStatsRepository.save(stats);
     }
 
+    /**
+     * Scores every landlord from a handful of grouped queries and writes the results
+     * with batched JDBC upserts, instead of running the per-landlord queries in a loop.
+     */
+    @Transactional
+    public int updateAllScores() {
+        List<Long> landlordIds = userRepository.findUserIdsByRole("LANDLORD");
+        if (landlordIds.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Number> ratings = toMap(reviewRepository.averageTenantRatingPerLandlord());
+        Map<Long, Number> responseHours = toMap(maintenanceRequestRepository.averageResponseHoursPerLandlord());
+        Map<Long, Number> flagCounts = toMap(propertyRepository.countFlaggedPropertiesPerLandlord());
+        Map<Long, Number> terminatedLeases = toMap(leaseRepository.countTerminatedLeasesPerLandlord());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<LandlordStats> stats = new ArrayList<>(landlordIds.size());
+
+        for (Long landlordId : landlordIds) {
+            Number rating = ratings.get(landlordId);
+            Number hours = responseHours.get(landlordId);
+            Number flags = flagCounts.get(landlordId);
+            Number completed = terminatedLeases.get(landlordId);
+
+            long avgResponseTime = hours != null ? Math.round(hours.doubleValue()) : 0;
+            int flaggedProperties = flags != null ? flags.intValue() : 0;
+
+            double ratingScore = rating != null ? rating.doubleValue() : 3.5;
+            double maintenanceScore = toMaintenanceScore(avgResponseTime);
+            double behaviorScore = toBehaviorScore(flaggedProperties);
+
+            stats.add(LandlordStats.builder()
+                    .landlordId(landlordId)
+                    .ratingScore(ratingScore)
+                    .maintenanceScore(maintenanceScore)
+                    .behaviorScore(behaviorScore)
+                    .overallScore(toOverallScore(ratingScore, maintenanceScore, behaviorScore))
+                    .completedLeases(completed != null ? completed.intValue() : 0)
+                    .avgMaintenanceResponseTime(avgResponseTime)
+                    .flaggedProperties(flaggedProperties)
+                    .lastUpdated(now)
+                    .build());
+        }
+
+        landlordStatsBatchWriter.upsertAll(stats);
+        return stats.size();
+    }
+
+    private Map<Long, Number> toMap(List<LandlordAggregate> aggregates) {
+        return aggregates.stream()
+                .filter(a -> a.getValue() != null)
+                .collect(Collectors.toMap(LandlordAggregate::getLandlordId, LandlordAggregate::getValue));
+    }
+
     public double calculateLandlordScore(Long landlordId) {
         double ratingScore = getRatingScore(landlordId);
         double maintenanceScore = getMaintenanceScore(landlordId);
         double behaviorScore = getAppBehaviorScore(landlordId);
         
-        return (
-                (ratingScore * WEIGHT_RATING) +
-                        (maintenanceScore * WEIGHT_MAINTENANCE) +
-                        (behaviorScore * WEIGHT_BEHAVIOR)
-        );
+        return toOverallScore(ratingScore, maintenanceScore, behaviorScore);
     }
 
     public double getRatingScore(Long landlordId) {
@@ -88,9 +140,20 @@ public class LandlordScoreService {
     }
 
     public double getMaintenanceScore(Long landlordId) {
+        return toMaintenanceScore(calculateAvgResponseTime(landlordId));
+    }
 
-        long avgHours = calculateAvgResponseTime(landlordId);
+    public double getAppBehaviorScore(Long landlordId) {
+        return toBehaviorScore(propertyRepository.countFlaggedPropertiesByOwnerId(landlordId));
+    }
+
+    private double toOverallScore(double ratingScore, double maintenanceScore, double behaviorScore) {
+        return (ratingScore * WEIGHT_RATING)
+                + (maintenanceScore * WEIGHT_MAINTENANCE)
+                + (behaviorScore * WEIGHT_BEHAVIOR);
+    }
 
+    private double toMaintenanceScore(long avgHours) {
         if (avgHours == 0) return 5.0;
 
         if (avgHours <= 24) return 5.0;
@@ -101,8 +164,7 @@ public class LandlordScoreService {
     }
 
 
-    public double getAppBehaviorScore(Long landlordId) {
-        int badFlags = propertyRepository.countFlaggedPropertiesByOwnerId(landlordId);
+    private double toBehaviorScore(int badFlags) {
         return switch (badFlags) {
             case 0, 1 -> 5.0;
             case 2 -> 4.0;
@@ -113,19 +175,8 @@ public class LandlordScoreService {
     }
 
     public long calculateAvgResponseTime(Long landlordId) {
-        List<Property> properties = propertyRepository.findPropertyByOwnerUserId(landlordId);
-        List<Long> propertyIds = properties.stream().map(Property::getPropertyId).toList();
-
-        List<MaintenanceRequest> requests = maintenanceRequestRepository.findByPropertyIds(propertyIds).stream()
-                .filter(r -> r.getStatus() == MaintenanceStatus.COMPLETED)
-                .toList();
-
-        if (requests.isEmpty()) return 0;
-
-        return Math.round(requests.stream()
-                .mapToLong(r -> ChronoUnit.HOURS.between(r.getCreatedAt(), r.getUpdatedAt()))
-                .average()
-                .orElse(0));
+        Double avgHours = maintenanceRequestRepository.averageResponseHoursForLandlord(landlordId);
+        return avgHours != null ? Math.round(avgHours) : 0;
     }
 
 }
@@ -0,0 +1,64 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.LandlordStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class LandlordStatsBatchWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPDATE_SQL = """
+            UPDATE landlord_stats
+            SET rating_score = ?, maintenance_score = ?, behavior_score = ?, overall_score = ?,
+                completed_leases = ?, avg_maintenance_response_time = ?, flagged_properties = ?,
+                last_updated = ?, version = COALESCE(version, 0) + 1
+            WHERE landlord_id = ?
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO landlord_stats
+                (rating_score, maintenance_score, behavior_score, overall_score, completed_leases,
+                 avg_maintenance_response_time, flagged_properties, last_updated, landlord_id, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsertAll(List<LandlordStats> stats) {
+        Set<Long> existingIds = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT landlord_id FROM landlord_stats", Long.class));
+
+        List<LandlordStats> updates = stats.stream()
+                .filter(s -> existingIds.contains(s.getLandlordId()))
+                .toList();
+        List<LandlordStats> inserts = stats.stream()
+                .filter(s -> !existingIds.contains(s.getLandlordId()))
+                .toList();
+
+        jdbcTemplate.batchUpdate(UPDATE_SQL, updates, BATCH_SIZE, this::bindStats);
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts, BATCH_SIZE, this::bindStats);
+    }
+
+    private void bindStats(PreparedStatement ps, LandlordStats s) throws SQLException {
+        ps.setDouble(1, s.getRatingScore());
+        ps.setDouble(2, s.getMaintenanceScore());
+        ps.setDouble(3, s.getBehaviorScore());
+        ps.setDouble(4, s.getOverallScore());
+        ps.setInt(5, s.getCompletedLeases());
+        ps.setLong(6, s.getAvgMaintenanceResponseTime());
+        ps.setInt(7, s.getFlaggedProperties());
+        ps.setTimestamp(8, Timestamp.valueOf(s.getLastUpdated()));
+        ps.setLong(9, s.getLandlordId());
+    }
+}
@@ -0,0 +1,64 @@
+package com.immobile.real_estate_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes payment attempts per lease inside this process. Lease ids hash onto a fixed
+ * number of lock stripes, so there is no global lock and no per-lease lock map to grow;
+ * two leases only contend when they share a stripe. A caller that cannot get its stripe
+ * within the timeout receives a 409 instead of queueing. Across instances the unique
+ * (lease, cycle) constraint on payments is what guarantees a single payment per cycle.
+ */
+@Component
+@Slf4j
+public class LeasePaymentLocks {
+
+    private final ReentrantLock[] stripes;
+    private final Duration acquireTimeout;
+
+    public LeasePaymentLocks(@Value("${payment.lock.stripes:64}") int stripes,
+                             @Value("${payment.lock.acquire-timeout:2s}") Duration acquireTimeout) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public <T> T withLock(Long leaseId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(leaseId);
+        acquire(lock, leaseId);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    ReentrantLock stripeFor(Long leaseId) {
+        // Spread sequential ids so neighbouring leases land on different stripes
+        int hash = Long.hashCode(leaseId) * 0x9E3779B9;
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+
+    private void acquire(ReentrantLock lock, Long leaseId) {
+        try {
+            if (!lock.tryLock(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Rejected payment for lease {} after waiting {} for its lock", leaseId, acquireTimeout);
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "A payment for this lease is already in progress");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Payment interrupted", e);
+        }
+    }
+}
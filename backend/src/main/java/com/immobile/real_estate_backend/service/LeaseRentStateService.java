@@ -0,0 +1,135 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.Lease;
+import com.immobile.real_estate_backend.model.entity.LeaseRentState;
+import com.immobile.real_estate_backend.repository.LeaseRentStateRepository;
+import com.immobile.real_estate_backend.repository.LeaseRepository;
+import com.immobile.real_estate_backend.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class LeaseRentStateService {
+
+    private final LeaseRentStateRepository leaseRentStateRepository;
+    private final LeaseRepository leaseRepository;
+    private final PaymentRepository paymentRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public LeaseRentStateService(LeaseRentStateRepository leaseRentStateRepository,
+                                 LeaseRepository leaseRepository,
+                                 PaymentRepository paymentRepository,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${lease-rent-state.chunk-size:500}") int chunkSize) {
+        this.leaseRentStateRepository = leaseRentStateRepository;
+        this.leaseRepository = leaseRepository;
+        this.paymentRepository = paymentRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional
+    public void recordPayment(Lease lease, LocalDate paymentDate) {
+        LocalDate today = LocalDate.now();
+        LeaseRentState state = leaseRentStateRepository.findById(lease.getLeaseId()).orElse(null);
+
+        if (state == null) {
+            refresh(lease);
+            return;
+        }
+
+        state.recordPayment(paymentDate, lease.getStartDate(), today);
+        leaseRentStateRepository.save(state);
+    }
+
+    @Transactional
+    public void refresh(Lease lease) {
+        LocalDate latestPaidDate = paymentRepository
+                .findLatestCompletedPaymentDates(List.of(lease.getLeaseId())).stream()
+                .map(PaymentRepository.LatestPayment::getLatestPaymentDate)
+                .findFirst()
+                .orElse(null);
+
+        LeaseRentState state = leaseRentStateRepository.findById(lease.getLeaseId())
+                .orElse(LeaseRentState.builder().lease(lease).build());
+
+        state.setLatestPaidDate(latestPaidDate);
+        state.recalculate(lease.getStartDate(), LocalDate.now());
+        leaseRentStateRepository.save(state);
+    }
+
+    /**
+     * Recalculates the rent state of every lease with a start date. Leases are read in
+     * keyset-ordered chunks of lease ids, each refreshed in its own transaction with the
+     * persistence context cleared afterwards, so memory stays bounded by one chunk.
+     * Returns the number of leases refreshed.
+     */
+    public int refreshAll() {
+        LocalDate today = LocalDate.now();
+        long afterId = 0;
+        int total = 0;
+        while (true) {
+            long from = afterId;
+            ChunkResult result = transactionTemplate.execute(status -> refreshChunk(from, today));
+            if (result == null || result.lastId() == null) {
+                break;
+            }
+            afterId = result.lastId();
+            total += result.size();
+            if (result.size() < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private ChunkResult refreshChunk(long afterId, LocalDate today) {
+        List<Lease> leases = leaseRepository.findWithStartDatesAfter(afterId, Limit.of(chunkSize));
+        if (leases.isEmpty()) {
+            return new ChunkResult(0, null);
+        }
+        List<Long> leaseIds = leases.stream().map(Lease::getLeaseId).toList();
+
+        Map<Long, LeaseRentState> existing = leaseRentStateRepository.findAllById(leaseIds).stream()
+                .collect(Collectors.toMap(LeaseRentState::getLeaseId, Function.identity()));
+        Map<Long, LocalDate> latestPaidDates = paymentRepository.findLatestCompletedPaymentDates(leaseIds).stream()
+                .collect(Collectors.toMap(
+                        PaymentRepository.LatestPayment::getLeaseId,
+                        PaymentRepository.LatestPayment::getLatestPaymentDate));
+
+        List<LeaseRentState> updated = new ArrayList<>(leases.size());
+        for (Lease lease : leases) {
+            LeaseRentState state = existing.get(lease.getLeaseId());
+            if (state == null) {
+                state = LeaseRentState.builder().lease(lease).build();
+            }
+            state.setLatestPaidDate(latestPaidDates.get(lease.getLeaseId()));
+            state.recalculate(lease.getStartDate(), today);
+            updated.add(state);
+        }
+
+        leaseRentStateRepository.saveAll(updated);
+        entityManager.flush();
+        entityManager.clear();
+        return new ChunkResult(leases.size(), leases.get(leases.size() - 1).getLeaseId());
+    }
+
+    private record ChunkResult(int size, Long lastId) {
+    }
+}
@@ -1,9 +1,8 @@
 package com.immobile.real_estate_backend.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.immobile.real_estate_backend.model.converter.LeaseConverter;
 import com.immobile.real_estate_backend.model.dto.AccountInvitationDTO;
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import com.immobile.real_estate_backend.model.dto.LeaseDTO;
 import com.immobile.real_estate_backend.model.dto.LeaseRequestDTO;
 import com.immobile.real_estate_backend.model.entity.*;
@@ -14,13 +13,13 @@ import com.immobile.real_estate_backend.repository.*;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -28,13 +27,14 @@ import java.util.stream.Collectors;
 public class LeaseService {
 
     private final LeaseRepository leaseRepository;
-    private final ObjectMapper objectMapper;
-    private final ActivityLogRepository activityLogRepository;
+    private final ActivityLogWriter activityLogWriter;
     private final UserRepository userRepository;
     private final PropertyRepository propertyRepository;
     private final PropertyService propertyService;
     private final LeaseConverter leaseConverter;
     private final EmailService emailService;
+    private final TenantScoreService tenantScoreService;
+    private final BillingCycleService billingCycleService;
 
     public LeaseDTO getLeaseByTenantEmail(String email) {
         Optional<User> userOpt = userRepository.findByEmail(email);
@@ -58,9 +58,7 @@ public class LeaseService {
         User owner = userOpt.get();
         List<Lease> leases = leaseRepository.findByPropertyOwner(owner);
 
-        return leases.stream()
-                .map(leaseConverter::toLeaseDTO)
-                .collect(Collectors.toList());
+        return leaseConverter.toLeaseDTOs(leases);
     }
 
     @Transactional
@@ -71,27 +69,12 @@ public class LeaseService {
         Lease lease = leaseConverter.toLease(leaseDTO);
 
         Lease savedLease = leaseRepository.save(lease);
+        LeaseDTO savedLeaseDTO = leaseConverter.toLeaseDTO(savedLease);
 
+        activityLogWriter.record(ActivityLogEvent.of(savedLease.getProperty().getOwner(), "CREATE_LEASE", "Lease",
+                savedLease.getLeaseId(), savedLeaseDTO));
 
-        try {
-
-            ActivityLog logEntry = ActivityLog.builder()
-                    .user(savedLease.getProperty().getOwner())
-                    .actionType("CREATE_LEASE")
-                    .entityType("Lease")
-                    .entityId((savedLease.getLeaseId()))
-                    .details(objectMapper.writeValueAsString(leaseConverter.toLeaseDTO(savedLease)))
-                    .build();
-
-            activityLogRepository.save(logEntry);
-
-        }
-        catch (JsonProcessingException e) {
-            log.error(e.getMessage());
-            throw new RuntimeException("Lease creation failed");
-
-        }
-        return leaseConverter.toLeaseDTO(savedLease);
+        return savedLeaseDTO;
 
     }
 
@@ -113,6 +96,7 @@ public class LeaseService {
     }
 
 
+    @Transactional
     public void sendLeaseInvitationOnly(LeaseRequestDTO request) {
         Property property = propertyRepository.findById(request.getPropertyId())
                 .orElseThrow(() -> new RuntimeException("Property not found"));
@@ -128,14 +112,17 @@ public class LeaseService {
 
     }
 
-    public List<Lease> getAllLeases() {
-        return leaseRepository.findAll();
-    }
-
-    public List<LeaseDTO> getAllLeasesDTO() {
-        return getAllLeases().stream()
-                .map(leaseConverter::toLeaseDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<LeaseDTO> getLeasesPage(String cursor, int limit) {
+        Limit queryLimit = KeysetCursor.queryLimit(limit);
+        List<Lease> leases;
+        if (cursor == null) {
+            leases = leaseRepository.findFirstPage(queryLimit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            leases = leaseRepository.findPageAfter(after.sortKeyAsDate(), after.id(), queryLimit);
+        }
+        return KeysetCursor.page(leases, limit, Lease::getStartDate, Lease::getLeaseId,
+                leaseConverter::toLeaseDTOs);
     }
 
 
@@ -146,6 +133,12 @@ public class LeaseService {
 
         lease.setStatus(status);
         leaseRepository.save(lease);
+        if (status == LeaseStatus.ACTIVE) {
+            billingCycleService.generateCycles(lease);
+        } else if (status == LeaseStatus.TERMINATED) {
+            billingCycleService.closeCycles(lease, LocalDate.now());
+        }
+        markTenantDirty(lease);
 
         return leaseConverter.toLeaseDTO(lease);
     }
@@ -168,24 +161,28 @@ public class LeaseService {
         if (decision == LeaseTerminationStatus.APPROVED) {
             lease.setStatus(LeaseStatus.TERMINATED);
             propertyService.updatePropertyStatus(lease.getProperty().getPropertyId(), PropertyStatus.RENTED);
+            billingCycleService.closeCycles(lease, LocalDate.now());
+            markTenantDirty(lease);
         }
 
         leaseRepository.save(lease);
         return leaseConverter.toLeaseDTO(lease);
     }
 
+    private void markTenantDirty(Lease lease) {
+        if (lease.getTenant() != null) {
+            tenantScoreService.markTenantDirty(lease.getTenant().getUserId());
+        }
+    }
+
     public List<LeaseDTO> getPendingTerminations() {
-        return leaseRepository.findAllByLeaseTerminationStatus(LeaseTerminationStatus.PENDING)
-                .stream()
-                .map(leaseConverter::toLeaseDTO)
-                .toList();
+        List<Lease> leases = leaseRepository.findAllByLeaseTerminationStatus(LeaseTerminationStatus.PENDING);
+        return leaseConverter.toLeaseDTOs(leases);
     }
 
     public List<LeaseDTO> findPendingLeases() {
-        return leaseRepository.findAllByStatus(LeaseStatus.PENDING)
-                .stream()
-                .map(leaseConverter::toLeaseDTO)
-                .toList();
+        List<Lease> leases = leaseRepository.findAllByStatus(LeaseStatus.PENDING);
+        return leaseConverter.toLeaseDTOs(leases);
     }
 
 
@@ -213,16 +210,12 @@ public class LeaseService {
     }
 
     public List<LeaseDTO> getActiveLeasesDTO(Long userId) {
-        return getActiveLeases(userId).stream()
-                .map(leaseConverter::toLeaseDTO)
-                .collect(Collectors.toList());
+        return leaseConverter.toLeaseDTOs(getActiveLeases(userId));
     }
 
     public List<LeaseDTO> getLeaseTrends() {
         List<Lease> leases = leaseRepository.findAllWithStartDates();
-        return leases.stream()
-                .map(leaseConverter::toLeaseDTO)
-                .toList();
+        return leaseConverter.toLeaseDTOs(leases);
     }
 
     public boolean tenantHasAnyLease(String tenantEmail) {
@@ -255,9 +248,7 @@ public class LeaseService {
             User tenant = userOpt.get();
             List<Lease> tenantLeases = leaseRepository.findAllByTenant(tenant);
 
-            return tenantLeases.stream()
-                    .map(leaseConverter::toLeaseDTO)
-                    .collect(Collectors.toList());
+            return leaseConverter.toLeaseDTOs(tenantLeases);
 
         } catch (Exception e) {
             log.error("Error fetching all leases for tenant {}: {}", tenantEmail, e.getMessage(), e);
@@ -275,9 +266,7 @@ public class LeaseService {
             User tenant = userOpt.get();
             List<Lease> terminatedLeases = leaseRepository.findAllByTenantAndStatus(tenant, LeaseStatus.TERMINATED);
 
-            return terminatedLeases.stream()
-                    .map(leaseConverter::toLeaseDTO)
-                    .collect(Collectors.toList());
+            return leaseConverter.toLeaseDTOs(terminatedLeases);
 
         } catch (Exception e) {
             log.error("Error fetching terminated leases for tenant {}: {}", tenantEmail, e.getMessage(), e);
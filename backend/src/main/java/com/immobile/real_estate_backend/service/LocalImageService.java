@@ -23,6 +23,8 @@ public class LocalImageService {
     private final ImageRepository imageRepository;
     private final PropertyRepository propertyRepository;
     private final MaintenanceRequestRepository maintenanceRequestRepository;
+    private final ImageStorage imageStorage;
+    private final ImageRenditionService imageRenditionService;
 
     @Transactional
     public void loadDemoImagesFromLocal() {
@@ -33,13 +35,14 @@ public class LocalImageService {
                 String fileName = entry.getKey();
                 DemoImageInfo info = entry.getValue();
 
-                byte[] imageBytes = loadImageFromResources(info.resourcePath);
+                ImageStorage.StoredContent stored = storeImageFromResources(info.resourcePath);
 
-                if (imageBytes != null) {
+                if (stored != null) {
                     Image image = Image.builder()
                             .name(fileName)
                             .contentType("image/jpeg")
-                            .content(imageBytes)
+                            .contentHash(stored.contentHash())
+                            .size(stored.size())
                             .build();
 
                     if (info.propertyId != null) {
@@ -53,6 +56,7 @@ public class LocalImageService {
                     }
 
                     imageRepository.save(image);
+                    imageRenditionService.requestRenditions(stored.contentHash());
                     log.info("Loaded local demo image: {}", fileName);
                 } else {
                     log.warn("Failed to load image: {}", fileName);
@@ -98,12 +102,12 @@ public class LocalImageService {
         return imageFiles;
     }
 
-    private byte[] loadImageFromResources(String resourcePath) {
+    private ImageStorage.StoredContent storeImageFromResources(String resourcePath) {
         try {
             ClassPathResource resource = new ClassPathResource(resourcePath);
             if (resource.exists()) {
                 try (InputStream inputStream = resource.getInputStream()) {
-                    return inputStream.readAllBytes();
+                    return imageStorage.store(inputStream);
                 }
             } else {
                 log.warn("Image resource not found: {}", resourcePath);
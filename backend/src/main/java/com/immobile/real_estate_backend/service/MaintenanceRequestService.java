@@ -1,19 +1,17 @@
 package com.immobile.real_estate_backend.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.immobile.real_estate_backend.model.converter.MaintenanceRequestConverter;
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import com.immobile.real_estate_backend.model.dto.MaintenanceRequestDTO;
 import com.immobile.real_estate_backend.model.entity.*;
 import com.immobile.real_estate_backend.model.enums.MaintenanceStatus;
-import com.immobile.real_estate_backend.model.enums.NotificationStatus;
 import com.immobile.real_estate_backend.model.enums.NotificationType;
 import com.immobile.real_estate_backend.repository.LeaseRepository;
 import com.immobile.real_estate_backend.repository.MaintenanceRequestRepository;
-import com.immobile.real_estate_backend.repository.ActivityLogRepository;
 import com.immobile.real_estate_backend.repository.UserRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,7 +21,6 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -33,15 +30,25 @@ public class MaintenanceRequestService {
     private final LeaseRepository leaseRepository;
     private final MaintenanceRequestConverter maintenanceRequestConverter;
     private final UserRepository userRepository;
-    private final NotificationService notificationService;
-    private final ActivityLogRepository activityLogRepository;
-    private final ObjectMapper objectMapper;
-
-    public List<MaintenanceRequestDTO> getAllRequests() {
-        return maintenanceRequestRepository.findAll()
-                .stream()
-                .map(maintenanceRequestConverter::toMaintenanceRequestDTO)
-                .collect(Collectors.toList());
+    private final OutboxService outboxService;
+    private final ActivityLogWriter activityLogWriter;
+    private final ImageService imageService;
+
+    public CursorPageDTO<MaintenanceRequestDTO> getRequestsPage(String cursor, int limit) {
+        Limit queryLimit = KeysetCursor.queryLimit(limit);
+        List<MaintenanceRequest> requests;
+        if (cursor == null) {
+            requests = maintenanceRequestRepository.findFirstPage(queryLimit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            requests = maintenanceRequestRepository.findPageAfter(after.sortKeyAsDateTime(), after.id(), queryLimit);
+        }
+        return KeysetCursor.page(requests, limit, MaintenanceRequest::getCreatedAt, MaintenanceRequest::getRequestId,
+                maintenanceRequestConverter::toMaintenanceRequestDTOs);
+    }
+
+    public long countRequests() {
+        return maintenanceRequestRepository.count();
     }
 
 
@@ -60,12 +67,7 @@ public class MaintenanceRequestService {
         if (images != null) {
             for (MultipartFile file : images) {
                 if (!file.isEmpty()) {
-                    Image image = Image.builder()
-                            .name(file.getOriginalFilename())
-                            .content(file.getBytes())
-                            .contentType(file.getContentType())
-                            .maintenanceRequest(request)
-                            .build();
+                    Image image = imageService.newImage(file);
                     request.addImage(image);
                 }
             }
@@ -79,15 +81,8 @@ public class MaintenanceRequestService {
                             ? requestDTO.getDescription().substring(0, 50) + "..."
                             : requestDTO.getDescription());
 
-            Notification notification = Notification.builder()
-                    .user(landlord)
-                    .title("New Maintenance Request")
-                    .message(notificationMessage)
-                    .type(NotificationType.MAINTENANCE)
-                    .status(NotificationStatus.UNREAD)
-                    .build();
-
-            notificationService.createNotification(notification);
+            outboxService.enqueueNotification(landlord, "New Maintenance Request", notificationMessage,
+                    NotificationType.MAINTENANCE);
 
         } catch (Exception e) {
             log.error("Failed to create notification for maintenance request", e);
@@ -95,24 +90,12 @@ public class MaintenanceRequestService {
 
         MaintenanceRequest savedRequest = maintenanceRequestRepository.save(request);
 
-        try {
-            ActivityLog logEntry = ActivityLog.builder()
-                    .user(lease.getTenant())
-                    .actionType("CREATE_MAINTENANCE_REQUEST")
-                    .entityType("MaintenanceRequest")
-                    .entityId(savedRequest.getRequestId())
-                    .details(objectMapper.writeValueAsString(
-                            maintenanceRequestConverter.toMaintenanceRequestDTO(savedRequest)))
-                    .build();
-
-            activityLogRepository.save(logEntry);
-            log.info("Maintenance request created for property {}", lease.getProperty().getAddress());
-
-        } catch (JsonProcessingException e) {
-            log.error("Failed to log maintenance request creation: {}", e.getMessage());
-        }
+        MaintenanceRequestDTO savedRequestDTO = maintenanceRequestConverter.toMaintenanceRequestDTO(savedRequest);
+        activityLogWriter.record(ActivityLogEvent.of(lease.getTenant(), "CREATE_MAINTENANCE_REQUEST",
+                "MaintenanceRequest", savedRequest.getRequestId(), savedRequestDTO));
+        log.info("Maintenance request created for property {}", lease.getProperty().getAddress());
 
-        return maintenanceRequestConverter.toMaintenanceRequestDTO(savedRequest);
+        return savedRequestDTO;
     }
 
     public List<MaintenanceRequestDTO> getRequestsByOwnerEmail(String email) {
@@ -122,9 +105,7 @@ public class MaintenanceRequestService {
         List<MaintenanceRequest> requests = maintenanceRequestRepository
                 .findAllByLeasePropertyOwnerUserId(owner.getUserId());
 
-        return requests.stream()
-                .map(maintenanceRequestConverter::toMaintenanceRequestDTO)
-                .collect(Collectors.toList());
+        return maintenanceRequestConverter.toMaintenanceRequestDTOs(requests);
     }
 
     @Transactional
@@ -140,36 +121,21 @@ public class MaintenanceRequestService {
 
         MaintenanceRequest updatedRequest = maintenanceRequestRepository.save(request);
 
-        try {
-            ActivityLog logEntry = ActivityLog.builder()
-                    .user(request.getLease().getTenant())
-                    .actionType("MARK_MAINTENANCE_NOT_FIXED")
-                    .entityType("MaintenanceRequest")
-                    .entityId(updatedRequest.getRequestId())
-                    .details(String.format("{\"requestId\":%d,\"description\":\"%s\"}",
-                            requestId, request.getDescription()))
-                    .build();
-
-            activityLogRepository.save(logEntry);
-            log.info("Maintenance request {} marked as not fixed by tenant", requestId);
-
-        } catch (Exception e) {
-            log.error("Failed to log maintenance not fixed update: {}", e.getMessage());
-        }
+        activityLogWriter.record(ActivityLogEvent.of(request.getLease().getTenant(), "MARK_MAINTENANCE_NOT_FIXED",
+                "MaintenanceRequest", updatedRequest.getRequestId(),
+                String.format("{\"requestId\":%d,\"description\":\"%s\"}",
+                        requestId, request.getDescription())));
+        log.info("Maintenance request {} marked as not fixed by tenant", requestId);
 
         try {
-            Notification notification = Notification.builder()
-                    .user(request.getLease().getProperty().getOwner())
-                    .title("Maintenance Not Fixed")
-                    .message(String.format("Tenant reported that maintenance request for '%s' is not actually fixed",
+            outboxService.enqueueNotification(
+                    request.getLease().getProperty().getOwner(),
+                    "Maintenance Not Fixed",
+                    String.format("Tenant reported that maintenance request for '%s' is not actually fixed",
                             request.getDescription().length() > 50
                                     ? request.getDescription().substring(0, 50) + "..."
-                                    : request.getDescription()))
-                    .type(NotificationType.MAINTENANCE)
-                    .status(NotificationStatus.UNREAD)
-                    .build();
-
-            notificationService.createNotification(notification);
+                                    : request.getDescription()),
+                    NotificationType.MAINTENANCE);
         } catch (Exception e) {
             log.error("Failed to create not fixed notification", e);
         }
@@ -193,32 +159,17 @@ public class MaintenanceRequestService {
 
         MaintenanceRequest updatedRequest = maintenanceRequestRepository.save(request);
 
-        try {
-            ActivityLog logEntry = ActivityLog.builder()
-                    .user(request.getLease().getProperty().getOwner())
-                    .actionType("UPDATE_MAINTENANCE_STATUS")
-                    .entityType("MaintenanceRequest")
-                    .entityId(updatedRequest.getRequestId())
-                    .details(String.format("{\"oldStatus\":\"%s\",\"newStatus\":\"%s\",\"isFixed\":%b}",
-                            oldStatus, status, request.getIsFixed()))
-                    .build();
-
-            activityLogRepository.save(logEntry);
-
-        } catch (Exception e) {
-            log.error("Failed to log maintenance status update: {}", e.getMessage());
-        }
+        activityLogWriter.record(ActivityLogEvent.of(request.getLease().getProperty().getOwner(),
+                "UPDATE_MAINTENANCE_STATUS", "MaintenanceRequest", updatedRequest.getRequestId(),
+                String.format("{\"oldStatus\":\"%s\",\"newStatus\":\"%s\",\"isFixed\":%b}",
+                        oldStatus, status, request.getIsFixed())));
 
         try {
-            Notification notification = Notification.builder()
-                    .user(request.getLease().getTenant())
-                    .title("Maintenance Request Update")
-                    .message(String.format("Your maintenance request status changed to %s", status))
-                    .type(NotificationType.MAINTENANCE)
-                    .status(NotificationStatus.UNREAD)
-                    .build();
-
-            notificationService.createNotification(notification);
+            outboxService.enqueueNotification(
+                    request.getLease().getTenant(),
+                    "Maintenance Request Update",
+                    String.format("Your maintenance request status changed to %s", status),
+                    NotificationType.MAINTENANCE);
         } catch (Exception e) {
             log.error("Failed to create status change notification", e);
         }
@@ -227,16 +178,12 @@ public class MaintenanceRequestService {
     }
     public List<MaintenanceRequestDTO> getRequestsByLease(Long leaseId) {
         List<MaintenanceRequest> requests = maintenanceRequestRepository.findByLeaseLeaseId(leaseId);
-        return requests.stream()
-                .map(maintenanceRequestConverter::toMaintenanceRequestDTO)
-                .collect(Collectors.toList());
+        return maintenanceRequestConverter.toMaintenanceRequestDTOs(requests);
     }
 
     public List<MaintenanceRequestDTO> getRequestsByPropertyOwner(Long ownerId) {
         List<MaintenanceRequest> ownerRequests = maintenanceRequestRepository.findByPropertyOwnerId(ownerId);
-        return ownerRequests.stream()
-                .map(maintenanceRequestConverter::toMaintenanceRequestDTO)
-                .collect(Collectors.toList());
+        return maintenanceRequestConverter.toMaintenanceRequestDTOs(ownerRequests);
     }
 
     public MaintenanceRequestDTO setCost(Long requestId, BigDecimal cost) {
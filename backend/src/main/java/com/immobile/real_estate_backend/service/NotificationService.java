@@ -1,6 +1,7 @@
 package com.immobile.real_estate_backend.service;
 
 import com.immobile.real_estate_backend.model.converter.NotificationConverter;
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import com.immobile.real_estate_backend.model.dto.NotificationDTO;
 import com.immobile.real_estate_backend.model.entity.Notification;
 import com.immobile.real_estate_backend.model.entity.User;
@@ -9,6 +10,7 @@ import com.immobile.real_estate_backend.repository.NotificationRepository;
 import com.immobile.real_estate_backend.repository.UserRepository;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,15 +24,18 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final NotificationConverter notificationConverter;
     private final UserRepository userRepository;
+    private final NotificationUnreadCounter notificationUnreadCounter;
 
     public void createNotification(Notification notification) {
 
         notificationRepository.save(notification);
+        evictUnreadCount(notification);
     }
 
     public NotificationDTO createNotification(NotificationDTO notificationDTO) {
         Notification notification = notificationConverter.toNotification(notificationDTO);
         notificationRepository.save(notification);
+        notificationUnreadCounter.evictAfterCommit(notificationDTO.getUserId());
         return notificationDTO;
     }
 
@@ -43,6 +48,7 @@ public class NotificationService {
         notification.setStatus(NotificationStatus.READ);
 
         Notification updatedNotification = notificationRepository.save(notification);
+        evictUnreadCount(notification);
         return notificationConverter.toNotificationDTO(updatedNotification);
     }
 
@@ -56,17 +62,20 @@ public class NotificationService {
 
     @Transactional
     public int markAllNotificationsAsRead(Long userId) {
+        int updated = notificationRepository.markAllReadByUserId(userId);
+        notificationUnreadCounter.evictAfterCommit(userId);
+        return updated;
+    }
 
-        List<Notification> unreadNotifications = notificationRepository
-                .findUnreadByUserId(userId);
+    public long getUnreadCount(Long userId) {
+        return notificationUnreadCounter.get(userId);
+    }
 
-        unreadNotifications.forEach(notification -> {
-            notification.setRead(true);
-            notification.setStatus(NotificationStatus.READ);
-        });
+    public long getUnreadCountByEmail(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
 
-        notificationRepository.saveAll(unreadNotifications);
-        return unreadNotifications.size();
+        return getUnreadCount(user.getUserId());
     }
 
     public Notification getNotification(Long id) {
@@ -84,17 +93,25 @@ public class NotificationService {
                 .collect(Collectors.toList());
     }
 
-
-    public List<Notification> getAllNotifications() {
-        return notificationRepository.findAll();
-    }
-
-    public List<NotificationDTO> getAllNotificationsDTO() {
-        return getAllNotifications().stream()
+    public List<NotificationDTO> getNotificationsByUserId(Long userId) {
+        return notificationRepository.findAllByUserId(userId).stream()
                 .map(notificationConverter::toNotificationDTO)
                 .collect(Collectors.toList());
     }
 
+    public CursorPageDTO<NotificationDTO> getNotificationsPage(String cursor, int limit) {
+        Limit queryLimit = KeysetCursor.queryLimit(limit);
+        List<Notification> notifications;
+        if (cursor == null) {
+            notifications = notificationRepository.findFirstPage(queryLimit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            notifications = notificationRepository.findPageAfter(after.sortKeyAsDateTime(), after.id(), queryLimit);
+        }
+        return KeysetCursor.page(notifications, limit, Notification::getCreatedAt, Notification::getNotificationId,
+                page -> page.stream().map(notificationConverter::toNotificationDTO).toList());
+    }
+
 
     public NotificationDTO getNotificationDTO(Long id) {
         Notification notification = getNotification(id);
@@ -102,7 +119,19 @@ public class NotificationService {
     }
 
 
+    @Transactional
     public void deleteNotificationById(Long id) {
-        notificationRepository.deleteById(id);
+        notificationRepository.findById(id).ifPresent(notification -> {
+            notificationRepository.delete(notification);
+            if (notification.getUser() != null) {
+                evictUnreadCount(notification);
+            }
+        });
+    }
+
+    private void evictUnreadCount(Notification notification) {
+        if (notification.getUser() != null) {
+            notificationUnreadCounter.evictAfterCommit(notification.getUser().getUserId());
+        }
     }
 }
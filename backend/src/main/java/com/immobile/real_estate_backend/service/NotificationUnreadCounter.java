@@ -0,0 +1,54 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user unread notification counts, loaded with an indexed COUNT on first use and
+ * dropped by every write path once its transaction commits. Loading runs inside
+ * {@code computeIfAbsent}, so an eviction that races a load waits for it and then removes
+ * the possibly stale value instead of being overwritten by it.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationUnreadCounter {
+
+    static final int MAX_ENTRIES = 10_000;
+
+    private final NotificationRepository notificationRepository;
+
+    private final Map<Long, Long> counts = new ConcurrentHashMap<>();
+
+    public long get(Long userId) {
+        if (counts.size() >= MAX_ENTRIES && !counts.containsKey(userId)) {
+            return notificationRepository.countUnreadByUserId(userId);
+        }
+        return counts.computeIfAbsent(userId, notificationRepository::countUnreadByUserId);
+    }
+
+    /**
+     * Drops the cached count for a user after the current transaction commits, or right
+     * away when there is none.
+     */
+    public void evictAfterCommit(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counts.remove(userId);
+                }
+            });
+        } else {
+            counts.remove(userId);
+        }
+    }
+}
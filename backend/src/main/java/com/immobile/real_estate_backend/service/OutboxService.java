@@ -0,0 +1,282 @@
+package com.immobile.real_estate_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.immobile.real_estate_backend.model.entity.OutboxMessage;
+import com.immobile.real_estate_backend.model.entity.User;
+import com.immobile.real_estate_backend.model.enums.NotificationStatus;
+import com.immobile.real_estate_backend.model.enums.NotificationType;
+import com.immobile.real_estate_backend.model.enums.OutboxMessageType;
+import com.immobile.real_estate_backend.model.enums.OutboxStatus;
+import com.immobile.real_estate_backend.repository.OutboxMessageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Transactional outbox for the side effects of domain actions. Services call the
+ * {@code enqueue*} methods inside their own transaction, so a notification or email only
+ * exists if the action committed. {@link #dispatchDue()} later delivers the pending rows:
+ * notifications are inserted in one JDBC batch together with marking them sent, emails are
+ * handed to a small worker pool. Failed deliveries are retried with exponential backoff
+ * until {@code outbox.max-attempts} is reached, after which the row is marked FAILED.
+ * <p>
+ * Due rows are claimed by pushing their next attempt past {@link #claimTimeout} under a
+ * fresh claim token, so a crash while sending means the message is retried (at-least-once
+ * for emails). Only as many emails are claimed as the pool can take; a worker renews the
+ * claim before sending and marks the email sent only while its token still holds, so an
+ * email that outwaited its claim in the queue is not sent twice.
+ */
+@Service
+@Slf4j
+public class OutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private static final String INSERT_NOTIFICATION_SQL = """
+            INSERT INTO notifications (user_id, title, message, type, status, created_at, is_read)
+            VALUES (?, ?, ?, ?, ?, ?, FALSE)
+            """;
+
+    public record NotificationPayload(Long userId, String title, String message, NotificationType type) {
+    }
+
+    public record EmailPayload(String to, String subject, String text) {
+    }
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final JavaMailSender mailSender;
+    private final NotificationUnreadCounter notificationUnreadCounter;
+    private final TaskExecutor outboxEmailExecutor;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+
+    public OutboxService(OutboxMessageRepository outboxMessageRepository,
+                         JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper,
+                         JavaMailSender mailSender,
+                         NotificationUnreadCounter notificationUnreadCounter,
+                         @Qualifier("outboxEmailExecutor") TaskExecutor outboxEmailExecutor,
+                         @Value("${outbox.batch-size:100}") int batchSize,
+                         @Value("${outbox.max-attempts:8}") int maxAttempts,
+                         @Value("${outbox.initial-backoff:30s}") Duration initialBackoff,
+                         @Value("${outbox.max-backoff:1h}") Duration maxBackoff,
+                         @Value("${outbox.claim-timeout:5m}") Duration claimTimeout) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.mailSender = mailSender;
+        this.notificationUnreadCounter = notificationUnreadCounter;
+        this.outboxEmailExecutor = outboxEmailExecutor;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+    }
+
+    @Transactional
+    public OutboxMessage enqueueNotification(User user, String title, String message, NotificationType type) {
+        return enqueue(OutboxMessageType.NOTIFICATION,
+                new NotificationPayload(user.getUserId(), title, message, type));
+    }
+
+    @Transactional
+    public OutboxMessage enqueueEmail(String to, String subject, String text) {
+        return enqueue(OutboxMessageType.EMAIL, new EmailPayload(to, subject, text));
+    }
+
+    private OutboxMessage enqueue(OutboxMessageType type, Object payload) {
+        try {
+            return outboxMessageRepository.save(OutboxMessage.builder()
+                    .type(type)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .status(OutboxStatus.PENDING)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize " + type + " outbox payload", e);
+        }
+    }
+
+    /**
+     * Claims up to one batch of due messages and delivers them. Returns how many were claimed,
+     * so callers can keep draining while the outbox is backed up.
+     */
+    public int dispatchDue() {
+        LocalDateTime now = LocalDateTime.now();
+        String claimToken = UUID.randomUUID().toString();
+        int emailCapacity = Math.min(batchSize, emailCapacity());
+        List<OutboxMessage> due = transactionTemplate.execute(status -> {
+            List<OutboxMessage> messages = new ArrayList<>(
+                    outboxMessageRepository.findDue(OutboxMessageType.NOTIFICATION, now, Limit.of(batchSize)));
+            if (emailCapacity > 0) {
+                messages.addAll(outboxMessageRepository.findDue(OutboxMessageType.EMAIL, now, Limit.of(emailCapacity)));
+            }
+            if (!messages.isEmpty()) {
+                outboxMessageRepository.claim(messages.stream().map(OutboxMessage::getId).toList(), claimToken,
+                        now.plus(claimTimeout));
+            }
+            return messages;
+        });
+        if (due == null || due.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxMessage> notifications = due.stream()
+                .filter(message -> message.getType() == OutboxMessageType.NOTIFICATION)
+                .toList();
+        if (!notifications.isEmpty()) {
+            deliverNotifications(notifications);
+        }
+        due.stream()
+                .filter(message -> message.getType() == OutboxMessageType.EMAIL)
+                .forEach(message -> submitEmail(message, claimToken));
+        return due.size();
+    }
+
+    // Free threads plus free queue slots; unknown executors are assumed to take a whole batch
+    private int emailCapacity() {
+        if (!(outboxEmailExecutor instanceof ThreadPoolTaskExecutor pool)) {
+            return batchSize;
+        }
+        ThreadPoolExecutor executor = pool.getThreadPoolExecutor();
+        return Math.max(0, executor.getQueue().remainingCapacity()
+                + executor.getMaximumPoolSize() - executor.getActiveCount());
+    }
+
+    private void submitEmail(OutboxMessage message, String claimToken) {
+        try {
+            outboxEmailExecutor.execute(() -> deliverEmail(message, claimToken));
+        } catch (TaskRejectedException e) {
+            log.warn("Outbox email queue is full, releasing message {} for the next run", message.getId());
+            outboxMessageRepository.releaseClaim(message.getId(), claimToken, LocalDateTime.now());
+        }
+    }
+
+    private void deliverNotifications(List<OutboxMessage> messages) {
+        try {
+            List<NotificationPayload> payloads = messages.stream()
+                    .map(message -> readPayload(message, NotificationPayload.class))
+                    .toList();
+            Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, payloads, batchSize, (ps, payload) -> {
+                    ps.setLong(1, payload.userId());
+                    ps.setString(2, payload.title());
+                    ps.setString(3, payload.message());
+                    ps.setString(4, payload.type().name());
+                    ps.setString(5, NotificationStatus.UNREAD.name());
+                    ps.setTimestamp(6, createdAt);
+                });
+                outboxMessageRepository.markSent(messages.stream().map(OutboxMessage::getId).toList(),
+                        LocalDateTime.now());
+                payloads.stream()
+                        .map(NotificationPayload::userId)
+                        .distinct()
+                        .forEach(notificationUnreadCounter::evictAfterCommit);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Delivering {} outbox notifications failed: {}", messages.size(), e.getMessage());
+            // Retry one by one so a single bad row cannot hold back the rest of the batch
+            messages.forEach(this::deliverNotification);
+        }
+    }
+
+    private void deliverNotification(OutboxMessage message) {
+        try {
+            NotificationPayload payload = readPayload(message, NotificationPayload.class);
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(INSERT_NOTIFICATION_SQL, payload.userId(), payload.title(), payload.message(),
+                        payload.type().name(), NotificationStatus.UNREAD.name(),
+                        Timestamp.valueOf(LocalDateTime.now()));
+                outboxMessageRepository.markSent(List.of(message.getId()), LocalDateTime.now());
+                notificationUnreadCounter.evictAfterCommit(payload.userId());
+            });
+        } catch (RuntimeException e) {
+            recordFailure(message, e);
+        }
+    }
+
+    private void deliverEmail(OutboxMessage message, String claimToken) {
+        LocalDateTime now = LocalDateTime.now();
+        if (outboxMessageRepository.renewClaim(message.getId(), claimToken, now, now.plus(claimTimeout)) == 0) {
+            log.info("Outbox email {} lost its claim while queued, leaving it to the newer claim", message.getId());
+            return;
+        }
+
+        try {
+            EmailPayload payload = readPayload(message, EmailPayload.class);
+            SimpleMailMessage mailMessage = new SimpleMailMessage();
+            mailMessage.setTo(payload.to());
+            mailMessage.setSubject(payload.subject());
+            mailMessage.setText(payload.text());
+            mailSender.send(mailMessage);
+            if (outboxMessageRepository.markSentIfClaimed(message.getId(), claimToken, LocalDateTime.now()) == 0) {
+                log.warn("Outbox email {} was sent after its claim expired", message.getId());
+            }
+        } catch (RuntimeException e) {
+            recordFailure(message, e);
+        }
+    }
+
+    private void recordFailure(OutboxMessage message, Exception e) {
+        int attempts = message.getAttempts() + 1;
+        String error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        if (attempts >= maxAttempts) {
+            log.error("Outbox {} message {} failed after {} attempts: {}",
+                    message.getType(), message.getId(), attempts, error);
+            outboxMessageRepository.markAttemptFailed(message.getId(), OutboxStatus.FAILED, attempts,
+                    LocalDateTime.now(), error);
+        } else {
+            Duration backoff = backoff(attempts);
+            log.warn("Outbox {} message {} failed (attempt {}), retrying in {}: {}",
+                    message.getType(), message.getId(), attempts, backoff, error);
+            outboxMessageRepository.markAttemptFailed(message.getId(), OutboxStatus.PENDING, attempts,
+                    LocalDateTime.now().plus(backoff), error);
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private <T> T readPayload(OutboxMessage message, Class<T> type) {
+        try {
+            return objectMapper.readValue(message.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.JobCheckpoint;
+import com.immobile.real_estate_backend.repository.JobCheckpointRepository;
+import com.immobile.real_estate_backend.repository.PaymentRepository;
+import com.immobile.real_estate_backend.repository.PaymentRepository.UnevaluatedPayment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills in {@code Payment.wasLate} for payments that have not been evaluated yet. Payments
+ * get their flag when they are written, so this only picks up leftovers (older rows, or
+ * leases that had no start date at the time), using the due day rule of the
+ * {@link BillingCalendar}.
+ * <p>
+ * The work is split into keyset-ordered chunks of payment ids. Each chunk reads a small
+ * projection (no entities), applies at most two set-based UPDATEs and moves the job
+ * checkpoint forward, all in its own transaction; the persistence context is cleared
+ * after every chunk. A run that dies halfway resumes after the last committed chunk, and
+ * the checkpoint is removed once a run reaches the end so the next one starts from the
+ * beginning.
+ */
+@Service
+@Slf4j
+public class PaymentLatenessService {
+
+    static final String JOB_NAME = "payment-lateness";
+
+    private final PaymentRepository paymentRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final TenantScoreService tenantScoreService;
+    private final BillingCalendar billingCalendar;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final Counter evaluated;
+    private final Counter markedLate;
+    private final Counter chunks;
+    private final Timer chunkTimer;
+    private final AtomicLong checkpoint = new AtomicLong();
+
+    public PaymentLatenessService(PaymentRepository paymentRepository,
+                                  JobCheckpointRepository jobCheckpointRepository,
+                                  TenantScoreService tenantScoreService,
+                                  BillingCalendar billingCalendar,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${payment-lateness.chunk-size:1000}") int chunkSize) {
+        this.paymentRepository = paymentRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.tenantScoreService = tenantScoreService;
+        this.billingCalendar = billingCalendar;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+
+        this.evaluated = meterRegistry.counter("payment_lateness.evaluated");
+        this.markedLate = meterRegistry.counter("payment_lateness.marked_late");
+        this.chunks = meterRegistry.counter("payment_lateness.chunks");
+        this.chunkTimer = meterRegistry.timer("payment_lateness.chunk");
+        meterRegistry.gauge("payment_lateness.checkpoint", checkpoint);
+    }
+
+    /**
+     * Evaluates every unevaluated payment, chunk by chunk. Returns the number of payments
+     * that received a lateness flag in this run.
+     */
+    public long evaluateAll() {
+        long afterId = jobCheckpointRepository.findById(JOB_NAME)
+                .map(JobCheckpoint::getLastId)
+                .orElse(0L);
+        if (afterId > 0) {
+            log.info("Resuming payment lateness evaluation after payment {}", afterId);
+        }
+        checkpoint.set(afterId);
+
+        long total = 0;
+        while (true) {
+            long from = afterId;
+            ChunkResult result = chunkTimer.record(() -> transactionTemplate.execute(status -> evaluateChunk(from)));
+            if (result == null || result.lastId() == null) {
+                break;
+            }
+            afterId = result.lastId();
+            checkpoint.set(afterId);
+            total += result.updated();
+            chunks.increment();
+            if (result.size() < chunkSize) {
+                break;
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> jobCheckpointRepository.deleteById(JOB_NAME));
+        checkpoint.set(0);
+        return total;
+    }
+
+    private ChunkResult evaluateChunk(long afterId) {
+        List<UnevaluatedPayment> rows = paymentRepository.findUnevaluatedAfter(afterId, Limit.of(chunkSize));
+        if (rows.isEmpty()) {
+            return new ChunkResult(0, 0, null);
+        }
+
+        List<Long> late = new ArrayList<>();
+        List<Long> onTime = new ArrayList<>();
+        for (UnevaluatedPayment row : rows) {
+            if (row.getLeaseStartDate() == null || row.getPaymentDate() == null) {
+                continue;
+            }
+            if (billingCalendar.isLate(row.getPaymentDate(), row.getLeaseStartDate())) {
+                late.add(row.getPaymentId());
+                tenantScoreService.markTenantDirty(row.getTenantId());
+            } else {
+                onTime.add(row.getPaymentId());
+            }
+        }
+
+        int updated = 0;
+        if (!late.isEmpty()) {
+            updated += paymentRepository.markLateness(late, true);
+        }
+        if (!onTime.isEmpty()) {
+            updated += paymentRepository.markLateness(onTime, false);
+        }
+
+        Long lastId = rows.get(rows.size() - 1).getPaymentId();
+        jobCheckpointRepository.save(JobCheckpoint.builder()
+                .jobName(JOB_NAME)
+                .lastId(lastId)
+                .updatedAt(LocalDateTime.now())
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        evaluated.increment(late.size() + onTime.size());
+        markedLate.increment(late.size());
+        return new ChunkResult(rows.size(), updated, lastId);
+    }
+
+    private record ChunkResult(int size, int updated, Long lastId) {
+    }
+}
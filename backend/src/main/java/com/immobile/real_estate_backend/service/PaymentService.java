@@ -1,29 +1,36 @@
 package com.immobile.real_estate_backend.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.immobile.real_estate_backend.model.converter.PaymentConverter;
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import com.immobile.real_estate_backend.model.dto.PaymentDTO;
 import com.immobile.real_estate_backend.model.entity.*;
-import com.immobile.real_estate_backend.model.enums.NotificationStatus;
 import com.immobile.real_estate_backend.model.enums.NotificationType;
 import com.immobile.real_estate_backend.model.enums.PaymentMethod;
 import com.immobile.real_estate_backend.model.enums.PaymentStatus;
 import com.immobile.real_estate_backend.repository.*;
-import com.stripe.Stripe;
+import com.immobile.real_estate_backend.model.enums.LeaseStatus;
+import com.stripe.StripeClient;
 import com.stripe.exception.StripeException;
 import com.stripe.model.checkout.Session;
+import com.stripe.param.checkout.SessionCreateParams;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,14 +41,28 @@ public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final LeaseRepository leaseRepository;
     private final PaymentConverter paymentConverter;
-    private final NotificationRepository notificationRepository;
-    private final ActivityLogRepository activityLogRepository;
+    private final OutboxService outboxService;
+    private final ActivityLogWriter activityLogWriter;
+    private final LeaseRentStateService leaseRentStateService;
+    private final TenantScoreService tenantScoreService;
+    private final BillingCalendar billingCalendar;
+    private final BillingCycleService billingCycleService;
+    private final LeasePaymentLocks leasePaymentLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final StripeClient stripeClient;
+
+    @Value("${stripe.checkout.success-url:http://localhost:5173/payment/success?session_id={CHECKOUT_SESSION_ID}}")
+    private String checkoutSuccessUrl;
+
+    @Value("${stripe.checkout.cancel-url:http://localhost:5173/payment/cancel}")
+    private String checkoutCancelUrl;
 
-    @Value("${stripe.keys.secret}")
-    private String apiKey;
-
-    @Transactional
     public PaymentDTO processPayment(PaymentDTO paymentRequest) {
+        return leasePaymentLocks.withLock(paymentRequest.getLeaseId(),
+                () -> inTransaction(() -> recordPayment(paymentRequest)));
+    }
+
+    private PaymentDTO recordPayment(PaymentDTO paymentRequest) {
         Lease lease = leaseRepository.findById(paymentRequest.getLeaseId())
                 .orElseThrow(() -> {
                     log.error("Lease not found with ID: {}", paymentRequest.getLeaseId());
@@ -49,7 +70,8 @@ public class PaymentService {
                 });
 
         LocalDate now = LocalDate.now();
-        if (isRentPaidForCurrentBillingCycle(paymentRequest.getLeaseId())) {
+        Optional<BillingCycle> cycle = billingCycleService.findCycle(lease, now);
+        if (isRentPaid(lease, cycle, now)) {
             throw new RuntimeException("Rent for this billing cycle has already been paid");
         }
 
@@ -62,68 +84,49 @@ public class PaymentService {
         Payment payment = Payment.builder()
                 .lease(lease)
                 .amount(paymentRequest.getAmount())
-                .paymentDate(LocalDate.now())
+                .paymentDate(now)
                 .paymentMethod(PaymentMethod.valueOf(String.valueOf(paymentRequest.getPaymentMethod())))
                 .status(PaymentStatus.COMPLETED)
+                .wasLate(billingCalendar.lateness(lease, now))
+                .cycleNumber(cycleNumber(lease, cycle, now))
                 .build();
 
         Payment savedPayment = paymentRepository.save(payment);
+        cycle.ifPresent(c -> billingCycleService.markPaid(c, savedPayment));
+        leaseRentStateService.recordPayment(lease, savedPayment.getPaymentDate());
+        markTenantDirty(lease);
 
         try {
 
-            ActivityLog paymentLog = ActivityLog.builder()
-                    .user(lease.getTenant())
-                    .actionType("PROCESS_PAYMENT")
-                    .entityType("Payment")
-                    .entityId(savedPayment.getPaymentId())
-                    .details(String.format("{\"amount\":%.2f,\"property\":\"%s\"}",
+            activityLogWriter.record(ActivityLogEvent.of(lease.getTenant(), "PROCESS_PAYMENT", "Payment",
+                    savedPayment.getPaymentId(),
+                    String.format("{\"amount\":%.2f,\"property\":\"%s\"}",
                             savedPayment.getAmount(),
-                            lease.getProperty().getAddress()))
-                    .build();
+                            lease.getProperty().getAddress())));
 
-            activityLogRepository.save(paymentLog);
-
-            Notification tenantNotification = Notification.builder()
-                    .user(lease.getTenant())
-                    .title("Payment Confirmation")
-                    .message(String.format("Your payment of $%.2f for %s has been processed successfully",
+            OutboxMessage tenantNotification = outboxService.enqueueNotification(
+                    lease.getTenant(),
+                    "Payment Confirmation",
+                    String.format("Your payment of $%.2f for %s has been processed successfully",
                             paymentRequest.getAmount(),
-                            lease.getProperty().getAddress()))
-                    .type(NotificationType.PAYMENT)
-                    .status(NotificationStatus.UNREAD)
-                    .build();
-            notificationRepository.save(tenantNotification);
-
-            Notification landlordNotification = Notification.builder()
-                    .user(lease.getProperty().getOwner())
-                    .title("New Payment Received")
-                    .message(String.format("Payment of $%.2f received from tenant %s for property at %s",
+                            lease.getProperty().getAddress()),
+                    NotificationType.PAYMENT);
+
+            OutboxMessage landlordNotification = outboxService.enqueueNotification(
+                    lease.getProperty().getOwner(),
+                    "New Payment Received",
+                    String.format("Payment of $%.2f received from tenant %s for property at %s",
                             paymentRequest.getAmount(),
                             lease.getTenant().getFirstName(),
-                            lease.getProperty().getAddress()))
-                    .type(NotificationType.PAYMENT)
-                    .status(NotificationStatus.UNREAD)
-                    .build();
-            notificationRepository.save(landlordNotification);
-
-            ActivityLog tenantNotificationLog = ActivityLog.builder()
-                    .user(lease.getTenant())
-                    .actionType("SEND_PAYMENT_NOTIFICATION")
-                    .entityType("Notification")
-                    .entityId(tenantNotification.getNotificationId())
-                    .details("Payment confirmation sent to tenant")
-                    .build();
-
-            ActivityLog landlordNotificationLog = ActivityLog.builder()
-                    .user(lease.getProperty().getOwner())
-                    .actionType("SEND_PAYMENT_NOTIFICATION")
-                    .entityType("Notification")
-                    .entityId(landlordNotification.getNotificationId())
-                    .details("Payment received notification sent to landlord")
-                    .build();
-
-            activityLogRepository.save(tenantNotificationLog);
-            activityLogRepository.save(landlordNotificationLog);
+                            lease.getProperty().getAddress()),
+                    NotificationType.PAYMENT);
+
+            activityLogWriter.record(ActivityLogEvent.of(lease.getTenant(), "SEND_PAYMENT_NOTIFICATION",
+                    "OutboxMessage", tenantNotification.getId(),
+                    "Payment confirmation queued for tenant"));
+            activityLogWriter.record(ActivityLogEvent.of(lease.getProperty().getOwner(), "SEND_PAYMENT_NOTIFICATION",
+                    "OutboxMessage", landlordNotification.getId(),
+                    "Payment received notification queued for landlord"));
 
         } catch (Exception e) {
             log.error("Failed to create payment notifications or activity logs: {}", e.getMessage());
@@ -144,10 +147,17 @@ public class PaymentService {
         Lease lease = leaseRepository.findById(leaseId)
                 .orElseThrow(() -> new RuntimeException("Lease not found"));
 
-        LocalDate startDate = lease.getStartDate();
         LocalDate today = LocalDate.now();
+        return isRentPaid(lease, billingCycleService.findCycle(lease, today), today);
+    }
+
+    // Leases that never became active have no billing cycles; fall back to their payments
+    private boolean isRentPaid(Lease lease, Optional<BillingCycle> cycle, LocalDate today) {
+        if (cycle.isPresent()) {
+            return cycle.get().isPaid();
+        }
 
-        LocalDate cycleStart = calculateCycleStart(startDate, today);
+        LocalDate cycleStart = billingCalendar.cycleStart(lease.getStartDate(), today);
         LocalDate nextCycleStart = cycleStart.plusMonths(1);
 
         return paymentRepository.existsByLeaseAndPaymentDateBetween(
@@ -157,51 +167,146 @@ public class PaymentService {
         );
     }
 
-    private LocalDate calculateCycleStart(LocalDate leaseStartDate, LocalDate currentDate) {
-        int monthsElapsed = (currentDate.getYear() - leaseStartDate.getYear()) * 12
-                + currentDate.getMonthValue() - leaseStartDate.getMonthValue();
+    /**
+     * Creates the Stripe Checkout session for this month's rent and returns its id. This is
+     * the only Stripe call made on a request thread: the tenant cannot be redirected
+     * without the session. Completed sessions are recorded from the Stripe event inbox.
+     */
+    public String createCheckoutSession(Long leaseId) {
+        Lease lease = leaseRepository.findById(leaseId)
+                .orElseThrow(() -> new RuntimeException("Lease not found"));
 
-        LocalDate cycleStart = leaseStartDate.plusMonths(monthsElapsed);
+        if (lease.getStatus() != LeaseStatus.ACTIVE) {
+            throw new RuntimeException("Cannot pay rent for an inactive lease.");
+        }
 
-        if (currentDate.isBefore(cycleStart)) {
-            cycleStart = cycleStart.minusMonths(1);
+        long amountInCents = lease.getMonthlyRent().multiply(BigDecimal.valueOf(100)).longValue();
+
+        SessionCreateParams params = SessionCreateParams.builder()
+                .setMode(SessionCreateParams.Mode.PAYMENT)
+                .setSuccessUrl(checkoutSuccessUrl)
+                .setCancelUrl(checkoutCancelUrl)
+                .addLineItem(
+                        SessionCreateParams.LineItem.builder()
+                                .setQuantity(1L)
+                                .setPriceData(
+                                        SessionCreateParams.LineItem.PriceData.builder()
+                                                .setCurrency("usd")
+                                                .setUnitAmount(amountInCents)
+                                                .setProductData(
+                                                        SessionCreateParams.LineItem.PriceData.ProductData.builder()
+                                                                .setName("Monthly Rent Payment")
+                                                                .build())
+                                                .build())
+                                .build())
+                .putMetadata("leaseId", lease.getLeaseId().toString())
+                .build();
+
+        try {
+            Session session = stripeClient.checkout().sessions().create(params);
+            return session.getId();
+        } catch (StripeException e) {
+            log.error("Creating a Stripe checkout session for lease {} failed: {}", leaseId, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Could not start the Stripe checkout", e);
         }
+    }
 
-        return cycleStart;
+    /**
+     * A paid Stripe Checkout session as read from Stripe: the amount charged and the day
+     * the tenant paid, which decides the billing cycle it settles.
+     */
+    public record StripeCheckout(String sessionId, Long leaseId, BigDecimal amount, LocalDate paidOn) {
     }
 
-    public PaymentDTO confirmStripePayment(String sessionId) {
-        Stripe.apiKey = apiKey;
+    /**
+     * Records the rent payment of a paid Stripe Checkout session. Called from the Stripe
+     * event workers. A session that is already recorded returns its payment, so the webhook
+     * and the tenant's confirmation can both process it; a cycle already paid by another
+     * payment is reported with a 409.
+     */
+    public PaymentDTO recordStripeCheckout(StripeCheckout checkout) {
+        return leasePaymentLocks.withLock(checkout.leaseId(), () -> inTransaction(() -> recordStripePayment(checkout)));
+    }
 
-        try {
-            Session session = Session.retrieve(sessionId);
-            String leaseIdStr = session.getMetadata().get("leaseId");
+    public boolean isStripeSessionRecorded(String sessionId) {
+        return paymentRepository.existsByStripeSessionId(sessionId);
+    }
 
-            if (leaseIdStr == null) throw new IllegalArgumentException("Missing leaseId metadata.");
-            Long leaseId = Long.parseLong(leaseIdStr);
+    private PaymentDTO recordStripePayment(StripeCheckout checkout) {
+        Optional<Payment> recorded = paymentRepository.findByStripeSessionId(checkout.sessionId());
+        if (recorded.isPresent()) {
+            log.info("Checkout session {} is already recorded as payment {}",
+                    checkout.sessionId(), recorded.get().getPaymentId());
+            return paymentConverter.toPaymentDTO(recorded.get());
+        }
 
-            Lease lease = leaseRepository.findById(leaseId)
-                    .orElseThrow(() -> new RuntimeException("Lease not found"));
+        Lease lease = leaseRepository.findById(checkout.leaseId())
+                .orElseThrow(() -> new RuntimeException("Lease not found"));
 
-            if (isRentPaidForCurrentBillingCycle(leaseId)) {
-                log.warn("Payment already exists for lease {} in current billing cycle", leaseId);
-                throw new RuntimeException("Payment already processed for this billing cycle.");
-            }
+        LocalDate paidOn = checkout.paidOn();
+        Optional<BillingCycle> cycle = billingCycleService.findCycle(lease, paidOn);
+        if (isRentPaid(lease, cycle, paidOn)) {
+            log.warn("Checkout session {} pays lease {} for a billing cycle that is already paid",
+                    checkout.sessionId(), lease.getLeaseId());
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Payment already processed for this billing cycle.");
+        }
 
-            Payment payment = Payment.builder()
-                    .lease(lease)
-                    .amount(lease.getMonthlyRent())
-                    .paymentDate(LocalDate.now())
-                    .paymentMethod(PaymentMethod.CREDIT_CARD)
-                    .status(PaymentStatus.COMPLETED)
-                    .build();
+        Payment payment = Payment.builder()
+                .lease(lease)
+                .amount(checkout.amount())
+                .paymentDate(paidOn)
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .status(PaymentStatus.COMPLETED)
+                .wasLate(billingCalendar.lateness(lease, paidOn))
+                .cycleNumber(cycleNumber(lease, cycle, paidOn))
+                .stripeSessionId(checkout.sessionId())
+                .build();
 
-            Payment savedPayment = paymentRepository.save(payment);
+        Payment savedPayment = paymentRepository.save(payment);
+        cycle.ifPresent(c -> billingCycleService.markPaid(c, savedPayment));
+        leaseRentStateService.recordPayment(lease, savedPayment.getPaymentDate());
+        markTenantDirty(lease);
 
-            return paymentConverter.toPaymentDTO(savedPayment);
+        return paymentConverter.toPaymentDTO(savedPayment);
+    }
 
-        } catch (StripeException e) {
-            throw new RuntimeException("Failed to retrieve Stripe session: " + e.getMessage());
+    /**
+     * Runs a payment write in its own transaction, committed before the lease lock is
+     * released. The lock only covers this instance; a concurrent insert from elsewhere
+     * hits the unique (lease, cycle) or Stripe session constraint and is reported as a
+     * conflict.
+     */
+    private PaymentDTO inTransaction(Supplier<PaymentDTO> write) {
+        try {
+            return transactionTemplate.execute(status -> write.get());
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateCyclePayment(e)) {
+                throw e;
+            }
+            log.warn("Rejected duplicate payment: {}", e.getMostSpecificCause().getMessage());
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Rent for this billing cycle has already been paid", e);
+        }
+    }
+
+    private boolean isDuplicateCyclePayment(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (message == null) {
+            return false;
+        }
+        String lower = message.toLowerCase();
+        return lower.contains(Payment.LEASE_CYCLE_CONSTRAINT) || lower.contains(Payment.STRIPE_SESSION_CONSTRAINT);
+    }
+
+    private Integer cycleNumber(Lease lease, Optional<BillingCycle> cycle, LocalDate paymentDate) {
+        if (cycle.isPresent()) {
+            return cycle.get().getId().getCycleNumber();
+        }
+        return lease.getStartDate() != null ? billingCalendar.cycleNumber(lease.getStartDate(), paymentDate) : null;
+    }
+
+    private void markTenantDirty(Lease lease) {
+        if (lease.getTenant() != null) {
+            tenantScoreService.markTenantDirty(lease.getTenant().getUserId());
         }
     }
 
@@ -228,6 +333,19 @@ public class PaymentService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPageDTO<PaymentDTO> getPaymentsPage(String cursor, int limit) {
+        Limit queryLimit = KeysetCursor.queryLimit(limit);
+        List<Payment> payments;
+        if (cursor == null) {
+            payments = paymentRepository.findFirstPage(queryLimit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            payments = paymentRepository.findPageAfter(after.sortKeyAsDate(), after.id(), queryLimit);
+        }
+        return KeysetCursor.page(payments, limit, Payment::getPaymentDate, Payment::getPaymentId,
+                page -> page.stream().map(paymentConverter::toPaymentDTO).toList());
+    }
+
     public PaymentDTO getPaymentById(Long paymentId) {
         Payment payment = paymentRepository.findByPaymentId(paymentId)
                 .orElseThrow(() -> {
@@ -0,0 +1,19 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.Property;
+
+/**
+ * Published by {@link PropertyService} whenever a property is created, deleted or has its
+ * status or validation changed. {@code property} is {@code null} for deletions. Listeners
+ * use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public record PropertyChangedEvent(Long propertyId, Property property) {
+
+    public static PropertyChangedEvent updated(Property property) {
+        return new PropertyChangedEvent(property.getPropertyId(), property);
+    }
+
+    public static PropertyChangedEvent deleted(Long propertyId) {
+        return new PropertyChangedEvent(propertyId, null);
+    }
+}
@@ -0,0 +1,169 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.dto.PropertyClusterDTO;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Pre-aggregated marker clusters for every zoom level from 0 to {@link #MAX_ZOOM}.
+ * At zoom {@code z} the world is divided into cells of {@code 360 / 2^(z + 2)} degrees,
+ * roughly a quarter of a map tile, and each cell keeps the count, coordinate sums
+ * (for the centroid) and a rent histogram (for min/max). Adding or removing a property
+ * touches one cell per level, so the grid never has to be rebuilt.
+ */
+class PropertyClusterGrid {
+
+    static final int MAX_ZOOM = 18;
+    static final int MAX_CELLS_PER_QUERY = 4096;
+
+    private final List<Map<Long, Cell>> levels = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    PropertyClusterGrid() {
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    private static final class Cell {
+        int count;
+        double latitudeSum;
+        double longitudeSum;
+        // With count == 1 this is the id of the only property in the cell.
+        long propertyIdSum;
+        final TreeMap<BigDecimal, Integer> rents = new TreeMap<>();
+
+        PropertyClusterDTO toClusterDTO() {
+            return PropertyClusterDTO.builder()
+                    .latitude(latitudeSum / count)
+                    .longitude(longitudeSum / count)
+                    .count(count)
+                    .minRent(rents.isEmpty() ? null : rents.firstKey())
+                    .maxRent(rents.isEmpty() ? null : rents.lastKey())
+                    .propertyId(count == 1 ? propertyIdSum : null)
+                    .build();
+        }
+    }
+
+    void add(Long propertyId, double latitude, double longitude, BigDecimal rent) {
+        lock.writeLock().lock();
+        try {
+            for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+                Cell cell = levels.get(zoom).computeIfAbsent(cellKey(zoom, latitude, longitude), key -> new Cell());
+                cell.count++;
+                cell.latitudeSum += latitude;
+                cell.longitudeSum += longitude;
+                cell.propertyIdSum += propertyId;
+                if (rent != null) {
+                    cell.rents.merge(rent, 1, Integer::sum);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long propertyId, double latitude, double longitude, BigDecimal rent) {
+        lock.writeLock().lock();
+        try {
+            for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+                Map<Long, Cell> level = levels.get(zoom);
+                long key = cellKey(zoom, latitude, longitude);
+                Cell cell = level.get(key);
+                if (cell == null) {
+                    continue;
+                }
+                if (--cell.count == 0) {
+                    level.remove(key);
+                    continue;
+                }
+                cell.latitudeSum -= latitude;
+                cell.longitudeSum -= longitude;
+                cell.propertyIdSum -= propertyId;
+                if (rent != null) {
+                    cell.rents.computeIfPresent(rent, (value, occurrences) -> occurrences == 1 ? null : occurrences - 1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            levels.forEach(Map::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the clusters of the cells overlapping the bounding box at the given zoom,
+     * or {@code null} if the box covers more than {@link #MAX_CELLS_PER_QUERY} cells.
+     */
+    List<PropertyClusterDTO> clusters(double minLatitude, double minLongitude,
+                                      double maxLatitude, double maxLongitude, int zoom) {
+        int minLatIndex = index(zoom, Math.max(-90, minLatitude) + 90);
+        int maxLatIndex = index(zoom, Math.min(90, maxLatitude) + 90);
+        int minLonIndex = index(zoom, Math.max(-180, minLongitude) + 180);
+        int maxLonIndex = index(zoom, Math.min(180, maxLongitude) + 180);
+        long cellsInRange = (long) (maxLatIndex - minLatIndex + 1) * (maxLonIndex - minLonIndex + 1);
+        if (cellsInRange > MAX_CELLS_PER_QUERY) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Cell> level = levels.get(zoom);
+            List<PropertyClusterDTO> result = new ArrayList<>();
+
+            if (cellsInRange > level.size()) {
+                level.forEach((key, cell) -> {
+                    int latIndex = (int) (key >> 32);
+                    int lonIndex = (int) key.longValue();
+                    if (latIndex >= minLatIndex && latIndex <= maxLatIndex
+                            && lonIndex >= minLonIndex && lonIndex <= maxLonIndex) {
+                        result.add(cell.toClusterDTO());
+                    }
+                });
+                return result;
+            }
+
+            for (int latIndex = minLatIndex; latIndex <= maxLatIndex; latIndex++) {
+                for (int lonIndex = minLonIndex; lonIndex <= maxLonIndex; lonIndex++) {
+                    Cell cell = level.get(cellKey(latIndex, lonIndex));
+                    if (cell != null) {
+                        result.add(cell.toClusterDTO());
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long cellKey(int zoom, double latitude, double longitude) {
+        return cellKey(index(zoom, latitude + 90), index(zoom, longitude + 180));
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xffffffffL);
+    }
+
+    private static int index(int zoom, double offsetDegrees) {
+        return (int) Math.floor(offsetDegrees / cellDegrees(zoom));
+    }
+
+    static double cellDegrees(int zoom) {
+        return 360.0 / (1L << (zoom + 2));
+    }
+}
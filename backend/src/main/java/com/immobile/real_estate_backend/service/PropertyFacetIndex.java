@@ -0,0 +1,245 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.dto.PropertyFacetSearchDTO;
+import com.immobile.real_estate_backend.model.entity.Property;
+import com.immobile.real_estate_backend.model.enums.PropertyStatus;
+import com.immobile.real_estate_backend.model.enums.PropertyType;
+import com.immobile.real_estate_backend.model.enums.RentBand;
+import com.immobile.real_estate_backend.model.enums.ValidationStatus;
+import com.immobile.real_estate_backend.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap index over the property facets renters filter on. Every property gets a slot
+ * (a bit position), and every facet value keeps a {@link BitSet} of the slots that have
+ * it, so any combination of filters is a handful of word-wise OR/AND operations.
+ * <p>
+ * Values selected within one facet are OR-ed and facets are AND-ed. The count for a
+ * facet value is computed against the other facets' filters only, so it tells how many
+ * results that value would give, the way faceted search UIs expect.
+ * <p>
+ * Slots are assigned in append order (ascending property id after a rebuild) and never
+ * reused, so results come out sorted without an extra sort; the index is rebuilt on
+ * startup and kept in sync through {@link PropertyChangedEvent}s.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PropertyFacetIndex {
+
+    public static final String TYPE = "type";
+    public static final String STATUS = "status";
+    public static final String VALIDATION_STATUS = "validationStatus";
+    public static final String RENT_BAND = "rentBand";
+
+    static final List<String> FACETS = List.of(TYPE, STATUS, VALIDATION_STATUS, RENT_BAND);
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final PropertyRepository propertyRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<String, BitSet>> bitmaps = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final List<Long> propertyIdBySlot = new ArrayList<>();
+    private final Map<Long, Integer> slotByPropertyId = new HashMap<>();
+    private final Map<Long, Map<String, String>> valuesByPropertyId = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Property> properties = new ArrayList<>(propertyRepository.findAll());
+        properties.sort(Comparator.comparing(Property::getPropertyId));
+
+        lock.writeLock().lock();
+        try {
+            bitmaps.clear();
+            live.clear();
+            propertyIdBySlot.clear();
+            slotByPropertyId.clear();
+            valuesByPropertyId.clear();
+            properties.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Property facet index built with {} properties", slotByPropertyId.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.property() == null) {
+                remove(event.propertyId());
+            } else {
+                put(event.property());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param selections facet name to the accepted values; absent or empty means no filter
+     */
+    public PropertyFacetSearchDTO search(Map<String, Set<String>> selections, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<String, BitSet> facetFilters = new HashMap<>();
+            for (String facet : FACETS) {
+                Set<String> values = selections.getOrDefault(facet, Set.of());
+                if (!values.isEmpty()) {
+                    facetFilters.put(facet, union(facet, values));
+                }
+            }
+
+            BitSet matches = intersect(facetFilters, null);
+
+            Map<String, Map<String, Integer>> facetCounts = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                BitSet others = intersect(facetFilters, facet);
+                Map<String, Integer> counts = new LinkedHashMap<>();
+                for (String value : facetValues(facet)) {
+                    BitSet bitmap = bitmaps.getOrDefault(facet, Map.of()).get(value);
+                    int count = 0;
+                    if (bitmap != null) {
+                        BitSet candidates = (BitSet) others.clone();
+                        candidates.and(bitmap);
+                        count = candidates.cardinality();
+                    }
+                    counts.put(value, count);
+                }
+                facetCounts.put(facet, counts);
+            }
+
+            return PropertyFacetSearchDTO.builder()
+                    .propertyIds(page(matches, page, size))
+                    .page(page)
+                    .size(size)
+                    .totalElements(matches.cardinality())
+                    .facetCounts(facetCounts)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet union(String facet, Set<String> values) {
+        BitSet result = new BitSet();
+        Map<String, BitSet> facetBitmaps = bitmaps.getOrDefault(facet, Map.of());
+        for (String value : values) {
+            BitSet bitmap = facetBitmaps.get(value);
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    private BitSet intersect(Map<String, BitSet> facetFilters, String excludedFacet) {
+        BitSet result = (BitSet) live.clone();
+        facetFilters.forEach((facet, filter) -> {
+            if (!facet.equals(excludedFacet)) {
+                result.and(filter);
+            }
+        });
+        return result;
+    }
+
+    private List<Long> page(BitSet matches, int page, int size) {
+        List<Long> result = new ArrayList<>(size);
+        long skip = (long) page * size;
+        for (int slot = matches.nextSetBit(0); slot >= 0 && result.size() < size; slot = matches.nextSetBit(slot + 1)) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                result.add(propertyIdBySlot.get(slot));
+            }
+        }
+        return result;
+    }
+
+    private void put(Property property) {
+        Long propertyId = property.getPropertyId();
+        Integer slot = slotByPropertyId.get(propertyId);
+        if (slot == null) {
+            slot = propertyIdBySlot.size();
+            propertyIdBySlot.add(propertyId);
+            slotByPropertyId.put(propertyId, slot);
+        } else {
+            clearValues(propertyId, slot);
+        }
+
+        Map<String, String> values = facetValues(property);
+        int bit = slot;
+        values.forEach((facet, value) -> bitmaps
+                .computeIfAbsent(facet, key -> new HashMap<>())
+                .computeIfAbsent(value, key -> new BitSet())
+                .set(bit));
+        valuesByPropertyId.put(propertyId, values);
+        live.set(slot);
+    }
+
+    private void remove(Long propertyId) {
+        Integer slot = slotByPropertyId.remove(propertyId);
+        if (slot == null) {
+            return;
+        }
+        clearValues(propertyId, slot);
+        valuesByPropertyId.remove(propertyId);
+        live.clear(slot);
+    }
+
+    private void clearValues(Long propertyId, int slot) {
+        valuesByPropertyId.getOrDefault(propertyId, Map.of()).forEach((facet, value) -> {
+            BitSet bitmap = bitmaps.getOrDefault(facet, Map.of()).get(value);
+            if (bitmap != null) {
+                bitmap.clear(slot);
+            }
+        });
+    }
+
+    private static Map<String, String> facetValues(Property property) {
+        Map<String, String> values = new HashMap<>();
+        if (property.getType() != null) {
+            values.put(TYPE, property.getType().name());
+        }
+        if (property.getStatus() != null) {
+            values.put(STATUS, property.getStatus().name());
+        }
+        if (property.getValidationStatus() != null) {
+            values.put(VALIDATION_STATUS, property.getValidationStatus().name());
+        }
+        if (property.getRentAmount() != null) {
+            values.put(RENT_BAND, RentBand.of(property.getRentAmount()).name());
+        }
+        return values;
+    }
+
+    private static List<String> facetValues(String facet) {
+        Enum<?>[] values = switch (facet) {
+            case TYPE -> PropertyType.values();
+            case STATUS -> PropertyStatus.values();
+            case VALIDATION_STATUS -> ValidationStatus.values();
+            case RENT_BAND -> RentBand.values();
+            default -> throw new IllegalArgumentException("Unknown facet: " + facet);
+        };
+        return Arrays.stream(values).map(Enum::name).toList();
+    }
+}
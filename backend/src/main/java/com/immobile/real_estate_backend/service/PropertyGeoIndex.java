@@ -0,0 +1,294 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.dto.PageDTO;
+import com.immobile.real_estate_backend.model.dto.PropertyClusterDTO;
+import com.immobile.real_estate_backend.model.dto.PropertyLocationDTO;
+import com.immobile.real_estate_backend.model.entity.Property;
+import com.immobile.real_estate_backend.model.enums.PropertyStatus;
+import com.immobile.real_estate_backend.model.enums.PropertyType;
+import com.immobile.real_estate_backend.model.enums.ValidationStatus;
+import com.immobile.real_estate_backend.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory grid index over the coordinates of AVAILABLE properties. The world is split
+ * into {@link #CELL_DEGREES} cells; a query only visits the cells overlapping its bounding
+ * box (or only the occupied cells, whichever is fewer), so its cost depends on the
+ * number of nearby properties rather than on the size of the catalog.
+ * <p>
+ * Built on startup and kept in sync through {@link PropertyChangedEvent}s, together with
+ * the {@link PropertyClusterGrid} that backs the map cluster endpoint.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PropertyGeoIndex {
+
+    static final double CELL_DEGREES = 0.05;
+    static final int MAX_PAGE_SIZE = 100;
+    static final double MAX_RADIUS_KM = 500;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final PropertyRepository propertyRepository;
+
+    private final Map<Long, Entry> entriesById = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, Entry>> cells = new ConcurrentHashMap<>();
+    private final PropertyClusterGrid clusterGrid = new PropertyClusterGrid();
+
+    record Entry(Long propertyId, String name, String address, PropertyType type,
+                 BigDecimal rentAmount, double latitude, double longitude) {
+
+        static Entry of(Property property) {
+            return new Entry(property.getPropertyId(), property.getName(), property.getAddress(),
+                    property.getType(), property.getRentAmount(),
+                    property.getLatitude(), property.getLongitude());
+        }
+
+        PropertyLocationDTO toLocationDTO(Double distanceKm) {
+            return PropertyLocationDTO.builder()
+                    .propertyId(propertyId)
+                    .name(name)
+                    .address(address)
+                    .type(type)
+                    .rentAmount(rentAmount)
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .distanceKm(distanceKm)
+                    .build();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Property> available = propertyRepository.findByStatusAndValidationStatusOrderByPropertyId(
+                PropertyStatus.AVAILABLE, ValidationStatus.APPROVED);
+        synchronized (this) {
+            entriesById.clear();
+            cells.clear();
+            clusterGrid.clear();
+            available.stream()
+                    .filter(PropertyGeoIndex::isIndexable)
+                    .forEach(property -> put(Entry.of(property)));
+        }
+        log.info("Property geo index built with {} available properties", entriesById.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (isIndexable(event.property())) {
+            put(Entry.of(event.property()));
+        } else {
+            remove(event.propertyId());
+        }
+    }
+
+    public PageDTO<PropertyLocationDTO> searchWithinRadius(double latitude, double longitude, double radiusKm,
+                                                          int page, int size) {
+        validateCoordinates(latitude, longitude);
+        validatePage(page, size);
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Radius must be between 0 and " + MAX_RADIUS_KM + " km");
+        }
+
+        double deltaLat = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double deltaLon = cosLat < 1e-6 ? 180 : Math.min(180, deltaLat / cosLat);
+
+        List<PropertyLocationDTO> matches = new ArrayList<>();
+        for (Entry entry : candidates(latitude - deltaLat, longitude - deltaLon,
+                latitude + deltaLat, longitude + deltaLon)) {
+            double distance = distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+            if (distance <= radiusKm) {
+                matches.add(entry.toLocationDTO(distance));
+            }
+        }
+
+        matches.sort(Comparator.comparingDouble(PropertyLocationDTO::getDistanceKm)
+                .thenComparing(PropertyLocationDTO::getPropertyId));
+        return toPage(matches, page, size);
+    }
+
+    public PageDTO<PropertyLocationDTO> searchWithinBounds(double minLatitude, double minLongitude,
+                                                          double maxLatitude, double maxLongitude,
+                                                          int page, int size) {
+        validateCoordinates(minLatitude, minLongitude);
+        validateCoordinates(maxLatitude, maxLongitude);
+        validatePage(page, size);
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Bounding box minimum must not exceed its maximum");
+        }
+
+        List<PropertyLocationDTO> matches = new ArrayList<>();
+        for (Entry entry : candidates(minLatitude, minLongitude, maxLatitude, maxLongitude)) {
+            if (entry.latitude() >= minLatitude && entry.latitude() <= maxLatitude
+                    && entry.longitude() >= minLongitude && entry.longitude() <= maxLongitude) {
+                matches.add(entry.toLocationDTO(null));
+            }
+        }
+
+        matches.sort(Comparator.comparing(PropertyLocationDTO::getPropertyId));
+        return toPage(matches, page, size);
+    }
+
+    /**
+     * Map marker clusters for the cells of the given zoom level that overlap the bounding box.
+     * Zoom levels above {@link PropertyClusterGrid#MAX_ZOOM} use the finest level.
+     */
+    public List<PropertyClusterDTO> clusters(double minLatitude, double minLongitude,
+                                             double maxLatitude, double maxLongitude, int zoom) {
+        validateCoordinates(minLatitude, minLongitude);
+        validateCoordinates(maxLatitude, maxLongitude);
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Bounding box minimum must not exceed its maximum");
+        }
+        if (zoom < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Zoom must be >= 0");
+        }
+
+        List<PropertyClusterDTO> clusters = clusterGrid.clusters(minLatitude, minLongitude,
+                maxLatitude, maxLongitude, Math.min(zoom, PropertyClusterGrid.MAX_ZOOM));
+        if (clusters == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Bounding box is too large for zoom level " + zoom);
+        }
+        return clusters;
+    }
+
+    public int size() {
+        return entriesById.size();
+    }
+
+    private List<Entry> candidates(double minLatitude, double minLongitude,
+                                   double maxLatitude, double maxLongitude) {
+        int minLatIndex = latitudeIndex(Math.max(-90, minLatitude));
+        int maxLatIndex = latitudeIndex(Math.min(90, maxLatitude));
+        int minLonIndex = longitudeIndex(Math.max(-180, minLongitude));
+        int maxLonIndex = longitudeIndex(Math.min(180, maxLongitude));
+
+        List<Entry> result = new ArrayList<>();
+        long cellsInRange = (long) (maxLatIndex - minLatIndex + 1) * (maxLonIndex - minLonIndex + 1);
+
+        if (cellsInRange > cells.size()) {
+            cells.forEach((key, cell) -> {
+                int latIndex = (int) (key >> 32);
+                int lonIndex = (int) key.longValue();
+                if (latIndex >= minLatIndex && latIndex <= maxLatIndex
+                        && lonIndex >= minLonIndex && lonIndex <= maxLonIndex) {
+                    result.addAll(cell.values());
+                }
+            });
+        } else {
+            for (int latIndex = minLatIndex; latIndex <= maxLatIndex; latIndex++) {
+                for (int lonIndex = minLonIndex; lonIndex <= maxLonIndex; lonIndex++) {
+                    Map<Long, Entry> cell = cells.get(cellKey(latIndex, lonIndex));
+                    if (cell != null) {
+                        result.addAll(cell.values());
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private synchronized void put(Entry entry) {
+        Entry previous = entriesById.put(entry.propertyId(), entry);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+        cells.computeIfAbsent(cellKey(entry), key -> new ConcurrentHashMap<>())
+                .put(entry.propertyId(), entry);
+        clusterGrid.add(entry.propertyId(), entry.latitude(), entry.longitude(), entry.rentAmount());
+    }
+
+    private synchronized void remove(Long propertyId) {
+        Entry previous = entriesById.remove(propertyId);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    private void removeFromCell(Entry entry) {
+        clusterGrid.remove(entry.propertyId(), entry.latitude(), entry.longitude(), entry.rentAmount());
+        cells.computeIfPresent(cellKey(entry), (key, cell) -> {
+            cell.remove(entry.propertyId());
+            return cell.isEmpty() ? null : cell;
+        });
+    }
+
+    // Same listings as the public listing cache: available and approved by an admin
+    private static boolean isIndexable(Property property) {
+        return property != null
+                && property.getStatus() == PropertyStatus.AVAILABLE
+                && property.getValidationStatus() == ValidationStatus.APPROVED
+                && property.getLatitude() != null
+                && property.getLongitude() != null;
+    }
+
+    private static long cellKey(Entry entry) {
+        return cellKey(latitudeIndex(entry.latitude()), longitudeIndex(entry.longitude()));
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xffffffffL);
+    }
+
+    private static int latitudeIndex(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static int longitudeIndex(double longitude) {
+        return (int) Math.floor((longitude + 180) / CELL_DEGREES);
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static void validateCoordinates(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Coordinates out of range");
+        }
+    }
+
+    private static void validatePage(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static <T> PageDTO<T> toPage(List<T> sorted, int page, int size) {
+        int from = (int) Math.min((long) page * size, sorted.size());
+        int to = Math.min(from + size, sorted.size());
+        return PageDTO.<T>builder()
+                .content(List.copyOf(sorted.subList(from, to)))
+                .page(page)
+                .size(size)
+                .totalElements(sorted.size())
+                .build();
+    }
+}
@@ -1,17 +1,24 @@
 package com.immobile.real_estate_backend.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.immobile.real_estate_backend.model.converter.PropertyConverter;
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
+import com.immobile.real_estate_backend.model.dto.PageDTO;
+import com.immobile.real_estate_backend.model.dto.PropertyClusterDTO;
 import com.immobile.real_estate_backend.model.dto.PropertyDTO;
+import com.immobile.real_estate_backend.model.dto.PropertyFacetSearchDTO;
+import com.immobile.real_estate_backend.model.dto.PropertyLocationDTO;
 import com.immobile.real_estate_backend.model.entity.*;
 import com.immobile.real_estate_backend.model.enums.PropertyStatus;
+import com.immobile.real_estate_backend.model.enums.PropertyType;
+import com.immobile.real_estate_backend.model.enums.RentBand;
 import com.immobile.real_estate_backend.model.enums.ValidationStatus;
 import com.immobile.real_estate_backend.repository.*;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,7 +26,11 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,8 +41,13 @@ public class PropertyService {
     private final PropertyRepository propertyRepository;
     private final UserRepository userRepository;
     private final PropertyConverter propertyConverter;
-    private final ActivityLogRepository activityLogRepository;
-    private final ObjectMapper objectMapper;
+    private final ActivityLogWriter activityLogWriter;
+    private final ImageService imageService;
+    private final PropertyGeoIndex propertyGeoIndex;
+    private final PropertyTextIndex propertyTextIndex;
+    private final PropertyFacetIndex propertyFacetIndex;
+    private final PublicPropertyListingCache publicPropertyListingCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public PropertyDTO createProperty(PropertyDTO propertyDTO, List<MultipartFile> images) throws IOException {
@@ -40,40 +56,24 @@ public class PropertyService {
         if (images != null) {
             for (MultipartFile file : images) {
                 if (!file.isEmpty()) {
-                    Image image = Image.builder()
-                            .name(file.getOriginalFilename())
-                            .content(file.getBytes())
-                            .contentType(file.getContentType())
-                            .property(property)
-                            .build();
+                    Image image = imageService.newImage(file);
                     property.addImage(image);
                 }
             }
         }
 
         Property savedProperty = propertyRepository.save(property);
+        eventPublisher.publishEvent(PropertyChangedEvent.updated(savedProperty));
 
-        try {
-            ActivityLog logEntry = ActivityLog.builder()
-                    .user(savedProperty.getOwner())
-                    .actionType("CREATE_PROPERTY")
-                    .entityType("Property")
-                    .entityId(savedProperty.getPropertyId())
-                    .details(objectMapper.writeValueAsString(
-                            propertyConverter.toPropertyDTO(savedProperty)))
-                    .build();
-
-            activityLogRepository.save(logEntry);
-            log.info("Property created with ID: {} at address: {} with {} images",
-                    savedProperty.getPropertyId(),
-                    savedProperty.getAddress(),
-                    savedProperty.getImages().size());
-
-        } catch (JsonProcessingException e) {
-            log.error("Failed to log property creation: {}", e.getMessage());
-        }
+        PropertyDTO savedPropertyDTO = propertyConverter.toPropertyDTO(savedProperty);
+        activityLogWriter.record(ActivityLogEvent.of(savedProperty.getOwner(), "CREATE_PROPERTY", "Property",
+                savedProperty.getPropertyId(), savedPropertyDTO));
+        log.info("Property created with ID: {} at address: {} with {} images",
+                savedProperty.getPropertyId(),
+                savedProperty.getAddress(),
+                savedProperty.getImages().size());
 
-        return propertyConverter.toPropertyDTO(savedProperty);
+        return savedPropertyDTO;
     }
 
     public Property getProperty(Long id) {
@@ -96,33 +96,40 @@ public class PropertyService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        return propertyRepository.getPropertiesByOwner(user).stream()
-                .map(propertyConverter::toPropertyDTO)
-                .collect(Collectors.toList());
+        return propertyConverter.toPropertyDTOs(propertyRepository.getPropertiesByOwner(user));
     }
 
     public List<PropertyDTO> findByUserIdDTO(Long ownerId) {
-        List<PropertyDTO> properties = getPropertiesByOwner(ownerId).stream()
-                .map(propertyConverter::toPropertyDTO)
-                .collect(Collectors.toList());
+        List<PropertyDTO> properties = propertyConverter.toPropertyDTOs(getPropertiesByOwner(ownerId));
 
         log.debug("Retrieved {} property DTOs for owner ID: {}", properties.size(), ownerId);
         return properties;
     }
 
-    public List<Property> getAllProperties() {
-        List<Property> properties = propertyRepository.findAll();
-        log.debug("Retrieved all {} properties from system", properties.size());
-        return properties;
+    public List<PropertyDTO> getPropertiesByIds(List<Long> propertyIds) {
+        KeysetCursor.checkBatchSize(propertyIds.size());
+        return propertyConverter.toPropertyDTOs(propertyRepository.findAllById(propertyIds));
     }
 
-    public List<PropertyDTO> getAllPropertiesDTO() {
-        List<PropertyDTO> properties = getAllProperties().stream()
-                .map(propertyConverter::toPropertyDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<PropertyDTO> getPropertiesPage(String cursor, int limit) {
+        Limit queryLimit = KeysetCursor.queryLimit(limit);
+        List<Property> properties;
+        if (cursor == null) {
+            properties = propertyRepository.findFirstPage(queryLimit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            properties = propertyRepository.findPageAfter(after.sortKeyAsDateTime(), after.id(), queryLimit);
+        }
+        return KeysetCursor.page(properties, limit, Property::getCreatedAt, Property::getPropertyId,
+                propertyConverter::toPropertyDTOs);
+    }
 
-        log.debug("Retrieved all {} property DTOs from system", properties.size());
-        return properties;
+    public long countProperties() {
+        return propertyRepository.count();
+    }
+
+    public PublicPropertyListingCache.Snapshot getPublicListing() {
+        return publicPropertyListingCache.get();
     }
 
     public PropertyDTO getPropertyDTO(Long id) {
@@ -139,16 +146,10 @@ public class PropertyService {
         Property property = propertyRepository.findById(id).orElse(null);
         if (property != null) {
             try {
-                ActivityLog logEntry = ActivityLog.builder()
-                        .user(property.getOwner())
-                        .actionType("DELETE_PROPERTY")
-                        .entityType("Property")
-                        .entityId(id)
-                        .details(String.format("Property at %s was deleted", property.getAddress()))
-                        .build();
-
-                activityLogRepository.save(logEntry);
                 propertyRepository.deleteById(id);
+                activityLogWriter.record(ActivityLogEvent.of(property.getOwner(), "DELETE_PROPERTY", "Property",
+                        id, String.format("Property at %s was deleted", property.getAddress())));
+                eventPublisher.publishEvent(PropertyChangedEvent.deleted(id));
                 log.info("Property deleted with ID: {} at address: {}", id, property.getAddress());
 
             } catch (Exception e) {
@@ -162,10 +163,8 @@ public class PropertyService {
     }
 
     public List<PropertyDTO> findPendingProperties() {
-        return propertyRepository.findByValidationStatus(ValidationStatus.PENDING)
-                .stream()
-                .map(propertyConverter::toPropertyDTO)
-                .toList();
+        return propertyConverter.toPropertyDTOs(
+                propertyRepository.findByValidationStatus(ValidationStatus.PENDING));
     }
 
     @Transactional
@@ -183,6 +182,7 @@ public class PropertyService {
         }
 
         propertyRepository.save(property);
+        eventPublisher.publishEvent(PropertyChangedEvent.updated(property));
         log.info("Property ID {} validation updated to {}", propertyId, validationStatus);
     }
 
@@ -193,6 +193,56 @@ public class PropertyService {
 
         property.setStatus(status);
         propertyRepository.save(property);
+        eventPublisher.publishEvent(PropertyChangedEvent.updated(property));
+    }
+
+    public PageDTO<PropertyLocationDTO> findAvailableNearby(double latitude, double longitude, double radiusKm,
+                                                           int page, int size) {
+        return propertyGeoIndex.searchWithinRadius(latitude, longitude, radiusKm, page, size);
+    }
+
+    public PageDTO<PropertyLocationDTO> findAvailableWithinBounds(double minLatitude, double minLongitude,
+                                                                 double maxLatitude, double maxLongitude,
+                                                                 int page, int size) {
+        return propertyGeoIndex.searchWithinBounds(minLatitude, minLongitude, maxLatitude, maxLongitude, page, size);
+    }
+
+    public PageDTO<PropertyDTO> searchByText(String query, int page, int size) {
+        PageDTO<Long> matches = propertyTextIndex.search(query, page, size);
+
+        Map<Long, Property> propertiesById = propertyRepository.findAllById(matches.getContent()).stream()
+                .collect(Collectors.toMap(Property::getPropertyId, Function.identity()));
+        List<Property> ranked = matches.getContent().stream()
+                .map(propertiesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return PageDTO.<PropertyDTO>builder()
+                .content(propertyConverter.toPropertyDTOs(ranked))
+                .page(matches.getPage())
+                .size(matches.getSize())
+                .totalElements(matches.getTotalElements())
+                .build();
+    }
+
+    public PropertyFacetSearchDTO searchByFacets(Set<PropertyType> types, Set<PropertyStatus> statuses,
+                                                 Set<ValidationStatus> validationStatuses, Set<RentBand> rentBands,
+                                                 int page, int size) {
+        Map<String, Set<String>> selections = Map.of(
+                PropertyFacetIndex.TYPE, names(types),
+                PropertyFacetIndex.STATUS, names(statuses),
+                PropertyFacetIndex.VALIDATION_STATUS, names(validationStatuses),
+                PropertyFacetIndex.RENT_BAND, names(rentBands));
+        return propertyFacetIndex.search(selections, page, size);
+    }
+
+    private static Set<String> names(Set<? extends Enum<?>> values) {
+        return values == null ? Set.of() : values.stream().map(Enum::name).collect(Collectors.toSet());
+    }
+
+    public List<PropertyClusterDTO> findAvailableClusters(double minLatitude, double minLongitude,
+                                                          double maxLatitude, double maxLongitude, int zoom) {
+        return propertyGeoIndex.clusters(minLatitude, minLongitude, maxLatitude, maxLongitude, zoom);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,246 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.dto.PageDTO;
+import com.immobile.real_estate_backend.model.entity.Property;
+import com.immobile.real_estate_backend.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over property names and addresses. Text is lower-cased and folded to
+ * plain ASCII letters (so "Ştefan cel Mare" and "stefan cel mare" are the same tokens),
+ * and every query term matches tokens that are equal to it, start with it, or are one
+ * edit away from it. Typo candidates come from a deletion index (every token minus one
+ * character), so no lookup ever walks the whole vocabulary.
+ * <p>
+ * Built on startup and kept in sync through {@link PropertyChangedEvent}s.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PropertyTextIndex {
+
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MIN_FUZZY_TERM_LENGTH = 4;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int EXACT_SCORE = 3;
+    private static final int PREFIX_SCORE = 2;
+    private static final int FUZZY_SCORE = 1;
+
+    private final PropertyRepository propertyRepository;
+
+    private final NavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> deletions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> tokensByProperty = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Property> properties = propertyRepository.findAll();
+        synchronized (this) {
+            postings.clear();
+            deletions.clear();
+            tokensByProperty.clear();
+            properties.forEach(this::index);
+        }
+        log.info("Property text index built with {} properties and {} distinct terms",
+                tokensByProperty.size(), postings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.property() == null) {
+            remove(event.propertyId());
+        } else {
+            index(event.property());
+        }
+    }
+
+    /**
+     * Returns the ids of properties matching every term of the query, best matches first.
+     */
+    public PageDTO<Long> search(String query, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query must contain letters or digits");
+        }
+
+        Map<Long, Integer> scores = null;
+        for (String term : terms) {
+            Map<Long, Integer> termScores = scoreTerm(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((propertyId, score) -> score + termScores.get(propertyId));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+
+        List<Long> ranked = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        int from = (int) Math.min((long) page * size, ranked.size());
+        int to = Math.min(from + size, ranked.size());
+        return PageDTO.<Long>builder()
+                .content(ranked.subList(from, to))
+                .page(page)
+                .size(size)
+                .totalElements(ranked.size())
+                .build();
+    }
+
+    private Map<Long, Integer> scoreTerm(String term) {
+        Map<Long, Integer> scores = new HashMap<>();
+
+        // Exact and prefix matches: every token sorting between term and term + MAX_VALUE.
+        postings.subMap(term, true, term + Character.MAX_VALUE, false).forEach((token, propertyIds) -> {
+            int score = token.equals(term) ? EXACT_SCORE : PREFIX_SCORE;
+            propertyIds.forEach(propertyId -> scores.merge(propertyId, score, Math::max));
+        });
+
+        if (term.length() >= MIN_FUZZY_TERM_LENGTH) {
+            for (String candidate : fuzzyCandidates(term)) {
+                Set<Long> propertyIds = postings.get(candidate);
+                if (propertyIds != null && isWithinOneEdit(term, candidate)) {
+                    propertyIds.forEach(propertyId -> scores.merge(propertyId, FUZZY_SCORE, Math::max));
+                }
+            }
+        }
+        return scores;
+    }
+
+    private Set<String> fuzzyCandidates(String term) {
+        Set<String> candidates = new HashSet<>();
+        // A token one insertion away from the term, minus that character, equals the term.
+        candidates.addAll(deletions.getOrDefault(term, Set.of()));
+        for (String deletion : deletionsOf(term)) {
+            // One deletion away from the term.
+            candidates.add(deletion);
+            // One substitution or transposition away: both lose a character at the same spot.
+            candidates.addAll(deletions.getOrDefault(deletion, Set.of()));
+        }
+        return candidates;
+    }
+
+    private synchronized void index(Property property) {
+        remove(property.getPropertyId());
+
+        Set<String> tokens = new HashSet<>();
+        tokens.addAll(tokenize(property.getName()));
+        tokens.addAll(tokenize(property.getAddress()));
+
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(property.getPropertyId());
+            for (String deletion : deletionsOf(token)) {
+                deletions.computeIfAbsent(deletion, key -> ConcurrentHashMap.newKeySet()).add(token);
+            }
+        }
+        tokensByProperty.put(property.getPropertyId(), tokens);
+    }
+
+    private synchronized void remove(Long propertyId) {
+        Set<String> tokens = tokensByProperty.remove(propertyId);
+        if (tokens == null) {
+            return;
+        }
+
+        for (String token : tokens) {
+            Set<Long> propertyIds = postings.get(token);
+            if (propertyIds == null) {
+                continue;
+            }
+            propertyIds.remove(propertyId);
+            if (propertyIds.isEmpty()) {
+                postings.remove(token);
+                for (String deletion : deletionsOf(token)) {
+                    deletions.computeIfPresent(deletion, (key, variants) -> {
+                        variants.remove(token);
+                        return variants.isEmpty() ? null : variants;
+                    });
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(TOKEN_SEPARATOR.split(folded))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private static List<String> deletionsOf(String token) {
+        if (token.length() < MIN_FUZZY_TERM_LENGTH - 1) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(token.length());
+        for (int i = 0; i < token.length(); i++) {
+            result.add(token.substring(0, i) + token.substring(i + 1));
+        }
+        return result;
+    }
+
+    /**
+     * Optimal string alignment distance <= 1: one insertion, deletion, substitution
+     * or transposition of adjacent characters.
+     */
+    static boolean isWithinOneEdit(String a, String b) {
+        int lengthDifference = a.length() - b.length();
+        if (Math.abs(lengthDifference) > 1) {
+            return false;
+        }
+
+        int i = 0;
+        while (i < Math.min(a.length(), b.length()) && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (lengthDifference > 0) {
+            return a.substring(i + 1).equals(b.substring(i));
+        }
+        if (lengthDifference < 0) {
+            return a.substring(i).equals(b.substring(i + 1));
+        }
+        if (i == a.length()) {
+            return true;
+        }
+        if (a.substring(i + 1).equals(b.substring(i + 1))) {
+            return true;
+        }
+        return i + 1 < a.length()
+                && a.charAt(i) == b.charAt(i + 1)
+                && a.charAt(i + 1) == b.charAt(i)
+                && a.substring(i + 2).equals(b.substring(i + 2));
+    }
+}
@@ -0,0 +1,88 @@
+package com.immobile.real_estate_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.immobile.real_estate_backend.model.converter.PropertyConverter;
+import com.immobile.real_estate_backend.model.dto.PublicPropertyDTO;
+import com.immobile.real_estate_backend.model.enums.PropertyStatus;
+import com.immobile.real_estate_backend.model.enums.ValidationStatus;
+import com.immobile.real_estate_backend.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized JSON of the public listing (AVAILABLE and APPROVED properties). The endpoint
+ * is anonymous, so entries are {@link PublicPropertyDTO}s rather than full property DTOs.
+ * <p>
+ * Every {@link PropertyChangedEvent} bumps the version; the next request rebuilds the
+ * snapshot once and every request after that is served from the cached bytes without
+ * touching the database. Events are only published by the create, delete, validate and
+ * status-change paths of {@link PropertyService}, after their transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PublicPropertyListingCache {
+
+    private final PropertyRepository propertyRepository;
+    private final PropertyConverter propertyConverter;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    // Versions restart at zero on every boot, so ETags are scoped to this instance's start time
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public record Snapshot(long version, String eTag, byte[] json) {
+    }
+
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (current != null && current.version() == version.get()) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            // Read before loading: a change committed mid-load bumps the version again,
+            // so the snapshot built here is replaced on the next request.
+            long loadedVersion = version.get();
+            if (current != null && current.version() == loadedVersion) {
+                return current;
+            }
+            current = new Snapshot(loadedVersion, "\"" + bootId + "-" + loadedVersion + "\"", load());
+            snapshot = current;
+            return current;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    private byte[] load() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        List<PublicPropertyDTO> properties = transactionTemplate.execute(status -> propertyConverter.toPublicPropertyDTOs(
+                propertyRepository.findByStatusAndValidationStatusOrderByPropertyId(
+                        PropertyStatus.AVAILABLE, ValidationStatus.APPROVED)));
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(properties);
+            log.debug("Rebuilt public property listing with {} properties ({} bytes)", properties.size(), json.length);
+            return json;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize public property listing", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.immobile.real_estate_backend.service;
 
 import com.immobile.real_estate_backend.model.converter.ReviewConverter;
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import com.immobile.real_estate_backend.model.dto.LeaseDTO;
 import com.immobile.real_estate_backend.model.dto.ReviewDTO;
 import com.immobile.real_estate_backend.model.entity.Lease;
@@ -15,6 +16,7 @@ import com.immobile.real_estate_backend.repository.ReviewRepository;
 import com.immobile.real_estate_backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,6 +35,7 @@ public class ReviewService {
     private final UserRepository userRepository;
     private final PropertyRepository propertyRepository;
     private final LeaseService leaseService;
+    private final TenantScoreService tenantScoreService;
 
     public List<ReviewDTO> getAllReviews() {
         try {
@@ -47,6 +50,19 @@ public class ReviewService {
         }
     }
 
+    public CursorPageDTO<ReviewDTO> getReviewsPage(String cursor, int limit) {
+        Limit queryLimit = KeysetCursor.queryLimit(limit);
+        List<Review> reviews;
+        if (cursor == null) {
+            reviews = reviewRepository.findFirstPage(queryLimit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            reviews = reviewRepository.findPageAfter(after.sortKeyAsDateTime(), after.id(), queryLimit);
+        }
+        return KeysetCursor.page(reviews, limit, Review::getCreatedAt, Review::getReviewId,
+                page -> page.stream().map(reviewConverter::toReviewDTO).toList());
+    }
+
 
     @Transactional
     public ReviewDTO createTenantReview(ReviewDTO reviewDTO, String tenantEmail) {
@@ -134,6 +150,7 @@ public class ReviewService {
 
         Review review = reviewConverter.toReview(reviewDTO);
         review = reviewRepository.save(review);
+        tenantScoreService.markTenantDirty(tenant.getUserId());
 
         return reviewConverter.toReviewDTO(review);
     }
@@ -215,15 +232,22 @@ public class ReviewService {
         existingReview.setDisplayName(reviewDTO.getDisplayName());
 
         Review updatedReview = reviewRepository.save(existingReview);
+        markTenantDirtyIfAboutTenant(updatedReview);
         return reviewConverter.toReviewDTO(updatedReview);
     }
 
     @Transactional
     public void deleteReview(Long reviewId) {
-        if (!reviewRepository.existsById(reviewId)) {
-            throw new RuntimeException("Review not found with id: " + reviewId);
+        Review review = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new RuntimeException("Review not found with id: " + reviewId));
+        reviewRepository.delete(review);
+        markTenantDirtyIfAboutTenant(review);
+    }
+
+    private void markTenantDirtyIfAboutTenant(Review review) {
+        if (review.getReviewType() == ReviewType.LANDLORD_TO_TENANT) {
+            tenantScoreService.markTenantDirty(review.getTenant().getUserId());
         }
-        reviewRepository.deleteById(reviewId);
     }
 
     public List<Long> getReviewedLeaseIdsByLandlord(String landlordEmail) {
@@ -0,0 +1,284 @@
+package com.immobile.real_estate_backend.service;
+
+import com.google.gson.JsonParseException;
+import com.immobile.real_estate_backend.model.entity.StripeEvent;
+import com.immobile.real_estate_backend.model.enums.StripeEventStatus;
+import com.immobile.real_estate_backend.repository.StripeEventRepository;
+import com.stripe.StripeClient;
+import com.stripe.exception.InvalidRequestException;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.Event;
+import com.stripe.model.StripeObject;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.ApiResource;
+import com.stripe.net.Webhook;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Inbox for Stripe events. Webhook deliveries are verified against the signing secret,
+ * stored as received under their event id and acknowledged; a worker pool then records
+ * the payments. A redelivered event finds its id already stored and is not processed
+ * again. When a tenant returns from Checkout before the webhook arrived, the session is
+ * queued here as well and looked up on Stripe by a worker, never on the request thread.
+ * <p>
+ * Events are claimed one at a time by pushing their next attempt past {@link #claimTimeout}.
+ * Failures are retried with exponential backoff until {@code stripe.events.max-attempts},
+ * after which the event is marked FAILED. Events that are pending because the pool was
+ * full or the application stopped are picked up by {@link #processDue()}.
+ */
+@Service
+@Slf4j
+public class StripeEventService {
+
+    static final String CHECKOUT_COMPLETED = "checkout.session.completed";
+    static final String CHECKOUT_ASYNC_PAYMENT_SUCCEEDED = "checkout.session.async_payment_succeeded";
+    static final String CHECKOUT_CONFIRMATION = "checkout.session.confirmation";
+    static final String CONFIRMATION_PREFIX = "confirm:";
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+    private static final int MAX_SESSION_ID_LENGTH = 200;
+
+    private final StripeEventRepository stripeEventRepository;
+    private final PaymentService paymentService;
+    private final StripeClient stripeClient;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor stripeEventExecutor;
+    private final String webhookSecret;
+    private final Duration signatureTolerance;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+
+    public StripeEventService(StripeEventRepository stripeEventRepository,
+                              PaymentService paymentService,
+                              StripeClient stripeClient,
+                              PlatformTransactionManager transactionManager,
+                              @Qualifier("stripeEventExecutor") TaskExecutor stripeEventExecutor,
+                              @Value("${stripe.keys.webhook-secret:}") String webhookSecret,
+                              @Value("${stripe.webhook.tolerance:5m}") Duration signatureTolerance,
+                              @Value("${stripe.events.batch-size:50}") int batchSize,
+                              @Value("${stripe.events.max-attempts:8}") int maxAttempts,
+                              @Value("${stripe.events.initial-backoff:30s}") Duration initialBackoff,
+                              @Value("${stripe.events.max-backoff:1h}") Duration maxBackoff,
+                              @Value("${stripe.events.claim-timeout:5m}") Duration claimTimeout) {
+        this.stripeEventRepository = stripeEventRepository;
+        this.paymentService = paymentService;
+        this.stripeClient = stripeClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripeEventExecutor = stripeEventExecutor;
+        this.webhookSecret = webhookSecret;
+        this.signatureTolerance = signatureTolerance;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+    }
+
+    /**
+     * Verifies and stores one webhook delivery. Returns {@code false} when the event was
+     * already received; Stripe gets a 2xx either way so it stops redelivering.
+     */
+    public boolean receive(String payload, String signatureHeader) {
+        if (webhookSecret.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Stripe webhooks are not configured");
+        }
+
+        Event event;
+        try {
+            event = Webhook.constructEvent(payload, signatureHeader, webhookSecret, signatureTolerance.toSeconds());
+        } catch (SignatureVerificationException e) {
+            log.warn("Rejected Stripe webhook with an invalid signature: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Stripe signature");
+        } catch (JsonParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed Stripe event");
+        }
+
+        return store(event.getId(), event.getType(), payload);
+    }
+
+    /**
+     * Queues a lookup of a Checkout session the tenant says is paid. The session is
+     * retrieved from Stripe by a worker and recorded like a webhook event.
+     */
+    public StripeEventStatus requestConfirmation(String sessionId) {
+        validateSessionId(sessionId);
+        store(CONFIRMATION_PREFIX + sessionId, CHECKOUT_CONFIRMATION, sessionId);
+        return getConfirmationStatus(sessionId);
+    }
+
+    public StripeEventStatus getConfirmationStatus(String sessionId) {
+        validateSessionId(sessionId);
+        return stripeEventRepository.findById(CONFIRMATION_PREFIX + sessionId)
+                .map(StripeEvent::getStatus)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown checkout session"));
+    }
+
+    /**
+     * Hands up to one batch of due events to the worker pool. Returns how many were found.
+     */
+    public int processDue() {
+        List<String> due = stripeEventRepository.findDueIds(LocalDateTime.now(), Limit.of(batchSize));
+        due.forEach(this::dispatch);
+        return due.size();
+    }
+
+    private boolean store(String eventId, String type, String payload) {
+        boolean stored;
+        try {
+            stored = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (stripeEventRepository.existsById(eventId)) {
+                    return false;
+                }
+                stripeEventRepository.saveAndFlush(StripeEvent.builder()
+                        .eventId(eventId)
+                        .type(type)
+                        .payload(payload)
+                        .status(StripeEventStatus.PENDING)
+                        .build());
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Stored concurrently by another delivery of the same event
+            stored = false;
+        }
+
+        if (stored) {
+            dispatch(eventId);
+        } else {
+            log.debug("Stripe event {} was already received", eventId);
+        }
+        return stored;
+    }
+
+    private void dispatch(String eventId) {
+        stripeEventExecutor.execute(() -> process(eventId));
+    }
+
+    void process(String eventId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (stripeEventRepository.claim(eventId, now, now.plus(claimTimeout)) == 0) {
+            return;
+        }
+
+        Optional<StripeEvent> stored = stripeEventRepository.findById(eventId);
+        if (stored.isEmpty()) {
+            return;
+        }
+        StripeEvent event = stored.get();
+        try {
+            StripeEventStatus outcome = handle(event);
+            stripeEventRepository.markDone(eventId, outcome, LocalDateTime.now());
+        } catch (InvalidRequestException e) {
+            // Unknown session or similar; asking Stripe again will not change the answer
+            recordFailure(event, e, false);
+        } catch (StripeException | RuntimeException e) {
+            recordFailure(event, e, true);
+        }
+    }
+
+    private StripeEventStatus handle(StripeEvent event) throws StripeException {
+        return switch (event.getType()) {
+            case CHECKOUT_COMPLETED, CHECKOUT_ASYNC_PAYMENT_SUCCEEDED -> recordCheckout(readSession(event));
+            case CHECKOUT_CONFIRMATION -> recordCheckout(stripeClient.checkout().sessions().retrieve(event.getPayload()));
+            default -> StripeEventStatus.IGNORED;
+        };
+    }
+
+    private Session readSession(StripeEvent event) throws StripeException {
+        Event stripeEvent = ApiResource.GSON.fromJson(event.getPayload(), Event.class);
+        StripeObject object = stripeEvent.getDataObjectDeserializer().deserializeUnsafe();
+        if (!(object instanceof Session session)) {
+            throw new IllegalStateException("Event " + event.getEventId() + " does not carry a checkout session");
+        }
+        return session;
+    }
+
+    private StripeEventStatus recordCheckout(Session session) {
+        // Delayed payment methods complete unpaid and are recorded on async_payment_succeeded
+        if (!"paid".equals(session.getPaymentStatus())) {
+            log.info("Checkout session {} is not paid yet ({})", session.getId(), session.getPaymentStatus());
+            return StripeEventStatus.IGNORED;
+        }
+
+        String leaseIdStr = session.getMetadata() == null ? null : session.getMetadata().get("leaseId");
+        if (leaseIdStr == null) {
+            log.warn("Checkout session {} has no leaseId metadata", session.getId());
+            return StripeEventStatus.IGNORED;
+        }
+        if (session.getAmountTotal() == null || session.getCreated() == null) {
+            throw new IllegalStateException("Checkout session " + session.getId() + " has no amount or creation time");
+        }
+
+        // The session's own time decides the cycle, however late the event is processed
+        PaymentService.StripeCheckout checkout = new PaymentService.StripeCheckout(
+                session.getId(),
+                Long.parseLong(leaseIdStr),
+                BigDecimal.valueOf(session.getAmountTotal(), 2),
+                Instant.ofEpochSecond(session.getCreated()).atZone(ZoneId.systemDefault()).toLocalDate());
+
+        try {
+            paymentService.recordStripeCheckout(checkout);
+        } catch (ResponseStatusException e) {
+            // A conflict is also reported when the lease lock is busy; only a recorded session is final
+            if (e.getStatusCode() != HttpStatus.CONFLICT || !paymentService.isStripeSessionRecorded(session.getId())) {
+                throw e;
+            }
+            log.info("Checkout session {} was recorded concurrently", session.getId());
+        }
+        return StripeEventStatus.PROCESSED;
+    }
+
+    private void recordFailure(StripeEvent event, Exception e, boolean retryable) {
+        int attempts = event.getAttempts() + 1;
+        String error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        if (!retryable || attempts >= maxAttempts) {
+            log.error("Stripe event {} ({}) failed after {} attempts: {}",
+                    event.getEventId(), event.getType(), attempts, error);
+            stripeEventRepository.markAttemptFailed(event.getEventId(), StripeEventStatus.FAILED, attempts,
+                    LocalDateTime.now(), error);
+        } else {
+            Duration backoff = backoff(attempts);
+            log.warn("Stripe event {} ({}) failed (attempt {}), retrying in {}: {}",
+                    event.getEventId(), event.getType(), attempts, backoff, error);
+            stripeEventRepository.markAttemptFailed(event.getEventId(), StripeEventStatus.PENDING, attempts,
+                    LocalDateTime.now().plus(backoff), error);
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private void validateSessionId(String sessionId) {
+        if (sessionId == null || sessionId.isBlank() || sessionId.length() > MAX_SESSION_ID_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid checkout session id");
+        }
+    }
+}
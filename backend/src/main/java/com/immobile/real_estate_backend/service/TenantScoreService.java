@@ -13,9 +13,15 @@ import com.immobile.real_estate_backend.repository.LeaseRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,13 +37,50 @@ public class TenantScoreService {
     private static final double WEIGHT_FEEDBACK = 0.4;
     private final TenantStatsConverter tenantStatsConverter;
 
+    // Held in memory only: marks pending at shutdown are lost, and the nightly reconciliation
+    // in TenantScoreScheduler is what bounds how long a tenant's score can stay stale
+    private final Set<Long> dirtyTenants = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Queues the tenant for score recomputation once the current transaction commits,
+     * so the worker never recomputes from data that is not visible yet.
+     */
+    public void markTenantDirty(Long tenantId) {
+        if (tenantId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirtyTenants.add(tenantId);
+                }
+            });
+        } else {
+            dirtyTenants.add(tenantId);
+        }
+    }
+
+    public List<Long> pollDirtyTenants(int maxTenants) {
+        List<Long> batch = new ArrayList<>(maxTenants);
+        Iterator<Long> iterator = dirtyTenants.iterator();
+
+        while (iterator.hasNext() && batch.size() < maxTenants) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        return batch;
+    }
+
     @Transactional
     public void updateScoreForTenant(Long tenantId) {
-        double paymentScore = getPaymentPunctualityScore(tenantId);
+        List<Payment> payments = paymentRepository.findCompletedByTenantId(tenantId);
+
+        double paymentScore = getPaymentPunctualityScore(payments);
         double feedbackScore = getFeedbackScore(tenantId);
         double overallScore = (paymentScore * WEIGHT_PAYMENT) + (feedbackScore * WEIGHT_FEEDBACK);
 
-        List<Payment> payments = paymentRepository.findCompletedByTenantId(tenantId);
         int totalPayments = payments.size();
         int latePayments = (int) payments.stream().filter(p -> Boolean.TRUE.equals(p.getWasLate())).count();
         int onTimePayments = totalPayments - latePayments;
@@ -84,8 +127,10 @@ public class TenantScoreService {
     }
 
     public double getPaymentPunctualityScore(Long tenantId) {
-        List<Payment> payments = paymentRepository.findCompletedByTenantId(tenantId);
+        return getPaymentPunctualityScore(paymentRepository.findCompletedByTenantId(tenantId));
+    }
 
+    private double getPaymentPunctualityScore(List<Payment> payments) {
         if (payments.isEmpty()) return 3.0;
 
         long lateCount = payments.stream().filter(p -> Boolean.TRUE.equals(p.getWasLate())).count();
@@ -1,6 +1,7 @@
 package com.immobile.real_estate_backend.service;
 
 import com.immobile.real_estate_backend.model.converter.UserConverter;
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import com.immobile.real_estate_backend.model.dto.RentCollectionDTO;
 import com.immobile.real_estate_backend.model.dto.UserDTO;
 import com.immobile.real_estate_backend.model.entity.Role;
@@ -10,6 +11,7 @@ import com.immobile.real_estate_backend.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -20,7 +22,6 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -30,6 +31,7 @@ public class UserService {
     private final UserConverter userConverter;
     private final RoleService roleService;
     private final PaymentRepository paymentRepository;
+    private final UserStateCache userStateCache;
 
     @Transactional
     public UserDTO createUser(UserDTO userDTO) {
@@ -43,6 +45,7 @@ public class UserService {
         }
 
         User saved = userRepository.save(user);
+        userStateCache.evictAfterCommit(saved.getUserId());
         return userConverter.toUserDTO(saved);
     }
 
@@ -55,14 +58,28 @@ public class UserService {
         return user != null ? userConverter.toUserDTO(user) : null;
     }
 
-    public List<User> getAllUsers(){
-        return userRepository.findAll();
+    public List<UserDTO> getUsersByIds(List<Long> userIds) {
+        KeysetCursor.checkBatchSize(userIds.size());
+        return userRepository.findAllById(userIds).stream()
+                .map(userConverter::toUserDTO)
+                .toList();
     }
 
-    public List<UserDTO> getAllUsersDTO() {
-        return getAllUsers().stream()
-                .map(userConverter::toUserDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<UserDTO> getUsersPage(String cursor, int limit) {
+        Limit queryLimit = KeysetCursor.queryLimit(limit);
+        List<User> users;
+        if (cursor == null) {
+            users = userRepository.findFirstPage(queryLimit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            users = userRepository.findPageAfter(after.sortKey(), after.id(), queryLimit);
+        }
+        return KeysetCursor.page(users, limit, User::getEmail, User::getUserId,
+                page -> page.stream().map(userConverter::toUserDTO).toList());
+    }
+
+    public long countUsers() {
+        return userRepository.count();
     }
 
     public UserDTO getUserDTO(Long id) {
@@ -76,6 +93,7 @@ public class UserService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
         }
         userRepository.deleteByUserId(id);
+        userStateCache.evictAfterCommit(id);
     }
 
     public void deactivateUser(Long userId) {
@@ -84,6 +102,7 @@ public class UserService {
         user.setIsActive(false);
         user.setDeactivatedAt(LocalDateTime.now());
         userRepository.save(user);
+        userStateCache.evictAfterCommit(userId);
     }
 
     public void activateUser(Long userId) {
@@ -92,6 +111,7 @@ public class UserService {
         user.setIsActive(true);
         user.setDeactivatedAt(null);
         userRepository.save(user);
+        userStateCache.evictAfterCommit(userId);
     }
 
     public User getUserByEmail(String email) {
@@ -112,7 +132,9 @@ public class UserService {
                 .toList();
 
         user.setRoles(roles);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userStateCache.evictAfterCommit(saved.getUserId());
+        return saved;
     }
 
     @Transactional
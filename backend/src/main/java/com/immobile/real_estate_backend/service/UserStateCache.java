@@ -0,0 +1,119 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Short-lived cache of the account state the JWT filter needs on every request
+ * (active flag and current roles), keyed by email. Entries expire after
+ * {@code user-state-cache.ttl} and are evicted by {@link UserService}, once its
+ * transaction commits, when a user is activated, deactivated, deleted or has its roles
+ * changed.
+ */
+@Service
+public class UserStateCache {
+
+    private final UserRepository userRepository;
+    private final Duration ttl;
+    private final int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public UserStateCache(UserRepository userRepository,
+                          @Value("${user-state-cache.ttl:5m}") Duration ttl,
+                          @Value("${user-state-cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+    }
+
+    public record UserState(Long userId, boolean active, Set<String> authorities) {
+
+        /**
+         * The authorities of a token that the user still holds. The signed claim is
+         * trusted, but roles revoked since the token was issued are dropped.
+         */
+        public List<String> grantedOf(Collection<String> claimed) {
+            return claimed.stream()
+                    .filter(authorities::contains)
+                    .toList();
+        }
+    }
+
+    private record Entry(UserState state, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    public Optional<UserState> get(String email) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry != null && !entry.isExpired(now)) {
+            return Optional.of(entry.state());
+        }
+
+        Optional<UserState> state = userRepository.findByEmail(email)
+                .map(user -> new UserState(
+                        user.getUserId(),
+                        !Boolean.FALSE.equals(user.getIsActive()),
+                        user.getRoles().stream()
+                                .map(role -> "ROLE_" + role.getName())
+                                .collect(Collectors.toUnmodifiableSet())));
+
+        // Unknown emails are not cached so a freshly registered user is never shadowed.
+        state.ifPresentOrElse(s -> put(email, s, now), () -> entries.remove(email));
+        return state;
+    }
+
+    /**
+     * Evicts the user once the surrounding transaction commits, so a request in between
+     * cannot cache the state that is about to change. Without a transaction the user is
+     * evicted at once.
+     */
+    public void evictAfterCommit(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    private void evict(Long userId) {
+        entries.values().removeIf(entry -> userId.equals(entry.state().userId()));
+    }
+
+    public void evictAll() {
+        entries.clear();
+    }
+
+    private void put(String email, UserState state, long now) {
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> entry.isExpired(now));
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(email, new Entry(state, now + ttl.toMillis()));
+    }
+}
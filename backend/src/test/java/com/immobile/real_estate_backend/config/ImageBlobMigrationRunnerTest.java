@@ -0,0 +1,44 @@
+package com.immobile.real_estate_backend.config;
+
+import com.immobile.real_estate_backend.service.ImageService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageBlobMigrationRunnerTest {
+
+    @Mock
+    private ImageService imageService;
+
+    @InjectMocks
+    private ImageBlobMigrationRunner runner;
+
+    @Test
+    void run_ShouldDoNothing_WithoutOption() {
+        runner.run(new DefaultApplicationArguments());
+
+        verifyNoInteractions(imageService);
+    }
+
+    @Test
+    void run_ShouldMigrateEveryImage_AndContinueAfterFailure() {
+        when(imageService.getImageIdsWithLegacyContent()).thenReturn(List.of(1L, 2L, 3L));
+        when(imageService.migrateLegacyContent(1L)).thenReturn(true);
+        when(imageService.migrateLegacyContent(2L)).thenThrow(new RuntimeException("disk full"));
+        when(imageService.migrateLegacyContent(3L)).thenReturn(true);
+
+        runner.run(new DefaultApplicationArguments("--" + ImageBlobMigrationRunner.OPTION));
+
+        verify(imageService).migrateLegacyContent(1L);
+        verify(imageService).migrateLegacyContent(2L);
+        verify(imageService).migrateLegacyContent(3L);
+    }
+}
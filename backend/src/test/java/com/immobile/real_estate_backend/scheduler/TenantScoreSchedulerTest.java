@@ -0,0 +1,55 @@
+package com.immobile.real_estate_backend.scheduler;
+
+import com.immobile.real_estate_backend.repository.UserRepository;
+import com.immobile.real_estate_backend.service.TenantScoreService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantScoreSchedulerTest {
+
+    @Mock
+    private TenantScoreService tenantScoreService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TenantScoreScheduler tenantScoreScheduler;
+
+    @Test
+    void updateDirtyTenantScores_ShouldRequeueTenantsWhoseRecomputeFailed() {
+        when(tenantScoreService.pollDirtyTenants(anyInt())).thenReturn(List.of(1L, 2L), List.of());
+        doThrow(new IllegalStateException("boom")).when(tenantScoreService).updateScoreForTenant(1L);
+
+        tenantScoreScheduler.updateDirtyTenantScores();
+
+        verify(tenantScoreService).updateScoreForTenant(2L);
+        verify(tenantScoreService).markTenantDirty(1L);
+        verify(tenantScoreService, never()).markTenantDirty(2L);
+    }
+
+    @Test
+    void markStaleTenantsDirty_ShouldQueueOnlyTenantsWithoutRecentStats() {
+        when(userRepository.findTenantIdsWithoutStatsSince(any())).thenAnswer(invocation -> {
+            LocalDateTime since = invocation.getArgument(0);
+            assertTrue(since.isBefore(LocalDateTime.now().minusHours(23)));
+            return List.of(3L);
+        });
+
+        tenantScoreScheduler.markStaleTenantsDirty();
+
+        verify(tenantScoreService).markTenantDirty(3L);
+        verify(userRepository, never()).findAllByRole(any());
+    }
+}
@@ -0,0 +1,244 @@
+package com.immobile.real_estate_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityLogWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path tempDir;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private ActivityLogWriter newWriter(int queueCapacity) {
+        return newWriter(queueCapacity, 200);
+    }
+
+    private ActivityLogWriter newWriter(int queueCapacity, int batchSize) {
+        return new ActivityLogWriter(jdbcTemplate, transactionManager, objectMapper, meterRegistry,
+                queueCapacity, batchSize, Duration.ofMillis(50), tempDir.resolve("overflow.ndjson"));
+    }
+
+    private static ActivityLogEvent event(long entityId, Object details) {
+        return new ActivityLogEvent(1L, "CREATE_PROPERTY", "Property", entityId, details, LocalDateTime.now());
+    }
+
+    private double count(String name) {
+        return meterRegistry.counter(name).count();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void record_ShouldWriteQueuedEventsInOneBatch() throws Exception {
+        ActivityLogWriter writer = newWriter(100);
+
+        writer.record(event(1L, "first"));
+        writer.record(event(2L, Map.of("name", "Garsonieră")));
+        writer.record(event(3L, null));
+        writer.start();
+        writer.stop();
+
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO activity_logs"),
+                argThat(events -> events.size() == 3), eq(200), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(3, count("activity_log.enqueued"));
+        assertEquals(3, count("activity_log.written"));
+        assertEquals(0, count("activity_log.overflowed"));
+    }
+
+    @Test
+    void flush_ShouldInsertIntoTheSchemaHibernateGenerates() throws Exception {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try {
+            JdbcTemplate h2 = new JdbcTemplate(database);
+            // Copied from the DDL Hibernate logs for ActivityLog, including its quoted "entity_id"
+            h2.execute("""
+                    CREATE TABLE activity_logs (created_at timestamp(6) not null, "entity_id" bigint not null,
+                        id bigint generated by default as identity, user_id bigint not null, details varchar(1024),
+                        action_type varchar(255) not null, entity_type varchar(255) not null, primary key (id))
+                    """);
+            ActivityLogWriter writer = new ActivityLogWriter(h2, new DataSourceTransactionManager(database),
+                    objectMapper, meterRegistry, 100, 200, Duration.ofMillis(50), tempDir.resolve("overflow.ndjson"));
+
+            writer.record(event(7L, "first"));
+            writer.record(event(8L, Map.of("name", "Garsonieră")));
+            writer.start();
+            writer.stop();
+
+            List<Map<String, Object>> rows = h2.queryForList(
+                    "SELECT \"entity_id\", details FROM activity_logs ORDER BY \"entity_id\"");
+            assertEquals(2, rows.size());
+            assertEquals(7L, rows.get(0).get("entity_id"));
+            assertEquals("{\"name\":\"Garsonieră\"}", rows.get(1).get("DETAILS"));
+            assertEquals(0, count("activity_log.failed_batches"));
+            assertFalse(Files.exists(tempDir.resolve("overflow.ndjson")));
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    void record_ShouldWaitForTheSurroundingTransactionToCommit() {
+        ActivityLogWriter writer = newWriter(100);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writer.record(event(1L, "details"));
+            assertEquals(0, count("activity_log.enqueued"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, count("activity_log.enqueued"));
+    }
+
+    @Test
+    void record_ShouldSpillToOverflowFile_WhenQueueIsFull() throws Exception {
+        ActivityLogWriter writer = newWriter(1);
+        String longDetails = "x".repeat(2000);
+
+        writer.record(event(1L, "queued"));
+        writer.record(event(2L, longDetails));
+
+        List<String> lines = Files.readAllLines(tempDir.resolve("overflow.ndjson"));
+        assertEquals(1, lines.size());
+        ActivityLogEvent spilled = objectMapper.readValue(lines.get(0), ActivityLogEvent.class);
+        assertEquals(2L, spilled.entityId());
+        assertEquals(1024, ((String) spilled.details()).length());
+        assertEquals(1, count("activity_log.overflowed"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedBatch_ShouldBeReplayedFromOverflowFile() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("database unavailable"))
+                .thenReturn(new int[][]{{1}});
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("database unavailable"));
+        ActivityLogWriter writer = newWriter(100);
+        writer.start();
+
+        writer.record(event(1L, "details"));
+
+        verify(jdbcTemplate, timeout(5000).times(2))
+                .batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        writer.stop();
+
+        assertFalse(Files.exists(tempDir.resolve("overflow.ndjson")));
+        assertFalse(Files.exists(tempDir.resolve("overflow.ndjson.replaying")));
+        assertEquals(1, count("activity_log.failed_batches"));
+        assertEquals(1, count("activity_log.overflowed"));
+        assertEquals(1, count("activity_log.written"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedBatch_ShouldWriteOneByOneAndDeadLetterRejectedEntries() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("user does not exist"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("user does not exist"))
+                .thenReturn(1);
+        ActivityLogWriter writer = newWriter(100);
+
+        writer.record(event(1L, "first"));
+        writer.record(event(2L, "deleted user"));
+        writer.record(event(3L, "third"));
+        writer.start();
+        writer.stop();
+
+        verify(jdbcTemplate, times(3)).update(anyString(), any(PreparedStatementSetter.class));
+        List<String> dead = Files.readAllLines(tempDir.resolve("overflow.ndjson.dead"));
+        assertEquals(1, dead.size());
+        assertEquals(2L, objectMapper.readValue(dead.get(0), ActivityLogEvent.class).entityId());
+        assertFalse(Files.exists(tempDir.resolve("overflow.ndjson")));
+        assertEquals(2, count("activity_log.written"));
+        assertEquals(1, count("activity_log.dead_lettered"));
+        assertEquals(0, count("activity_log.overflowed"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replayOverflow_ShouldKeepOnlyUnwrittenEntries_AndThenTakeNewOverflow() throws Exception {
+        Path replaying = tempDir.resolve("overflow.ndjson.replaying");
+        Files.write(replaying, List.of(
+                objectMapper.writeValueAsString(event(1L, "a")),
+                objectMapper.writeValueAsString(event(2L, "b")),
+                "not json",
+                objectMapper.writeValueAsString(event(3L, "c"))));
+        Files.write(tempDir.resolve("overflow.ndjson"), List.of(objectMapper.writeValueAsString(event(4L, "d"))));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1, 1}})
+                .thenThrow(new DataAccessResourceFailureException("database unavailable"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("database unavailable"));
+
+        newWriter(100, 2).replayOverflow();
+
+        // The first batch is committed and the unreadable line dead-lettered; only entry 3 is left
+        List<String> left = Files.readAllLines(replaying);
+        assertEquals(1, left.size());
+        assertEquals(3L, objectMapper.readValue(left.get(0), ActivityLogEvent.class).entityId());
+        assertEquals(List.of("not json"), Files.readAllLines(tempDir.resolve("overflow.ndjson.dead")));
+        assertTrue(Files.exists(tempDir.resolve("overflow.ndjson")));
+
+        reset(jdbcTemplate);
+        newWriter(100, 2).replayOverflow();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat(events -> events.size() == 1
+                        && ((ActivityLogEvent) events.iterator().next()).entityId() == 3L),
+                anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat(events -> events.size() == 1
+                        && ((ActivityLogEvent) events.iterator().next()).entityId() == 4L),
+                anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertFalse(Files.exists(replaying));
+        assertFalse(Files.exists(tempDir.resolve("overflow.ndjson")));
+    }
+}
@@ -0,0 +1,65 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.Lease;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BillingCalendarTest {
+
+    private final BillingCalendar billingCalendar = new BillingCalendar();
+
+    @Test
+    void cycleStart_ShouldClampToShortMonths() {
+        LocalDate leaseStart = LocalDate.of(2024, 1, 31);
+
+        assertEquals(LocalDate.of(2024, 2, 29), billingCalendar.cycleStart(leaseStart, 1));
+        assertEquals(LocalDate.of(2024, 3, 31), billingCalendar.cycleStart(leaseStart, 2));
+        assertEquals(LocalDate.of(2024, 3, 30), billingCalendar.cycleEnd(leaseStart, 1));
+    }
+
+    @Test
+    void cycleNumber_ShouldStepBackBeforeTheAnniversary() {
+        LocalDate leaseStart = LocalDate.of(2024, 1, 15);
+
+        assertEquals(2, billingCalendar.cycleNumber(leaseStart, LocalDate.of(2024, 3, 20)));
+        assertEquals(1, billingCalendar.cycleNumber(leaseStart, LocalDate.of(2024, 3, 14)));
+        assertEquals(LocalDate.of(2024, 2, 15), billingCalendar.cycleStart(leaseStart, LocalDate.of(2024, 3, 14)));
+    }
+
+    @Test
+    void dueDate_ShouldClampDueDayToShortMonths() {
+        LocalDate leaseStart = LocalDate.of(2024, 1, 31);
+
+        assertEquals(LocalDate.of(2024, 2, 29), billingCalendar.dueDate(leaseStart, YearMonth.of(2024, 2)));
+        assertEquals(LocalDate.of(2024, 4, 30), billingCalendar.dueDate(leaseStart, YearMonth.of(2024, 4)));
+        assertEquals(LocalDate.of(2024, 5, 31), billingCalendar.dueDate(leaseStart, YearMonth.of(2024, 5)));
+    }
+
+    @Test
+    void isLate_ShouldCompareAgainstDueDayOfPaymentMonth() {
+        LocalDate leaseStart = LocalDate.of(2024, 1, 31);
+
+        assertFalse(billingCalendar.isLate(LocalDate.of(2024, 2, 29), leaseStart));
+        assertTrue(billingCalendar.isLate(LocalDate.of(2024, 3, 31), LocalDate.of(2024, 1, 30)));
+        assertFalse(billingCalendar.isLate(LocalDate.of(2024, 4, 30), leaseStart));
+    }
+
+    @Test
+    void isLate_ShouldTreatPaymentsBeforeTheDueDayAsOnTime() {
+        assertFalse(billingCalendar.isLate(LocalDate.of(2024, 3, 15), LocalDate.of(2024, 1, 31)));
+        assertFalse(billingCalendar.isLate(LocalDate.of(2024, 3, 3), LocalDate.of(2024, 1, 5)));
+        assertFalse(billingCalendar.isLate(LocalDate.of(2024, 3, 5), LocalDate.of(2024, 1, 5)));
+        assertTrue(billingCalendar.isLate(LocalDate.of(2024, 3, 6), LocalDate.of(2024, 1, 5)));
+    }
+
+    @Test
+    void lateness_ShouldBeUnknown_WhenLeaseHasNoStartDate() {
+        assertNull(billingCalendar.lateness(Lease.builder().build(), LocalDate.of(2024, 2, 3)));
+        assertEquals(Boolean.TRUE, billingCalendar.lateness(
+                Lease.builder().startDate(LocalDate.of(2024, 1, 1)).build(), LocalDate.of(2024, 2, 3)));
+    }
+}
@@ -0,0 +1,169 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.converter.BillingCycleConverter;
+import com.immobile.real_estate_backend.model.entity.BillingCycle;
+import com.immobile.real_estate_backend.model.entity.BillingCycleId;
+import com.immobile.real_estate_backend.model.entity.Lease;
+import com.immobile.real_estate_backend.model.entity.Payment;
+import com.immobile.real_estate_backend.model.enums.LeaseStatus;
+import com.immobile.real_estate_backend.model.enums.PaymentStatus;
+import com.immobile.real_estate_backend.repository.BillingCycleRepository;
+import com.immobile.real_estate_backend.repository.LeaseRepository;
+import com.immobile.real_estate_backend.repository.PaymentRepository;
+import com.immobile.real_estate_backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BillingCycleServiceTest {
+
+    @Mock
+    private BillingCycleRepository billingCycleRepository;
+
+    @Mock
+    private LeaseRepository leaseRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BillingCycleService billingCycleService;
+
+    private Lease lease;
+
+    @BeforeEach
+    void setUp() {
+        billingCycleService = new BillingCycleService(billingCycleRepository, leaseRepository, paymentRepository,
+                userRepository, new BillingCycleConverter(), new BillingCalendar(), jdbcTemplate, transactionManager, 12, 2);
+
+        lease = Lease.builder()
+                .leaseId(1L)
+                .startDate(LocalDate.of(2024, 1, 31))
+                .endDate(LocalDate.of(2024, 12, 31))
+                .monthlyRent(BigDecimal.valueOf(1200))
+                .build();
+    }
+
+    @Test
+    void buildMissingCycles_ShouldCoverTheWholeTerm() {
+        List<BillingCycle> cycles = billingCycleService.buildMissingCycles(lease, LocalDate.of(2023, 12, 1));
+
+        assertEquals(11, cycles.size());
+        BillingCycle february = cycles.get(1);
+        assertEquals(new BillingCycleId(1L, 1), february.getId());
+        assertEquals(LocalDate.of(2024, 2, 29), february.getStartDate());
+        assertEquals(LocalDate.of(2024, 3, 30), february.getEndDate());
+        assertEquals(LocalDate.of(2024, 2, 29), february.getDueDate());
+        assertEquals(LocalDate.of(2024, 12, 30), cycles.get(10).getEndDate());
+        verifyNoInteractions(paymentRepository);
+    }
+
+    @Test
+    void buildMissingCycles_ShouldMarkStartedCyclesPaidFromCompletedPayments() {
+        when(paymentRepository.findByLeaseLeaseId(1L)).thenReturn(List.of(
+                payment(10L, LocalDate.of(2024, 2, 2), PaymentStatus.COMPLETED),
+                payment(11L, LocalDate.of(2024, 3, 1), PaymentStatus.PENDING)));
+
+        List<BillingCycle> cycles = billingCycleService.buildMissingCycles(lease, LocalDate.of(2024, 3, 5));
+
+        assertTrue(cycles.get(0).isPaid());
+        assertEquals(10L, cycles.get(0).getPaymentId());
+        assertFalse(cycles.get(1).isPaid());
+    }
+
+    @Test
+    void buildMissingCycles_ShouldOnlyAddCyclesAfterTheLastOne() {
+        when(billingCycleRepository.findLastCycleNumber(1L)).thenReturn(Optional.of(8));
+
+        List<BillingCycle> cycles = billingCycleService.buildMissingCycles(lease, LocalDate.of(2023, 12, 1));
+
+        assertEquals(List.of(9, 10), cycles.stream().map(c -> c.getId().getCycleNumber()).toList());
+    }
+
+    @Test
+    void findCycle_ShouldLookUpCurrentCycleByPrimaryKey() {
+        BillingCycle cycle = BillingCycle.builder().id(new BillingCycleId(1L, 2)).build();
+        when(billingCycleRepository.findById(new BillingCycleId(1L, 2))).thenReturn(Optional.of(cycle));
+
+        assertEquals(Optional.of(cycle), billingCycleService.findCycle(lease, LocalDate.of(2024, 4, 2)));
+        assertEquals(Optional.empty(), billingCycleService.findCycle(lease, LocalDate.of(2024, 1, 2)));
+    }
+
+    @Test
+    void markPaid_ShouldReturnConflict_WhenCycleIsAlreadyPaid() {
+        BillingCycle cycle = BillingCycle.builder().id(new BillingCycleId(1L, 2)).build();
+        Payment payment = payment(12L, LocalDate.of(2024, 3, 31), PaymentStatus.COMPLETED);
+        when(billingCycleRepository.markPaid(cycle.getId(), 12L, payment.getPaymentDate())).thenReturn(0);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> billingCycleService.markPaid(cycle, payment));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+    }
+
+    @Test
+    void generateForActiveLeases_ShouldLookUpLastCyclesAndPaymentsOncePerChunk() {
+        Lease caughtUp = Lease.builder().leaseId(2L).startDate(lease.getStartDate()).endDate(lease.getEndDate()).build();
+        Lease third = Lease.builder().leaseId(3L).startDate(lease.getStartDate()).endDate(lease.getEndDate()).build();
+        when(leaseRepository.findByStatusAfter(eq(LeaseStatus.ACTIVE), anyLong(), eq(Limit.of(2))))
+                .thenAnswer(invocation -> invocation.<Long>getArgument(1) == 0L ? List.of(lease, caughtUp) : List.of(third));
+        when(billingCycleRepository.findLastCycleNumbers(any())).thenAnswer(invocation ->
+                invocation.<List<Long>>getArgument(0).contains(2L) ? List.of(lastCycle(2L, 10)) : List.of());
+        when(paymentRepository.findCompletedByLeaseIds(any())).thenAnswer(invocation ->
+                invocation.<List<Long>>getArgument(0).contains(1L)
+                        ? List.of(payment(10L, LocalDate.of(2024, 2, 2), PaymentStatus.COMPLETED))
+                        : List.of());
+
+        assertEquals(22, billingCycleService.generateForActiveLeases());
+
+        verify(billingCycleRepository, times(2)).findLastCycleNumbers(any());
+        verify(paymentRepository).findCompletedByLeaseIds(List.of(1L));
+        verify(paymentRepository).findCompletedByLeaseIds(List.of(3L));
+        verify(billingCycleRepository, never()).findLastCycleNumber(any());
+        verify(paymentRepository, never()).findByLeaseLeaseId(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    private static BillingCycleRepository.LastCycle lastCycle(Long leaseId, int lastCycleNumber) {
+        return new BillingCycleRepository.LastCycle() {
+            @Override
+            public Long getLeaseId() {
+                return leaseId;
+            }
+
+            @Override
+            public Integer getLastCycleNumber() {
+                return lastCycleNumber;
+            }
+        };
+    }
+
+    private Payment payment(Long id, LocalDate date, PaymentStatus status) {
+        return Payment.builder().paymentId(id).lease(lease).paymentDate(date).status(status).build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.immobile.real_estate_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.immobile.real_estate_backend.model.converter.ActivityLogConverter;
+import com.immobile.real_estate_backend.model.converter.LeaseConverter;
+import com.immobile.real_estate_backend.model.converter.PaymentConverter;
+import com.immobile.real_estate_backend.model.dto.PaymentDTO;
+import com.immobile.real_estate_backend.model.entity.Payment;
+import com.immobile.real_estate_backend.model.enums.ExportFormat;
+import com.immobile.real_estate_backend.model.enums.PaymentMethod;
+import com.immobile.real_estate_backend.model.enums.PaymentStatus;
+import com.immobile.real_estate_backend.repository.ActivityLogRepository;
+import com.immobile.real_estate_backend.repository.LeaseRepository;
+import com.immobile.real_estate_backend.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private LeaseRepository leaseRepository;
+
+    @Mock
+    private ActivityLogRepository activityLogRepository;
+
+    @Mock
+    private PaymentConverter paymentConverter;
+
+    @Mock
+    private LeaseConverter leaseConverter;
+
+    @Mock
+    private ActivityLogConverter activityLogConverter;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportService(paymentRepository, leaseRepository, activityLogRepository,
+                paymentConverter, leaseConverter, activityLogConverter, objectMapper, entityManager);
+    }
+
+    @Test
+    void exportPayments_ShouldWriteCsvWithHeader() throws Exception {
+        Payment payment = Payment.builder().paymentId(1L).build();
+        when(paymentRepository.streamAllForExport()).thenReturn(Stream.of(payment));
+        when(paymentConverter.toPaymentDTO(payment)).thenReturn(paymentDTO(1L));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportPayments(out, ExportFormat.CSV);
+
+        assertEquals("""
+                paymentId,leaseId,amount,paymentMethod,status,paymentDate\r
+                1,7,1200.50,CREDIT_CARD,COMPLETED,2025-03-01\r
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportPayments_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        Payment first = Payment.builder().paymentId(1L).build();
+        Payment second = Payment.builder().paymentId(2L).build();
+        when(paymentRepository.streamAllForExport()).thenReturn(Stream.of(first, second));
+        when(paymentConverter.toPaymentDTO(first)).thenReturn(paymentDTO(1L));
+        when(paymentConverter.toPaymentDTO(second)).thenReturn(paymentDTO(2L));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportPayments(out, ExportFormat.NDJSON);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"paymentId\":1,"));
+        assertTrue(lines[1].contains("\"paymentDate\":\"2025-03-01\""));
+    }
+
+    @Test
+    void exportPayments_ShouldClearPersistenceContextAfterEveryChunk() throws Exception {
+        int rows = ExportService.CHUNK_SIZE * 2 + 1;
+        when(paymentRepository.streamAllForExport()).thenReturn(IntStream.rangeClosed(1, rows)
+                .mapToObj(id -> Payment.builder().paymentId((long) id).build()));
+        when(paymentConverter.toPaymentDTO(any())).thenAnswer(invocation ->
+                paymentDTO(invocation.<Payment>getArgument(0).getPaymentId()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportPayments(out, ExportFormat.NDJSON);
+
+        assertEquals(rows, out.toString(StandardCharsets.UTF_8).split("\n").length);
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void csvValue_ShouldQuoteSeparatorsAndNeutralizeFormulas() {
+        assertEquals("\"Strada Mare, nr. 5\"", ExportService.csvValue("Strada Mare, nr. 5"));
+        assertEquals("\"spus \"\"da\"\"\"", ExportService.csvValue("spus \"da\""));
+        assertEquals("'=SUM(A1:A2)", ExportService.csvValue("=SUM(A1:A2)"));
+        assertEquals("-5", ExportService.csvValue(-5));
+        assertEquals("", ExportService.csvValue(null));
+    }
+
+    @Test
+    void parseFormat_ShouldRejectUnknownFormat() {
+        assertEquals(ExportFormat.CSV, exportService.parseFormat("csv"));
+        assertThrows(ResponseStatusException.class, () -> exportService.parseFormat("xml"));
+    }
+
+    private static PaymentDTO paymentDTO(Long paymentId) {
+        return PaymentDTO.builder()
+                .paymentId(paymentId)
+                .leaseId(7L)
+                .amount(new BigDecimal("1200.50"))
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .status(PaymentStatus.COMPLETED)
+                .paymentDate(LocalDate.of(2025, 3, 1))
+                .build();
+    }
+}
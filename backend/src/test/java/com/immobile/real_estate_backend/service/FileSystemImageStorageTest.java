@@ -0,0 +1,122 @@
+package com.immobile.real_estate_backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSystemImageStorageTest {
+
+    private static final byte[] CONTENT = "not really a jpeg".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    private Path root;
+
+    private FileSystemImageStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FileSystemImageStorage(root.toString());
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    void store_ShouldAddressContentByItsSha256() throws Exception {
+        ImageStorage.StoredContent stored = storage.store(new ByteArrayInputStream(CONTENT));
+
+        String hash = sha256(CONTENT);
+        assertEquals(hash, stored.contentHash());
+        assertEquals(CONTENT.length, stored.size());
+        assertTrue(Files.exists(pathOf(hash)));
+    }
+
+    @Test
+    void load_ShouldReadStoredBytes() throws Exception {
+        ImageStorage.StoredContent stored = storage.store(new ByteArrayInputStream(CONTENT));
+
+        Resource resource = storage.load(stored.contentHash());
+
+        assertTrue(resource.exists());
+        try (var in = resource.getInputStream()) {
+            assertArrayEquals(CONTENT, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void store_ShouldKeepOneCopyOfIdenticalContentAndNoTempFiles() throws Exception {
+        ImageStorage.StoredContent first = storage.store(new ByteArrayInputStream(CONTENT));
+        ImageStorage.StoredContent second = storage.store(new ByteArrayInputStream(CONTENT));
+
+        assertEquals(first, second);
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    void load_ShouldRejectInvalidContentHash() {
+        for (String hash : new String[]{null, "abc", "../../etc/passwd", "AB".repeat(32)}) {
+            assertThrows(IllegalArgumentException.class, () -> storage.load(hash), String.valueOf(hash));
+        }
+    }
+
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    @Test
+    void deleteIfStoredBefore_ShouldDeleteOnlyContentStoredBeforeCutoff() throws Exception {
+        String hash = storage.store(new ByteArrayInputStream(CONTENT)).contentHash();
+
+        assertFalse(storage.deleteIfStoredBefore(hash, Instant.now().minus(Duration.ofHours(1))));
+        assertTrue(storage.load(hash).exists());
+
+        Files.setLastModifiedTime(pathOf(hash), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        assertTrue(storage.deleteIfStoredBefore(hash, Instant.now().minus(Duration.ofHours(1))));
+        assertFalse(storage.deleteIfStoredBefore(hash, Instant.now()));
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void store_ShouldRefreshContentThatIsStoredAgain() throws Exception {
+        String hash = storage.store(new ByteArrayInputStream(CONTENT)).contentHash();
+        Files.setLastModifiedTime(pathOf(hash), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+        storage.store(new ByteArrayInputStream(CONTENT));
+
+        assertFalse(storage.deleteIfStoredBefore(hash, Instant.now().minus(Duration.ofHours(1))));
+        assertTrue(storage.load(hash).exists());
+    }
+
+    @Test
+    void storedContentHashes_ShouldListStoredContentOnly() throws Exception {
+        String hash = storage.store(new ByteArrayInputStream(CONTENT)).contentHash();
+        Files.createFile(root.resolve("upload-123.tmp"));
+
+        try (Stream<String> hashes = storage.storedContentHashes()) {
+            assertEquals(List.of(hash), hashes.toList());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.repository.ImageRenditionRepository;
+import com.immobile.real_estate_backend.repository.ImageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageContentSweeperTest {
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private ImageRenditionRepository imageRenditionRepository;
+
+    @Mock
+    private ImageStorage imageStorage;
+
+    private ImageContentSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new ImageContentSweeper(imageRepository, imageRenditionRepository, imageStorage,
+                Duration.ofHours(6), 2);
+    }
+
+    @Test
+    void sweep_ShouldDeleteOnlyUnreferencedContentOlderThanGrace() throws IOException {
+        when(imageStorage.storedContentHashes()).thenReturn(Stream.of("original", "thumb", "orphan"));
+        when(imageRepository.findReferencedContentHashes(List.of("original", "thumb"))).thenReturn(List.of("original"));
+        when(imageRenditionRepository.findReferencedContentHashes(List.of("original", "thumb")))
+                .thenReturn(List.of("thumb"));
+        when(imageStorage.deleteIfStoredBefore(eq("orphan"), any(Instant.class))).thenReturn(true);
+
+        Instant before = Instant.now();
+        assertEquals(1, sweeper.sweep());
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(imageStorage).deleteIfStoredBefore(eq("orphan"), cutoff.capture());
+        verify(imageStorage, times(1)).deleteIfStoredBefore(any(), any());
+        assertFalse(cutoff.getValue().isAfter(Instant.now().minus(Duration.ofHours(6))));
+        assertFalse(cutoff.getValue().isBefore(before.minus(Duration.ofHours(6))));
+    }
+
+    @Test
+    void sweep_ShouldKeepContentStoredWithinGrace() throws IOException {
+        when(imageStorage.storedContentHashes()).thenReturn(Stream.of("pending"));
+        when(imageStorage.deleteIfStoredBefore(eq("pending"), any(Instant.class))).thenReturn(false);
+
+        assertEquals(0, sweeper.sweep());
+    }
+
+    @Test
+    void sweep_ShouldDropRenditionsOfRemovedOriginalsFirst() throws IOException {
+        when(imageStorage.storedContentHashes()).thenReturn(Stream.empty());
+
+        sweeper.sweep();
+
+        verify(imageRenditionRepository).deleteOrphaned();
+    }
+}
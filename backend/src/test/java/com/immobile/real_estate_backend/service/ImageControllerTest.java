@@ -0,0 +1,79 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.controller.ImageController;
+import com.immobile.real_estate_backend.model.dto.ImageMetadataDTO;
+import com.immobile.real_estate_backend.model.entity.ImageRendition;
+import com.immobile.real_estate_backend.model.enums.ImageSize;
+import com.immobile.real_estate_backend.repository.ImageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageControllerTest {
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private ImageStorage imageStorage;
+
+    @Mock
+    private ImageRenditionService imageRenditionService;
+
+    @Mock
+    private ImageUploadLimiter imageUploadLimiter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ImageService imageService = new ImageService(imageRepository, imageStorage, imageRenditionService,
+                imageUploadLimiter);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ImageController(imageService)).build();
+
+        when(imageRepository.findMetadataById(1L)).thenReturn(Optional.of(
+                new ImageMetadataDTO(1L, "photo.jpg", "image/jpeg", "original", 4_000_000L)));
+        when(imageStorage.load(any())).thenReturn(new ByteArrayResource(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void downloadImage_ShouldNotCacheOriginal_WhenRenditionIsPending() throws Exception {
+        when(imageRenditionService.findRendition("original", ImageSize.THUMB)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/image/1").param("size", "thumb"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"original\""))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    void downloadImage_ShouldCacheRenditionAsImmutable() throws Exception {
+        when(imageRenditionService.findRendition("original", ImageSize.THUMB)).thenReturn(Optional.of(
+                ImageRendition.builder().contentHash("thumb").contentType("image/jpeg").sizeBytes(3L).build()));
+
+        mockMvc.perform(get("/image/1").param("size", "thumb"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"thumb\""))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"));
+    }
+
+    @Test
+    void downloadImage_ShouldCacheOriginalAsImmutable_WhenNoSizeRequested() throws Exception {
+        mockMvc.perform(get("/image/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.enums.ImageSize;
+import com.immobile.real_estate_backend.repository.ImageRenditionRepository;
+import com.immobile.real_estate_backend.repository.ImageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageRenditionServiceTest {
+
+    @Mock
+    private ImageRenditionRepository imageRenditionRepository;
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private ImageStorage imageStorage;
+
+    @Mock
+    private TaskExecutor imageRenditionExecutor;
+
+    private ImageRenditionService imageRenditionService;
+
+    @BeforeEach
+    void setUp() {
+        imageRenditionService = new ImageRenditionService(imageRenditionRepository, imageRepository, imageStorage,
+                imageRenditionExecutor, 2, 1_000_000);
+    }
+
+    @Test
+    void backfillMissing_ShouldQueueOriginalsMissingRenditions() {
+        long sizes = ImageSize.values().length;
+        when(imageRepository.findHashesMissingRenditions(eq(""), eq(sizes), any(Limit.class)))
+                .thenReturn(List.of("a", "b"));
+
+        assertEquals(2, imageRenditionService.backfillMissing());
+
+        verify(imageRenditionExecutor, times(2)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void backfillMissing_ShouldContinueAfterLastBatchAndWrapAround() {
+        long sizes = ImageSize.values().length;
+        when(imageRepository.findHashesMissingRenditions(eq(""), eq(sizes), any(Limit.class)))
+                .thenReturn(List.of("a", "b"));
+        when(imageRepository.findHashesMissingRenditions(eq("b"), eq(sizes), any(Limit.class)))
+                .thenReturn(List.of("c"));
+
+        imageRenditionService.backfillMissing();
+        imageRenditionService.backfillMissing();
+        imageRenditionService.backfillMissing();
+
+        verify(imageRepository, times(2)).findHashesMissingRenditions(eq(""), eq(sizes), any(Limit.class));
+        verify(imageRepository).findHashesMissingRenditions(eq("b"), eq(sizes), any(Limit.class));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    // Rewrites the IHDR chunk so the header claims far more pixels than the file holds
+    private static byte[] withDeclaredSize(byte[] png, int width, int height) {
+        ByteBuffer buffer = ByteBuffer.wrap(png);
+        buffer.putInt(16, width).putInt(20, height);
+        CRC32 crc = new CRC32();
+        crc.update(png, 12, 17);
+        buffer.putInt(29, (int) crc.getValue());
+        return png;
+    }
+
+    @Test
+    void generateRenditions_ShouldNotDecodeImageDeclaringTooManyPixels() throws IOException {
+        byte[] oversized = withDeclaredSize(png(8, 8), 30_000, 30_000);
+        when(imageStorage.load("original")).thenReturn(new ByteArrayResource(oversized));
+
+        imageRenditionService.generateRenditions("original");
+
+        verify(imageStorage, never()).store(any());
+        verify(imageRenditionRepository, never()).save(any());
+    }
+
+    @Test
+    void readImage_ShouldSubsampleDownToLargestRendition() throws IOException {
+        BufferedImage image = imageRenditionService.readImage(new ByteArrayResource(png(5000, 10)));
+
+        assertEquals(2500, image.getWidth());
+        assertEquals(5, image.getHeight());
+    }
+
+    @Test
+    void readImage_ShouldReturnNull_WhenFormatIsUnknown() throws IOException {
+        assertNull(imageRenditionService.readImage(new ByteArrayResource(new byte[]{1, 2, 3, 4})));
+    }
+}
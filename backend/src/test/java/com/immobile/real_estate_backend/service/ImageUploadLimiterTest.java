@@ -0,0 +1,70 @@
+package com.immobile.real_estate_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageUploadLimiterTest {
+
+    @Test
+    void run_ShouldReturnTaskResultAndReleaseSlot() throws IOException {
+        ImageUploadLimiter limiter = new ImageUploadLimiter(1, Duration.ofMillis(50));
+
+        assertEquals("first", limiter.run(() -> "first"));
+        assertEquals("second", limiter.run(() -> "second"));
+    }
+
+    @Test
+    void run_ShouldReleaseSlot_WhenTaskFails() throws IOException {
+        ImageUploadLimiter limiter = new ImageUploadLimiter(1, Duration.ofMillis(50));
+
+        assertThrows(IOException.class, () -> limiter.run(() -> {
+            throw new IOException("disk full");
+        }));
+        assertEquals("next", limiter.run(() -> "next"));
+    }
+
+    @Test
+    void run_ShouldRejectWithServiceUnavailable_WhenAllSlotsAreBusy() throws Exception {
+        ImageUploadLimiter limiter = new ImageUploadLimiter(1, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<String> busy = executor.submit(() -> limiter.run(() -> {
+                started.countDown();
+                await(release);
+                return "done";
+            }));
+            started.await();
+
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                    () -> limiter.run(() -> "rejected"));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+
+            release.countDown();
+            assertEquals("done", busy.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.LandlordStats;
+import com.immobile.real_estate_backend.repository.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LandlordScoreServiceTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private MaintenanceRequestRepository maintenanceRequestRepository;
+
+    @Mock
+    private LandlordStatsRepository landlordStatsRepository;
+
+    @Mock
+    private LeaseRepository leaseRepository;
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private LandlordStatsBatchWriter landlordStatsBatchWriter;
+
+    @InjectMocks
+    private LandlordScoreService landlordScoreService;
+
+    private static LandlordAggregate aggregate(Long landlordId, Number value) {
+        return new LandlordAggregate() {
+            @Override
+            public Long getLandlordId() {
+                return landlordId;
+            }
+
+            @Override
+            public Number getValue() {
+                return value;
+            }
+        };
+    }
+
+    @Test
+    void updateAllScores_ShouldDefaultRatingTo3_5_ForLandlordsWithoutReviews() {
+        when(userRepository.findUserIdsByRole("LANDLORD")).thenReturn(List.of(1L, 2L));
+        when(reviewRepository.averageTenantRatingPerLandlord()).thenReturn(List.of(aggregate(1L, 4.0)));
+        when(maintenanceRequestRepository.averageResponseHoursPerLandlord()).thenReturn(List.of());
+        when(propertyRepository.countFlaggedPropertiesPerLandlord()).thenReturn(List.of());
+        when(leaseRepository.countTerminatedLeasesPerLandlord()).thenReturn(List.of());
+
+        assertEquals(2, landlordScoreService.updateAllScores());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LandlordStats>> written = ArgumentCaptor.forClass(List.class);
+        verify(landlordStatsBatchWriter).upsertAll(written.capture());
+        Map<Long, LandlordStats> byLandlord = written.getValue().stream()
+                .collect(Collectors.toMap(LandlordStats::getLandlordId, Function.identity()));
+
+        assertEquals(4.0, byLandlord.get(1L).getRatingScore());
+        assertEquals(3.5, byLandlord.get(2L).getRatingScore());
+        // 3.5 * 0.5 + 5.0 * 0.3 + 5.0 * 0.2 with no maintenance delays and no flags
+        assertEquals(4.25, byLandlord.get(2L).getOverallScore(), 1e-9);
+    }
+
+    @Test
+    void updateAllScores_ShouldSkipWrite_WhenThereAreNoLandlords() {
+        when(userRepository.findUserIdsByRole("LANDLORD")).thenReturn(List.of());
+
+        assertEquals(0, landlordScoreService.updateAllScores());
+
+        verifyNoInteractions(landlordStatsBatchWriter);
+    }
+}
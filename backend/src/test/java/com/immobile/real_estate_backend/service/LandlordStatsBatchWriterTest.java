@@ -0,0 +1,106 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.LandlordStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LandlordStatsBatchWriterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 5, 12, 0);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private LandlordStatsBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE landlord_stats (
+                    landlord_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    rating_score DOUBLE, maintenance_score DOUBLE, behavior_score DOUBLE, overall_score DOUBLE,
+                    completed_leases INT, avg_maintenance_response_time BIGINT, flagged_properties INT,
+                    last_updated TIMESTAMP, version BIGINT)
+                """);
+        writer = new LandlordStatsBatchWriter(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private static LandlordStats stats(Long landlordId, double ratingScore) {
+        return LandlordStats.builder()
+                .landlordId(landlordId)
+                .ratingScore(ratingScore)
+                .maintenanceScore(5.0)
+                .behaviorScore(5.0)
+                .overallScore(4.0)
+                .completedLeases(2)
+                .avgMaintenanceResponseTime(12)
+                .flaggedProperties(0)
+                .lastUpdated(NOW)
+                .build();
+    }
+
+    private void insertRow(Long landlordId, Long version) {
+        jdbcTemplate.update("INSERT INTO landlord_stats (landlord_id, rating_score, version) VALUES (?, 1.0, ?)",
+                landlordId, version);
+    }
+
+    private Map<String, Object> row(Long landlordId) {
+        return jdbcTemplate.queryForMap("SELECT * FROM landlord_stats WHERE landlord_id = ?", landlordId);
+    }
+
+    @Test
+    void upsertAll_ShouldInsertNewLandlordsWithVersionZero() {
+        writer.upsertAll(List.of(stats(1L, 4.5), stats(2L, 3.5)));
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM landlord_stats", Integer.class));
+        assertEquals(4.5, row(1L).get("RATING_SCORE"));
+        assertEquals(0L, row(1L).get("VERSION"));
+        assertEquals(0L, row(2L).get("VERSION"));
+    }
+
+    @Test
+    void upsertAll_ShouldUpdateExistingLandlordsAndInsertTheRest() {
+        insertRow(1L, 3L);
+
+        writer.upsertAll(List.of(stats(1L, 4.5), stats(2L, 2.0)));
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM landlord_stats", Integer.class));
+        assertEquals(4.5, row(1L).get("RATING_SCORE"));
+        assertEquals(2, row(1L).get("COMPLETED_LEASES"));
+        assertEquals(2.0, row(2L).get("RATING_SCORE"));
+        assertEquals(0L, row(2L).get("VERSION"));
+    }
+
+    @Test
+    void upsertAll_ShouldIncrementVersionOnEveryUpdate() {
+        insertRow(1L, 3L);
+        insertRow(2L, null);
+
+        writer.upsertAll(List.of(stats(1L, 4.5), stats(2L, 4.5)));
+        writer.upsertAll(List.of(stats(1L, 4.0)));
+
+        assertEquals(5L, row(1L).get("VERSION"));
+        assertEquals(1L, row(2L).get("VERSION"));
+        assertEquals(4.0, row(1L).get("RATING_SCORE"));
+    }
+}
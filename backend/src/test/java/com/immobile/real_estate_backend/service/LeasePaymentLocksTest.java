@@ -0,0 +1,60 @@
+package com.immobile.real_estate_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeasePaymentLocksTest {
+
+    @Test
+    void withLock_ShouldRejectSecondAttemptForSameLease_WhileFirstIsRunning() throws Exception {
+        LeasePaymentLocks locks = new LeasePaymentLocks(16, Duration.ofMillis(50));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> locks.withLock(7L, () -> {
+                locked.countDown();
+                await(release);
+                return "first";
+            }));
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                    () -> locks.withLock(7L, () -> "second"));
+            assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+
+            release.countDown();
+            assertEquals("first", first.get(5, TimeUnit.SECONDS));
+            assertEquals("third", locks.withLock(7L, () -> "third"));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void stripeFor_ShouldSpreadNeighbouringLeases() {
+        LeasePaymentLocks locks = new LeasePaymentLocks(64, Duration.ofMillis(50));
+
+        assertSame(locks.stripeFor(42L), locks.stripeFor(42L));
+        assertNotSame(locks.stripeFor(1L), locks.stripeFor(2L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.Lease;
+import com.immobile.real_estate_backend.model.entity.LeaseRentState;
+import com.immobile.real_estate_backend.model.enums.RentStatus;
+import com.immobile.real_estate_backend.repository.LeaseRentStateRepository;
+import com.immobile.real_estate_backend.repository.LeaseRepository;
+import com.immobile.real_estate_backend.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaseRentStateServiceTest {
+
+    @Mock
+    private LeaseRentStateRepository leaseRentStateRepository;
+
+    @Mock
+    private LeaseRepository leaseRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LeaseRentStateService leaseRentStateService;
+
+    @BeforeEach
+    void setUp() {
+        leaseRentStateService = new LeaseRentStateService(leaseRentStateRepository, leaseRepository,
+                paymentRepository, entityManager, transactionManager, 2);
+    }
+
+    private static Lease lease(long id) {
+        return Lease.builder().leaseId(id).startDate(LocalDate.of(2024, 1, 15)).build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshAll_ShouldRefreshLeasesChunkByChunk() {
+        LeaseRentState existing = LeaseRentState.builder().leaseId(1L).status(RentStatus.CURRENT).build();
+        when(leaseRepository.findWithStartDatesAfter(eq(0L), any(Limit.class))).thenReturn(List.of(lease(1L), lease(2L)));
+        when(leaseRepository.findWithStartDatesAfter(eq(2L), any(Limit.class))).thenReturn(List.of(lease(5L)));
+        when(leaseRentStateRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(existing));
+
+        assertEquals(3, leaseRentStateService.refreshAll());
+
+        ArgumentCaptor<List<LeaseRentState>> saved = ArgumentCaptor.forClass(List.class);
+        verify(leaseRentStateRepository, times(2)).saveAll(saved.capture());
+        assertSame(existing, saved.getAllValues().get(0).get(0));
+        assertEquals(1, saved.getAllValues().get(1).size());
+        verify(leaseRepository, never()).findWithStartDatesAfter(eq(5L), any(Limit.class));
+        verify(entityManager, times(2)).clear();
+        verify(transactionManager, times(2)).commit(any());
+    }
+}
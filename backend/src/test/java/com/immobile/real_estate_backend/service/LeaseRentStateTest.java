@@ -0,0 +1,99 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.LeaseRentState;
+import com.immobile.real_estate_backend.model.enums.RentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaseRentStateTest {
+
+    private static final LocalDate LEASE_START = LocalDate.of(2024, 1, 15);
+
+    private static LeaseRentState recalculated(LocalDate latestPaidDate, LocalDate leaseStart, LocalDate today) {
+        LeaseRentState state = LeaseRentState.builder().latestPaidDate(latestPaidDate).build();
+        state.recalculate(leaseStart, today);
+        return state;
+    }
+
+    @Test
+    void recalculate_ShouldBeUnpaidBeforeTheDueDay() {
+        LeaseRentState state = recalculated(null, LEASE_START, LocalDate.of(2024, 3, 10));
+
+        assertEquals(RentStatus.UNPAID, state.getStatus());
+        assertEquals(LocalDate.of(2024, 2, 15), state.getCycleStart());
+        assertEquals(LocalDate.of(2024, 3, 15), state.getNextDueDate());
+    }
+
+    @Test
+    void recalculate_ShouldBeOverdueAfterTheDueDay() {
+        LeaseRentState state = recalculated(null, LEASE_START, LocalDate.of(2024, 3, 20));
+
+        assertEquals(RentStatus.OVERDUE, state.getStatus());
+        assertEquals(LocalDate.of(2024, 3, 15), state.getCycleStart());
+        assertEquals(LocalDate.of(2024, 3, 15), state.getNextDueDate());
+    }
+
+    @Test
+    void recalculate_ShouldBeCurrent_WhenPaidOnTheDueDay() {
+        LeaseRentState state = recalculated(LocalDate.of(2024, 3, 15), LEASE_START, LocalDate.of(2024, 3, 20));
+
+        assertEquals(RentStatus.CURRENT, state.getStatus());
+        assertEquals(LocalDate.of(2024, 4, 15), state.getNextDueDate());
+    }
+
+    @Test
+    void recalculate_ShouldBeLate_WhenPaidAfterTheDueDay() {
+        LeaseRentState state = recalculated(LocalDate.of(2024, 3, 18), LEASE_START, LocalDate.of(2024, 3, 20));
+
+        assertEquals(RentStatus.LATE, state.getStatus());
+        assertEquals(LocalDate.of(2024, 3, 15), state.getCycleStart());
+        assertEquals(LocalDate.of(2024, 4, 15), state.getNextDueDate());
+    }
+
+    @Test
+    void recalculate_ShouldClampTheDueDayToShortMonths() {
+        LeaseRentState state = recalculated(null, LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 29));
+
+        assertEquals(RentStatus.UNPAID, state.getStatus());
+        assertEquals(LocalDate.of(2024, 2, 29), state.getCycleStart());
+        assertEquals(LocalDate.of(2024, 2, 29), state.getNextDueDate());
+    }
+
+    @Test
+    void recordPayment_ShouldMoveOverdueToLateAndAdvanceTheDueDate() {
+        LocalDate today = LocalDate.of(2024, 3, 20);
+        LeaseRentState state = recalculated(null, LEASE_START, today);
+
+        state.recordPayment(today, LEASE_START, today);
+
+        assertEquals(RentStatus.LATE, state.getStatus());
+        assertEquals(today, state.getLatestPaidDate());
+        assertEquals(LocalDate.of(2024, 4, 15), state.getNextDueDate());
+        assertNotNull(state.getLastUpdated());
+    }
+
+    @Test
+    void recordPayment_ShouldMoveUnpaidToCurrent_WhenPaidBeforeTheDueDay() {
+        LocalDate today = LocalDate.of(2024, 3, 10);
+        LeaseRentState state = recalculated(null, LEASE_START, today);
+
+        state.recordPayment(today, LEASE_START, today);
+
+        assertEquals(RentStatus.CURRENT, state.getStatus());
+        assertEquals(LocalDate.of(2024, 3, 15), state.getNextDueDate());
+    }
+
+    @Test
+    void recordPayment_ShouldKeepTheLatestPaidDate_WhenAnOlderPaymentIsRecorded() {
+        LocalDate today = LocalDate.of(2024, 3, 20);
+        LeaseRentState state = recalculated(LocalDate.of(2024, 3, 18), LEASE_START, today);
+
+        state.recordPayment(LocalDate.of(2024, 2, 15), LEASE_START, today);
+
+        assertEquals(LocalDate.of(2024, 3, 18), state.getLatestPaidDate());
+        assertEquals(RentStatus.LATE, state.getStatus());
+    }
+}
@@ -1,6 +1,5 @@
 package com.immobile.real_estate_backend.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.immobile.real_estate_backend.model.converter.LeaseConverter;
 import com.immobile.real_estate_backend.model.dto.AccountInvitationDTO;
 import com.immobile.real_estate_backend.model.dto.LeaseDTO;
@@ -38,10 +37,7 @@ class LeaseServiceTest {
     private ModelMapper modelMapper;
 
     @Mock
-    private ObjectMapper objectMapper;
-
-    @Mock
-    private ActivityLogRepository activityLogRepository;
+    private ActivityLogWriter activityLogWriter;
 
     @Mock
     private UserRepository userRepository;
@@ -58,6 +54,12 @@ class LeaseServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private TenantScoreService tenantScoreService;
+
+    @Mock
+    private BillingCycleService billingCycleService;
+
     @InjectMocks
     private LeaseService leaseService;
 
@@ -172,7 +174,7 @@ class LeaseServiceTest {
         List<Lease> leases = List.of(testLease);
         when(userRepository.findByEmail("jane.smith@example.com")).thenReturn(Optional.of(testLandlord));
         when(leaseRepository.findByPropertyOwner(testLandlord)).thenReturn(leases);
-        when(leaseConverter.toLeaseDTO(testLease)).thenReturn(testLeaseDTO);
+        when(leaseConverter.toLeaseDTOs(List.of(testLease))).thenReturn(List.of(testLeaseDTO));
 
         List<LeaseDTO> result = leaseService.findLeasesByOwnerEmail("jane.smith@example.com");
 
@@ -189,8 +191,6 @@ class LeaseServiceTest {
         when(leaseConverter.toLease(testLeaseDTO)).thenReturn(testLease);
         when(leaseRepository.save(testLease)).thenReturn(testLease);
         when(leaseConverter.toLeaseDTO(testLease)).thenReturn(testLeaseDTO);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
-        when(activityLogRepository.save(any(ActivityLog.class))).thenReturn(new ActivityLog());
 
         LeaseDTO result = leaseService.createLease(testLeaseDTO);
 
@@ -198,7 +198,8 @@ class LeaseServiceTest {
         assertEquals(testLeaseDTO.getLeaseId(), result.getLeaseId());
         verify(userRepository).findById(1L);
         verify(leaseRepository).save(testLease);
-        verify(activityLogRepository).save(any(ActivityLog.class));
+        verify(activityLogWriter).record(argThat(event -> "CREATE_LEASE".equals(event.actionType())
+                && event.details() == testLeaseDTO));
     }
 
     @Test
@@ -247,6 +248,18 @@ class LeaseServiceTest {
         verify(leaseConverter).toLeaseDTO(testLease);
     }
 
+    @Test
+    void updateLeaseStatus_ShouldGenerateBillingCycles_WhenLeaseBecomesActive() {
+        when(leaseRepository.findById(1L)).thenReturn(Optional.of(testLease));
+        when(leaseRepository.save(testLease)).thenReturn(testLease);
+        when(leaseConverter.toLeaseDTO(testLease)).thenReturn(testLeaseDTO);
+
+        leaseService.updateLeaseStatus(1L, LeaseStatus.ACTIVE);
+
+        verify(billingCycleService).generateCycles(testLease);
+        verify(billingCycleService, never()).closeCycles(any(), any());
+    }
+
     @Test
     void updateLeaseStatus_ShouldThrowException_WhenLeaseNotFound() {
         when(leaseRepository.findById(999L)).thenReturn(Optional.empty());
@@ -308,7 +321,7 @@ class LeaseServiceTest {
         List<Lease> pendingLeases = List.of(testLease);
         when(leaseRepository.findAllByLeaseTerminationStatus(LeaseTerminationStatus.PENDING))
                 .thenReturn(pendingLeases);
-        when(leaseConverter.toLeaseDTO(testLease)).thenReturn(testLeaseDTO);
+        when(leaseConverter.toLeaseDTOs(List.of(testLease))).thenReturn(List.of(testLeaseDTO));
 
         List<LeaseDTO> result = leaseService.getPendingTerminations();
 
@@ -322,7 +335,7 @@ class LeaseServiceTest {
     void findPendingLeases_ShouldReturnPendingLeases() {
         List<Lease> pendingLeases = List.of(testLease);
         when(leaseRepository.findAllByStatus(LeaseStatus.PENDING)).thenReturn(pendingLeases);
-        when(leaseConverter.toLeaseDTO(testLease)).thenReturn(testLeaseDTO);
+        when(leaseConverter.toLeaseDTOs(List.of(testLease))).thenReturn(List.of(testLeaseDTO));
 
         List<LeaseDTO> result = leaseService.findPendingLeases();
 
@@ -391,7 +404,7 @@ class LeaseServiceTest {
     void getLeaseTrends_ShouldReturnLeasesWithStartDates() {
         List<Lease> leasesWithStartDates = List.of(testLease);
         when(leaseRepository.findAllWithStartDates()).thenReturn(leasesWithStartDates);
-        when(leaseConverter.toLeaseDTO(testLease)).thenReturn(testLeaseDTO);
+        when(leaseConverter.toLeaseDTOs(List.of(testLease))).thenReturn(List.of(testLeaseDTO));
 
         List<LeaseDTO> result = leaseService.getLeaseTrends();
 
@@ -399,34 +412,6 @@ class LeaseServiceTest {
         assertEquals(1, result.size());
         assertEquals(testLeaseDTO.getLeaseId(), result.get(0).getLeaseId());
         verify(leaseRepository).findAllWithStartDates();
-        verify(leaseConverter).toLeaseDTO(testLease);
-    }
-
-    @Test
-    void getAllLeases_ShouldReturnAllLeases() {
-        List<Lease> allLeases = List.of(testLease);
-        when(leaseRepository.findAll()).thenReturn(allLeases);
-
-        List<Lease> result = leaseService.getAllLeases();
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testLease.getLeaseId(), result.get(0).getLeaseId());
-        verify(leaseRepository).findAll();
-    }
-
-    @Test
-    void getAllLeasesDTO_ShouldReturnAllLeaseDTOs() {
-        List<Lease> allLeases = List.of(testLease);
-        when(leaseRepository.findAll()).thenReturn(allLeases);
-        when(leaseConverter.toLeaseDTO(testLease)).thenReturn(testLeaseDTO);
-
-        List<LeaseDTO> result = leaseService.getAllLeasesDTO();
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testLeaseDTO.getLeaseId(), result.get(0).getLeaseId());
-        verify(leaseRepository).findAll();
-        verify(leaseConverter).toLeaseDTO(testLease);
+        verify(leaseConverter).toLeaseDTOs(List.of(testLease));
     }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.converter.NotificationConverter;
+import com.immobile.real_estate_backend.model.entity.Notification;
+import com.immobile.real_estate_backend.model.entity.User;
+import com.immobile.real_estate_backend.repository.NotificationRepository;
+import com.immobile.real_estate_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationConverter notificationConverter;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NotificationUnreadCounter notificationUnreadCounter;
+
+    @InjectMocks
+    private NotificationService notificationService;
+
+    @Test
+    void markAllNotificationsAsRead_ShouldUseSingleBulkUpdate() {
+        when(notificationRepository.markAllReadByUserId(4L)).thenReturn(2500);
+
+        int updated = notificationService.markAllNotificationsAsRead(4L);
+
+        assertEquals(2500, updated);
+        verify(notificationRepository).markAllReadByUserId(4L);
+        verify(notificationRepository, never()).findUnreadByUserId(anyLong());
+        verify(notificationRepository, never()).saveAll(anyIterable());
+        verify(notificationUnreadCounter).evictAfterCommit(4L);
+    }
+
+    @Test
+    void markAllNotificationsAsReadByEmail_ShouldResolveUserFirst() {
+        User user = User.builder().userId(4L).email("ana@example.com").build();
+        when(userRepository.findByEmail("ana@example.com")).thenReturn(Optional.of(user));
+        when(notificationRepository.markAllReadByUserId(4L)).thenReturn(3);
+
+        assertEquals(3, notificationService.markAllNotificationsAsReadByEmail("ana@example.com"));
+    }
+
+    @Test
+    void markNotificationAsRead_ShouldEvictUnreadCount() {
+        User user = User.builder().userId(4L).build();
+        Notification notification = Notification.builder().notificationId(9L).user(user).build();
+        when(notificationRepository.findById(9L)).thenReturn(Optional.of(notification));
+        when(notificationRepository.save(notification)).thenReturn(notification);
+
+        notificationService.markNotificationAsRead(9L);
+
+        assertTrue(notification.isRead());
+        verify(notificationUnreadCounter).evictAfterCommit(4L);
+    }
+
+    @Test
+    void getUnreadCountByEmail_ShouldUseCounter() {
+        User user = User.builder().userId(4L).email("ana@example.com").build();
+        when(userRepository.findByEmail("ana@example.com")).thenReturn(Optional.of(user));
+        when(notificationUnreadCounter.get(4L)).thenReturn(12L);
+
+        assertEquals(12L, notificationService.getUnreadCountByEmail("ana@example.com"));
+    }
+}
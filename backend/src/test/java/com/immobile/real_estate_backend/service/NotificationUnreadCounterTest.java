@@ -0,0 +1,50 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationUnreadCounterTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @InjectMocks
+    private NotificationUnreadCounter counter;
+
+    @Test
+    void get_ShouldCountOnceAndServeFromCache() {
+        when(notificationRepository.countUnreadByUserId(4L)).thenReturn(7L);
+
+        assertEquals(7L, counter.get(4L));
+        assertEquals(7L, counter.get(4L));
+        verify(notificationRepository, times(1)).countUnreadByUserId(4L);
+    }
+
+    @Test
+    void evictAfterCommit_ShouldKeepCountUntilTransactionCommits() {
+        when(notificationRepository.countUnreadByUserId(4L)).thenReturn(7L, 0L);
+        counter.get(4L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counter.evictAfterCommit(4L);
+            assertEquals(7L, counter.get(4L));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0L, counter.get(4L));
+    }
+}
@@ -0,0 +1,242 @@
+package com.immobile.real_estate_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.immobile.real_estate_backend.model.entity.OutboxMessage;
+import com.immobile.real_estate_backend.model.entity.User;
+import com.immobile.real_estate_backend.model.enums.NotificationType;
+import com.immobile.real_estate_backend.model.enums.OutboxMessageType;
+import com.immobile.real_estate_backend.model.enums.OutboxStatus;
+import com.immobile.real_estate_backend.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private NotificationUnreadCounter notificationUnreadCounter;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SmtpStandIn smtp;
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new SmtpStandIn();
+        outboxService = newOutboxService(smtp.getPort());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtp.close();
+    }
+
+    private OutboxService newOutboxService(int smtpPort) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpPort);
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+
+        return new OutboxService(outboxMessageRepository, jdbcTemplate, transactionManager, objectMapper,
+                mailSender, notificationUnreadCounter, new SyncTaskExecutor(), 100, 3,
+                Duration.ofSeconds(30), Duration.ofMinutes(10), Duration.ofMinutes(5));
+    }
+
+    private OutboxMessage emailMessage(long id, int attempts) throws Exception {
+        return OutboxMessage.builder()
+                .id(id)
+                .type(OutboxMessageType.EMAIL)
+                .status(OutboxStatus.PENDING)
+                .attempts(attempts)
+                .payload(objectMapper.writeValueAsString(new OutboxService.EmailPayload(
+                        "john.doe@example.com", "You're Invited to Lease a Property", "Hello")))
+                .build();
+    }
+
+    private void due(List<OutboxMessage> messages) {
+        when(outboxMessageRepository.findDue(any(OutboxMessageType.class), any(LocalDateTime.class), any()))
+                .thenAnswer(invocation -> messages.stream()
+                        .filter(message -> message.getType() == invocation.getArgument(0))
+                        .toList());
+    }
+
+    // Emails are claimed by dispatchDue and their claim is still held when the worker starts
+    private void dueEmails(OutboxMessage... messages) {
+        due(List.of(messages));
+        renewClaimReturns(1);
+    }
+
+    private void renewClaimReturns(int updated) {
+        when(outboxMessageRepository.renewClaim(anyLong(), anyString(), any(LocalDateTime.class),
+                any(LocalDateTime.class))).thenReturn(updated);
+    }
+
+    @Test
+    void enqueueNotification_ShouldStorePendingMessage() throws Exception {
+        User user = User.builder().userId(3L).build();
+        when(outboxMessageRepository.save(any(OutboxMessage.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        OutboxMessage message = outboxService.enqueueNotification(user, "Payment Confirmation", "Paid",
+                NotificationType.PAYMENT);
+
+        assertEquals(OutboxMessageType.NOTIFICATION, message.getType());
+        assertEquals(OutboxStatus.PENDING, message.getStatus());
+        assertEquals(new OutboxService.NotificationPayload(3L, "Payment Confirmation", "Paid", NotificationType.PAYMENT),
+                objectMapper.readValue(message.getPayload(), OutboxService.NotificationPayload.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dispatchDue_ShouldInsertNotificationsInOneBatch() throws Exception {
+        List<OutboxMessage> due = List.of(1L, 2L).stream()
+                .map(id -> {
+                    try {
+                        return OutboxMessage.builder()
+                                .id(id)
+                                .type(OutboxMessageType.NOTIFICATION)
+                                .payload(objectMapper.writeValueAsString(new OutboxService.NotificationPayload(
+                                        id, "Maintenance Request Update", "Done", NotificationType.MAINTENANCE)))
+                                .build();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+        due(due);
+
+        assertEquals(2, outboxService.dispatchDue());
+
+        verify(outboxMessageRepository).claim(eq(List.of(1L, 2L)), anyString(), any(LocalDateTime.class));
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO notifications"),
+                argThat(payloads -> payloads.size() == 2), eq(100), any(ParameterizedPreparedStatementSetter.class));
+        verify(outboxMessageRepository).markSent(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(notificationUnreadCounter).evictAfterCommit(1L);
+        verify(notificationUnreadCounter).evictAfterCommit(2L);
+    }
+
+    @Test
+    void dispatchDue_ShouldSendEmailThroughSmtp() throws Exception {
+        dueEmails(emailMessage(5L, 0));
+
+        outboxService.dispatchDue();
+
+        assertEquals(1, smtp.getMessages().size());
+        String received = smtp.getMessages().get(0);
+        assertTrue(received.contains("To: john.doe@example.com"));
+        assertTrue(received.contains("Subject: You're Invited to Lease a Property"));
+        verify(outboxMessageRepository).markSentIfClaimed(eq(5L), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void dispatchDue_ShouldRetryWithBackoff_WhenSmtpIsUnavailable() throws Exception {
+        smtp.close();
+        dueEmails(emailMessage(5L, 1));
+
+        LocalDateTime before = LocalDateTime.now();
+        outboxService.dispatchDue();
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxMessageRepository).markAttemptFailed(eq(5L), eq(OutboxStatus.PENDING), eq(2),
+                nextAttempt.capture(), anyString());
+        assertFalse(nextAttempt.getValue().isBefore(before.plusSeconds(60)));
+        verify(outboxMessageRepository, never()).markSentIfClaimed(any(), any(), any());
+    }
+
+    @Test
+    void dispatchDue_ShouldGiveUp_AfterMaxAttempts() throws Exception {
+        smtp.close();
+        dueEmails(emailMessage(5L, 2));
+
+        outboxService.dispatchDue();
+
+        verify(outboxMessageRepository).markAttemptFailed(eq(5L), eq(OutboxStatus.FAILED), eq(3),
+                any(LocalDateTime.class), anyString());
+    }
+
+    @Test
+    void dispatchDue_ShouldNotSendEmail_WhoseClaimWasTakenOver() throws Exception {
+        due(List.of(emailMessage(5L, 0)));
+        renewClaimReturns(0);
+
+        outboxService.dispatchDue();
+
+        assertTrue(smtp.getMessages().isEmpty());
+        verify(outboxMessageRepository, never()).markSentIfClaimed(any(), any(), any());
+        verify(outboxMessageRepository, never()).markAttemptFailed(any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void dispatchDue_ShouldClaimNoMoreEmailsThanThePoolCanTake() {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(1);
+        pool.setMaxPoolSize(1);
+        pool.setQueueCapacity(2);
+        pool.initialize();
+        try {
+            OutboxService service = new OutboxService(outboxMessageRepository, jdbcTemplate, transactionManager,
+                    objectMapper, new JavaMailSenderImpl(), notificationUnreadCounter, pool, 100, 3,
+                    Duration.ofSeconds(30), Duration.ofMinutes(10), Duration.ofMinutes(5));
+
+            service.dispatchDue();
+
+            verify(outboxMessageRepository).findDue(eq(OutboxMessageType.EMAIL), any(LocalDateTime.class), eq(Limit.of(3)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void dispatchDue_ShouldReleaseEmail_WhenThePoolRejectsIt() throws Exception {
+        OutboxService service = new OutboxService(outboxMessageRepository, jdbcTemplate, transactionManager,
+                objectMapper, new JavaMailSenderImpl(), notificationUnreadCounter, task -> {
+                    throw new TaskRejectedException("queue full");
+                }, 100, 3, Duration.ofSeconds(30), Duration.ofMinutes(10), Duration.ofMinutes(5));
+        due(List.of(emailMessage(5L, 0)));
+
+        service.dispatchDue();
+
+        ArgumentCaptor<String> claimToken = ArgumentCaptor.forClass(String.class);
+        verify(outboxMessageRepository).claim(eq(List.of(5L)), claimToken.capture(), any(LocalDateTime.class));
+        verify(outboxMessageRepository).releaseClaim(eq(5L), eq(claimToken.getValue()), any(LocalDateTime.class));
+    }
+
+    @Test
+    void backoff_ShouldDoubleUpToTheCap() {
+        assertEquals(Duration.ofSeconds(30), outboxService.backoff(1));
+        assertEquals(Duration.ofMinutes(2), outboxService.backoff(3));
+        assertEquals(Duration.ofMinutes(10), outboxService.backoff(7));
+    }
+}
@@ -0,0 +1,131 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.JobCheckpoint;
+import com.immobile.real_estate_backend.repository.JobCheckpointRepository;
+import com.immobile.real_estate_backend.repository.PaymentRepository;
+import com.immobile.real_estate_backend.repository.PaymentRepository.UnevaluatedPayment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentLatenessServiceTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Mock
+    private TenantScoreService tenantScoreService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PaymentLatenessService paymentLatenessService;
+
+    private record Row(Long paymentId, LocalDate paymentDate, LocalDate leaseStartDate, Long tenantId)
+            implements UnevaluatedPayment {
+        public Long getPaymentId() { return paymentId; }
+        public LocalDate getPaymentDate() { return paymentDate; }
+        public LocalDate getLeaseStartDate() { return leaseStartDate; }
+        public Long getTenantId() { return tenantId; }
+    }
+
+    @BeforeEach
+    void setUp() {
+        paymentLatenessService = new PaymentLatenessService(paymentRepository, jobCheckpointRepository,
+                tenantScoreService, new BillingCalendar(), entityManager, transactionManager, meterRegistry, 2);
+    }
+
+    @Test
+    void evaluateAll_ShouldUpdateEachChunkWithSetBasedUpdates() {
+        LocalDate leaseStart = LocalDate.of(2024, 1, 5);
+        when(jobCheckpointRepository.findById(PaymentLatenessService.JOB_NAME)).thenReturn(Optional.empty());
+        when(paymentRepository.findUnevaluatedAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+                new Row(1L, LocalDate.of(2024, 2, 3), leaseStart, 7L),
+                new Row(2L, LocalDate.of(2024, 2, 9), leaseStart, 8L)));
+        when(paymentRepository.findUnevaluatedAfter(eq(2L), any(Limit.class))).thenReturn(List.of(
+                new Row(3L, LocalDate.of(2024, 3, 5), leaseStart, 7L)));
+        when(paymentRepository.markLateness(anyCollection(), anyBoolean()))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        long updated = paymentLatenessService.evaluateAll();
+
+        assertEquals(3, updated);
+        verify(paymentRepository).markLateness(List.of(1L), false);
+        verify(paymentRepository).markLateness(List.of(2L), true);
+        verify(paymentRepository).markLateness(List.of(3L), false);
+        verify(tenantScoreService).markTenantDirty(8L);
+        verify(entityManager, times(2)).clear();
+        verify(jobCheckpointRepository).deleteById(PaymentLatenessService.JOB_NAME);
+        assertEquals(2, meterRegistry.counter("payment_lateness.chunks").count());
+        assertEquals(3, meterRegistry.counter("payment_lateness.evaluated").count());
+        assertEquals(1, meterRegistry.counter("payment_lateness.marked_late").count());
+    }
+
+    @Test
+    void evaluateAll_ShouldSaveCheckpointAfterEachChunk() {
+        LocalDate leaseStart = LocalDate.of(2024, 1, 5);
+        when(jobCheckpointRepository.findById(PaymentLatenessService.JOB_NAME)).thenReturn(Optional.empty());
+        when(paymentRepository.findUnevaluatedAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+                new Row(10L, LocalDate.of(2024, 2, 3), leaseStart, 7L),
+                new Row(20L, LocalDate.of(2024, 2, 4), leaseStart, 7L)));
+        when(paymentRepository.findUnevaluatedAfter(eq(20L), any(Limit.class))).thenReturn(List.of());
+
+        paymentLatenessService.evaluateAll();
+
+        ArgumentCaptor<JobCheckpoint> checkpoint = ArgumentCaptor.forClass(JobCheckpoint.class);
+        verify(jobCheckpointRepository).save(checkpoint.capture());
+        assertEquals(20L, checkpoint.getValue().getLastId());
+    }
+
+    @Test
+    void evaluateAll_ShouldTreatEarlyInMonthPaymentAsOnTime() {
+        LocalDate leaseStart = LocalDate.of(2024, 1, 31);
+        when(jobCheckpointRepository.findById(PaymentLatenessService.JOB_NAME)).thenReturn(Optional.empty());
+        when(paymentRepository.findUnevaluatedAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+                new Row(1L, LocalDate.of(2024, 3, 15), leaseStart, 7L)));
+
+        paymentLatenessService.evaluateAll();
+
+        verify(paymentRepository).markLateness(List.of(1L), false);
+        verify(tenantScoreService, never()).markTenantDirty(anyLong());
+    }
+
+    @Test
+    void evaluateAll_ShouldResumeAfterLastCommittedChunk() {
+        when(jobCheckpointRepository.findById(PaymentLatenessService.JOB_NAME)).thenReturn(Optional.of(
+                JobCheckpoint.builder().jobName(PaymentLatenessService.JOB_NAME).lastId(500L)
+                        .updatedAt(LocalDateTime.now()).build()));
+        when(paymentRepository.findUnevaluatedAfter(eq(500L), any(Limit.class))).thenReturn(List.of());
+
+        assertEquals(0, paymentLatenessService.evaluateAll());
+
+        verify(paymentRepository, never()).findUnevaluatedAfter(eq(0L), any(Limit.class));
+        verify(paymentRepository, never()).markLateness(anyCollection(), anyBoolean());
+    }
+}
@@ -2,19 +2,35 @@ package com.immobile.real_estate_backend.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.immobile.real_estate_backend.model.converter.PaymentConverter;
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import com.immobile.real_estate_backend.model.dto.PaymentDTO;
 import com.immobile.real_estate_backend.model.entity.*;
+import com.immobile.real_estate_backend.model.enums.LeaseStatus;
+import com.immobile.real_estate_backend.model.enums.NotificationType;
 import com.immobile.real_estate_backend.model.enums.PaymentMethod;
 import com.immobile.real_estate_backend.model.enums.PaymentStatus;
 import com.immobile.real_estate_backend.repository.*;
+import com.stripe.StripeClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -36,10 +52,33 @@ class PaymentServiceTest {
     private PaymentConverter paymentConverter;
 
     @Mock
-    private NotificationRepository notificationRepository;
+    private OutboxService outboxService;
+
+    @Mock
+    private ActivityLogWriter activityLogWriter;
+
+    @Mock
+    private LeaseRentStateService leaseRentStateService;
+
+    @Mock
+    private TenantScoreService tenantScoreService;
+
+    @Spy
+    private BillingCalendar billingCalendar = new BillingCalendar();
 
     @Mock
-    private ActivityLogRepository activityLogRepository;
+    private BillingCycleService billingCycleService;
+
+    @Spy
+    private LeasePaymentLocks leasePaymentLocks = new LeasePaymentLocks(4, Duration.ofMillis(100));
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    private static StripeStandIn stripe;
+
+    @Spy
+    private StripeClient stripeClient = stripe.client();
 
     @InjectMocks
     private PaymentService paymentService;
@@ -51,6 +90,16 @@ class PaymentServiceTest {
     private User testLandlord;
     private Property testProperty;
 
+    @BeforeAll
+    static void startStripe() throws IOException {
+        stripe = new StripeStandIn();
+    }
+
+    @AfterAll
+    static void stopStripe() {
+        stripe.close();
+    }
+
     @BeforeEach
     void setUp() {
         testTenant = User.builder()
@@ -111,14 +160,48 @@ class PaymentServiceTest {
         when(paymentConverter.toPaymentDTO(testPayment)).thenReturn(testPaymentDTO);
 
         // ✅ Use lenient for optional operations
-        lenient().when(notificationRepository.save(any(Notification.class))).thenReturn(new Notification());
-        lenient().when(activityLogRepository.save(any(ActivityLog.class))).thenReturn(new ActivityLog());
+        lenient().when(outboxService.enqueueNotification(any(User.class), anyString(), anyString(), eq(NotificationType.PAYMENT)))
+                .thenReturn(OutboxMessage.builder().id(7L).build());
 
         PaymentDTO result = paymentService.processPayment(testPaymentDTO);
 
         assertNotNull(result);
         assertEquals(testPaymentDTO.getAmount(), result.getAmount());
         verify(paymentRepository).save(any(Payment.class));
+        verify(outboxService, times(2)).enqueueNotification(any(User.class), anyString(), anyString(),
+                eq(NotificationType.PAYMENT));
+        verify(activityLogWriter, times(3)).record(any(ActivityLogEvent.class));
+    }
+
+    @Test
+    void processPayment_ShouldFlagLatenessFromLeaseDueDay() {
+        testLease.setStartDate(LocalDate.now().minusMonths(3).withDayOfMonth(1));
+        when(leaseRepository.findById(1L)).thenReturn(Optional.of(testLease));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
+        when(outboxService.enqueueNotification(any(User.class), anyString(), anyString(), eq(NotificationType.PAYMENT)))
+                .thenReturn(OutboxMessage.builder().id(7L).build());
+
+        paymentService.processPayment(testPaymentDTO);
+
+        ArgumentCaptor<Payment> saved = ArgumentCaptor.forClass(Payment.class);
+        verify(paymentRepository).save(saved.capture());
+        assertEquals(LocalDate.now().getDayOfMonth() > 1, saved.getValue().getWasLate());
+    }
+
+    @Test
+    void processPayment_ShouldBeOnTime_WhenPaidBeforeTheDueDayOfTheMonth() {
+        // Due on the last day of every month, so any day of the current month is early or on time
+        testLease.setStartDate(LocalDate.of(2024, 1, 31));
+        when(leaseRepository.findById(1L)).thenReturn(Optional.of(testLease));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
+        when(outboxService.enqueueNotification(any(User.class), anyString(), anyString(), eq(NotificationType.PAYMENT)))
+                .thenReturn(OutboxMessage.builder().id(7L).build());
+
+        paymentService.processPayment(testPaymentDTO);
+
+        ArgumentCaptor<Payment> saved = ArgumentCaptor.forClass(Payment.class);
+        verify(paymentRepository).save(saved.capture());
+        assertFalse(saved.getValue().getWasLate());
     }
 
     @Test
@@ -222,6 +305,161 @@ class PaymentServiceTest {
         verify(paymentRepository).existsByLeaseAndPaymentDateBetween(eq(testLease), any(LocalDate.class), any(LocalDate.class));
     }
 
+    @Test
+    void isRentPaidForCurrentBillingCycle_ShouldUseBillingCycle_WhenLeaseHasCycles() {
+        when(leaseRepository.findById(1L)).thenReturn(Optional.of(testLease));
+        when(billingCycleService.findCycle(eq(testLease), any(LocalDate.class)))
+                .thenReturn(Optional.of(BillingCycle.builder().paid(true).build()));
+
+        assertTrue(paymentService.isRentPaidForCurrentBillingCycle(1L));
+
+        verify(paymentRepository, never()).existsByLeaseAndPaymentDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void processPayment_ShouldMarkBillingCyclePaid() {
+        LocalDate today = LocalDate.now();
+        BillingCycle cycle = BillingCycle.builder()
+                .id(new BillingCycleId(1L, 3))
+                .startDate(today.minusDays(2))
+                .endDate(today.plusDays(27))
+                .dueDate(today.minusDays(2))
+                .build();
+        when(leaseRepository.findById(1L)).thenReturn(Optional.of(testLease));
+        when(billingCycleService.findCycle(eq(testLease), any(LocalDate.class))).thenReturn(Optional.of(cycle));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
+        when(outboxService.enqueueNotification(any(User.class), anyString(), anyString(), eq(NotificationType.PAYMENT)))
+                .thenReturn(OutboxMessage.builder().id(7L).build());
+
+        paymentService.processPayment(testPaymentDTO);
+
+        ArgumentCaptor<Payment> saved = ArgumentCaptor.forClass(Payment.class);
+        verify(paymentRepository).save(saved.capture());
+        assertEquals(LocalDate.now().getDayOfMonth() > 1, saved.getValue().getWasLate());
+        verify(billingCycleService).markPaid(cycle, testPayment);
+        verify(paymentRepository, never()).existsByLeaseAndPaymentDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void processPayment_ShouldReturnConflict_WhenUniqueCycleConstraintRejectsInsert() {
+        when(leaseRepository.findById(1L)).thenReturn(Optional.of(testLease));
+        when(paymentRepository.save(any(Payment.class))).thenThrow(new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UK_PAYMENTS_LEASE_CYCLE_INDEX_2\""));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> paymentService.processPayment(testPaymentDTO));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+        verify(leasePaymentLocks).withLock(eq(1L), any());
+    }
+
+    @Test
+    void processPayment_ShouldStampPaymentWithItsBillingCycle() {
+        when(leaseRepository.findById(1L)).thenReturn(Optional.of(testLease));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
+        when(outboxService.enqueueNotification(any(User.class), anyString(), anyString(), eq(NotificationType.PAYMENT)))
+                .thenReturn(OutboxMessage.builder().id(7L).build());
+
+        paymentService.processPayment(testPaymentDTO);
+
+        ArgumentCaptor<Payment> saved = ArgumentCaptor.forClass(Payment.class);
+        verify(paymentRepository).save(saved.capture());
+        assertEquals(billingCalendar.cycleNumber(testLease.getStartDate(), LocalDate.now()),
+                saved.getValue().getCycleNumber());
+    }
+
+    @Test
+    void processPayment_ShouldThrowException_WhenBillingCycleAlreadyPaid() {
+        when(leaseRepository.findById(1L)).thenReturn(Optional.of(testLease));
+        when(billingCycleService.findCycle(eq(testLease), any(LocalDate.class)))
+                .thenReturn(Optional.of(BillingCycle.builder().paid(true).build()));
+
+        assertThrows(RuntimeException.class, () -> paymentService.processPayment(testPaymentDTO));
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    void createCheckoutSession_ShouldCreateSessionWithLeaseMetadata() {
+        testLease.setStatus(LeaseStatus.ACTIVE);
+        when(leaseRepository.findById(1L)).thenReturn(Optional.of(testLease));
+
+        String sessionId = paymentService.createCheckoutSession(1L);
+
+        assertTrue(sessionId.startsWith("cs_test_"));
+        String request = stripe.getRequests().get(stripe.getRequests().size() - 1);
+        assertTrue(request.startsWith("POST /v1/checkout/sessions"));
+        assertTrue(request.contains("metadata[leaseId]=1"));
+        assertTrue(request.contains("line_items[0][price_data][unit_amount]=120000"));
+    }
+
+    @Test
+    void createCheckoutSession_ShouldRejectInactiveLease() {
+        testLease.setStatus(LeaseStatus.TERMINATED);
+        when(leaseRepository.findById(1L)).thenReturn(Optional.of(testLease));
+        int requests = stripe.getRequests().size();
+
+        assertThrows(RuntimeException.class, () -> paymentService.createCheckoutSession(1L));
+        assertEquals(requests, stripe.getRequests().size());
+    }
+
+    @Test
+    void recordStripeCheckout_ShouldReturnConflict_WhenCycleAlreadyPaid() {
+        when(leaseRepository.findById(1L)).thenReturn(Optional.of(testLease));
+        when(billingCycleService.findCycle(eq(testLease), any(LocalDate.class)))
+                .thenReturn(Optional.of(BillingCycle.builder().paid(true).build()));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> paymentService.recordStripeCheckout(stripeCheckout(LocalDate.of(2024, 3, 5))));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    void recordStripeCheckout_ShouldSkipSessionAlreadyRecorded() {
+        testPayment.setStripeSessionId("cs_test_1");
+        when(paymentRepository.findByStripeSessionId("cs_test_1")).thenReturn(Optional.of(testPayment));
+        when(paymentConverter.toPaymentDTO(testPayment)).thenReturn(testPaymentDTO);
+
+        PaymentDTO result = paymentService.recordStripeCheckout(stripeCheckout(LocalDate.of(2024, 3, 5)));
+
+        assertSame(testPaymentDTO, result);
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verifyNoInteractions(billingCycleService, leaseRentStateService);
+    }
+
+    @Test
+    void recordStripeCheckout_ShouldSettleTheCycleOfTheSessionWithItsAmount() {
+        // The session was paid on March 5th but is recorded in April, after a rent change
+        LocalDate paidOn = LocalDate.of(2024, 3, 5);
+        BillingCycle march = BillingCycle.builder()
+                .id(new BillingCycleId(1L, 3))
+                .startDate(LocalDate.of(2024, 3, 1))
+                .endDate(LocalDate.of(2024, 3, 31))
+                .dueDate(LocalDate.of(2024, 3, 1))
+                .build();
+        testLease.setMonthlyRent(BigDecimal.valueOf(1300.00));
+        when(leaseRepository.findById(1L)).thenReturn(Optional.of(testLease));
+        when(billingCycleService.findCycle(testLease, paidOn)).thenReturn(Optional.of(march));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
+        when(paymentConverter.toPaymentDTO(testPayment)).thenReturn(testPaymentDTO);
+
+        paymentService.recordStripeCheckout(stripeCheckout(paidOn));
+
+        ArgumentCaptor<Payment> saved = ArgumentCaptor.forClass(Payment.class);
+        verify(paymentRepository).save(saved.capture());
+        assertEquals("cs_test_1", saved.getValue().getStripeSessionId());
+        assertEquals(new BigDecimal("1200.00"), saved.getValue().getAmount());
+        assertEquals(paidOn, saved.getValue().getPaymentDate());
+        assertEquals(3, saved.getValue().getCycleNumber());
+        assertTrue(saved.getValue().getWasLate());
+        verify(billingCycleService).markPaid(march, testPayment);
+    }
+
+    private static PaymentService.StripeCheckout stripeCheckout(LocalDate paidOn) {
+        return new PaymentService.StripeCheckout("cs_test_1", 1L, new BigDecimal("1200.00"), paidOn);
+    }
+
     @Test
     void getLatestPaymentForLease_ShouldReturnLatestPayment() {
         when(paymentRepository.findTopByLeaseLeaseIdOrderByPaymentDateDesc(1L))
@@ -257,6 +495,36 @@ class PaymentServiceTest {
         verify(paymentRepository).findAll();
     }
 
+    @Test
+    void getPaymentsPage_ShouldReturnCursorForNextPage() {
+        Payment older = Payment.builder().paymentId(2L).paymentDate(LocalDate.of(2025, 1, 1)).build();
+        when(paymentRepository.findFirstPage(Limit.of(2))).thenReturn(List.of(testPayment, older));
+        when(paymentConverter.toPaymentDTO(testPayment)).thenReturn(testPaymentDTO);
+
+        CursorPageDTO<PaymentDTO> page = paymentService.getPaymentsPage(null, 1);
+
+        assertEquals(List.of(testPaymentDTO), page.getContent());
+        assertEquals(new KeysetCursor(testPayment.getPaymentDate().toString(), 1L),
+                KeysetCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getPaymentsPage_ShouldContinueAfterCursor() {
+        String cursor = KeysetCursor.encode(LocalDate.of(2025, 1, 1), 2L);
+        when(paymentRepository.findPageAfter(LocalDate.of(2025, 1, 1), 2L, Limit.of(51))).thenReturn(List.of());
+
+        CursorPageDTO<PaymentDTO> page = paymentService.getPaymentsPage(cursor, 50);
+
+        assertTrue(page.getContent().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getPaymentsPage_ShouldRejectInvalidCursorAndLimit() {
+        assertThrows(ResponseStatusException.class, () -> paymentService.getPaymentsPage("not a cursor", 50));
+        assertThrows(ResponseStatusException.class, () -> paymentService.getPaymentsPage(null, KeysetCursor.MAX_LIMIT + 1));
+    }
+
     @Test
     void getPaymentsByLandlordId_ShouldReturnLandlordPayments() {
         List<Payment> payments = List.of(testPayment);
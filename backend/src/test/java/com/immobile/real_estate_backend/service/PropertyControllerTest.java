@@ -2,6 +2,7 @@ package com.immobile.real_estate_backend.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.immobile.real_estate_backend.controller.PropertyController;
+import com.immobile.real_estate_backend.model.dto.CursorPageDTO;
 import com.immobile.real_estate_backend.model.dto.PropertyDTO;
 import com.immobile.real_estate_backend.model.dto.UserDTO;
 import com.immobile.real_estate_backend.model.enums.PropertyStatus;
@@ -164,16 +165,35 @@ class PropertyControllerTest {
     }
 
     @Test
-    void getProperties_ShouldReturnAllProperties() throws Exception {
-        List<PropertyDTO> properties = List.of(testPropertyDTO);
-        when(propertyService.getAllPropertiesDTO()).thenReturn(properties);
+    void getProperties_ShouldReturnFirstPageWithNextCursorHeader() throws Exception {
+        CursorPageDTO<PropertyDTO> page = CursorPageDTO.<PropertyDTO>builder()
+                .content(List.of(testPropertyDTO))
+                .nextCursor("next-token")
+                .limit(1)
+                .build();
+        when(propertyService.getPropertiesPage(null, 1)).thenReturn(page);
 
-        mockMvc.perform(get("/property"))
+        mockMvc.perform(get("/property").param("limit", "1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(CursorPageDTO.NEXT_CURSOR_HEADER, "next-token"))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].name").value("Test Property"));
 
-        verify(propertyService).getAllPropertiesDTO();
+        verify(propertyService).getPropertiesPage(null, 1);
+    }
+
+    @Test
+    void getProperties_ShouldOmitNextCursorHeaderOnLastPage() throws Exception {
+        CursorPageDTO<PropertyDTO> page = CursorPageDTO.<PropertyDTO>builder()
+                .content(List.of(testPropertyDTO))
+                .limit(50)
+                .build();
+        when(propertyService.getPropertiesPage("next-token", 50)).thenReturn(page);
+
+        mockMvc.perform(get("/property").param("cursor", "next-token"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorPageDTO.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$[0].name").value("Test Property"));
     }
 
     @Test
@@ -0,0 +1,107 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.dto.PropertyFacetSearchDTO;
+import com.immobile.real_estate_backend.model.entity.Property;
+import com.immobile.real_estate_backend.model.enums.PropertyStatus;
+import com.immobile.real_estate_backend.model.enums.PropertyType;
+import com.immobile.real_estate_backend.model.enums.RentBand;
+import com.immobile.real_estate_backend.model.enums.ValidationStatus;
+import com.immobile.real_estate_backend.repository.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyFacetIndexTest {
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @InjectMocks
+    private PropertyFacetIndex propertyFacetIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(propertyRepository.findAll()).thenReturn(List.of(
+                property(3L, PropertyType.HOUSE, PropertyStatus.RENTED, ValidationStatus.APPROVED, 1500),
+                property(1L, PropertyType.APARTMENT, PropertyStatus.AVAILABLE, ValidationStatus.APPROVED, 450),
+                property(2L, PropertyType.APARTMENT, PropertyStatus.AVAILABLE, ValidationStatus.PENDING, 700),
+                property(4L, PropertyType.HOUSE, PropertyStatus.AVAILABLE, ValidationStatus.APPROVED, 2500)));
+        propertyFacetIndex.rebuild();
+    }
+
+    @Test
+    void search_ShouldOrValuesWithinFacetAndAndAcrossFacets() {
+        PropertyFacetSearchDTO result = propertyFacetIndex.search(Map.of(
+                PropertyFacetIndex.STATUS, Set.of("AVAILABLE"),
+                PropertyFacetIndex.RENT_BAND, Set.of(RentBand.ECONOMY.name(), RentBand.LUXURY.name())), 0, 20);
+
+        assertEquals(List.of(1L, 4L), result.getPropertyIds());
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    void search_ShouldCountFacetValuesAgainstOtherFacetsOnly() {
+        PropertyFacetSearchDTO result = propertyFacetIndex.search(Map.of(
+                PropertyFacetIndex.TYPE, Set.of("APARTMENT"),
+                PropertyFacetIndex.VALIDATION_STATUS, Set.of("APPROVED")), 0, 20);
+
+        assertEquals(List.of(1L), result.getPropertyIds());
+        Map<String, Integer> typeCounts = result.getFacetCounts().get(PropertyFacetIndex.TYPE);
+        assertEquals(1, typeCounts.get("APARTMENT"));
+        assertEquals(2, typeCounts.get("HOUSE"));
+        assertEquals(0, typeCounts.get("LAND"));
+        Map<String, Integer> validationCounts = result.getFacetCounts().get(PropertyFacetIndex.VALIDATION_STATUS);
+        assertEquals(1, validationCounts.get("APPROVED"));
+        assertEquals(1, validationCounts.get("PENDING"));
+    }
+
+    @Test
+    void search_ShouldPageInPropertyIdOrder() {
+        PropertyFacetSearchDTO result = propertyFacetIndex.search(Map.of(), 1, 2);
+
+        assertEquals(List.of(3L, 4L), result.getPropertyIds());
+        assertEquals(4, result.getTotalElements());
+    }
+
+    @Test
+    void onPropertyChanged_ShouldMoveUpdatedPropertyBetweenBitmaps() {
+        propertyFacetIndex.onPropertyChanged(PropertyChangedEvent.updated(
+                property(1L, PropertyType.APARTMENT, PropertyStatus.RENTED, ValidationStatus.APPROVED, 450)));
+        propertyFacetIndex.onPropertyChanged(PropertyChangedEvent.deleted(4L));
+
+        PropertyFacetSearchDTO result = propertyFacetIndex.search(
+                Map.of(PropertyFacetIndex.STATUS, Set.of("RENTED")), 0, 20);
+
+        assertEquals(List.of(1L, 3L), result.getPropertyIds());
+        assertEquals(1, result.getFacetCounts().get(PropertyFacetIndex.STATUS).get("AVAILABLE"));
+    }
+
+    @Test
+    void search_ShouldRejectInvalidPageSize() {
+        assertThrows(ResponseStatusException.class, () -> propertyFacetIndex.search(Map.of(), 0, 101));
+    }
+
+    private static Property property(Long id, PropertyType type, PropertyStatus status,
+                                     ValidationStatus validationStatus, int rentAmount) {
+        return Property.builder()
+                .propertyId(id)
+                .type(type)
+                .status(status)
+                .validationStatus(validationStatus)
+                .rentAmount(BigDecimal.valueOf(rentAmount))
+                .build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.dto.PageDTO;
+import com.immobile.real_estate_backend.model.dto.PropertyClusterDTO;
+import com.immobile.real_estate_backend.model.dto.PropertyLocationDTO;
+import com.immobile.real_estate_backend.model.entity.Property;
+import com.immobile.real_estate_backend.model.enums.PropertyStatus;
+import com.immobile.real_estate_backend.model.enums.PropertyType;
+import com.immobile.real_estate_backend.model.enums.ValidationStatus;
+import com.immobile.real_estate_backend.repository.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyGeoIndexTest {
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @InjectMocks
+    private PropertyGeoIndex propertyGeoIndex;
+
+    // Bucharest city centre, a suburb ~9 km north and Cluj-Napoca ~320 km away.
+    private Property centre;
+    private Property suburb;
+    private Property otherCity;
+
+    @BeforeEach
+    void setUp() {
+        centre = property(1L, 44.4268, 26.1025, PropertyStatus.AVAILABLE);
+        suburb = property(2L, 44.5077, 26.0950, PropertyStatus.AVAILABLE);
+        otherCity = property(3L, 46.7712, 23.6236, PropertyStatus.AVAILABLE);
+
+        when(propertyRepository.findByStatusAndValidationStatusOrderByPropertyId(PropertyStatus.AVAILABLE,
+                ValidationStatus.APPROVED)).thenReturn(List.of(centre, suburb, otherCity));
+        propertyGeoIndex.rebuild();
+    }
+
+    @Test
+    void searchWithinRadius_ShouldReturnPropertiesOrderedByDistance() {
+        PageDTO<PropertyLocationDTO> result = propertyGeoIndex.searchWithinRadius(44.43, 26.10, 20, 0, 20);
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(1L, 2L), result.getContent().stream().map(PropertyLocationDTO::getPropertyId).toList());
+        assertTrue(result.getContent().get(0).getDistanceKm() < result.getContent().get(1).getDistanceKm());
+    }
+
+    @Test
+    void searchWithinBounds_ShouldPageResults() {
+        PageDTO<PropertyLocationDTO> first = propertyGeoIndex.searchWithinBounds(40, 20, 48, 30, 0, 2);
+        PageDTO<PropertyLocationDTO> second = propertyGeoIndex.searchWithinBounds(40, 20, 48, 30, 1, 2);
+
+        assertEquals(3, first.getTotalElements());
+        assertEquals(List.of(1L, 2L), first.getContent().stream().map(PropertyLocationDTO::getPropertyId).toList());
+        assertEquals(List.of(3L), second.getContent().stream().map(PropertyLocationDTO::getPropertyId).toList());
+    }
+
+    @Test
+    void onPropertyChanged_ShouldRemoveProperty_WhenNoLongerAvailable() {
+        centre.setStatus(PropertyStatus.RENTED);
+        propertyGeoIndex.onPropertyChanged(PropertyChangedEvent.updated(centre));
+        propertyGeoIndex.onPropertyChanged(PropertyChangedEvent.deleted(2L));
+
+        assertEquals(1, propertyGeoIndex.size());
+        assertEquals(0, propertyGeoIndex.searchWithinRadius(44.43, 26.10, 20, 0, 20).getTotalElements());
+    }
+
+    @Test
+    void onPropertyChanged_ShouldExcludePropertiesNotApproved() {
+        Property pending = property(4L, 44.4270, 26.1030, PropertyStatus.AVAILABLE);
+        pending.setValidationStatus(ValidationStatus.PENDING);
+        propertyGeoIndex.onPropertyChanged(PropertyChangedEvent.updated(pending));
+        centre.setValidationStatus(ValidationStatus.REJECTED);
+        propertyGeoIndex.onPropertyChanged(PropertyChangedEvent.updated(centre));
+
+        assertEquals(List.of(2L), propertyGeoIndex.searchWithinRadius(44.43, 26.10, 20, 0, 20).getContent().stream()
+                .map(PropertyLocationDTO::getPropertyId).toList());
+
+        pending.setValidationStatus(ValidationStatus.APPROVED);
+        propertyGeoIndex.onPropertyChanged(PropertyChangedEvent.updated(pending));
+
+        assertEquals(List.of(4L, 2L), propertyGeoIndex.searchWithinRadius(44.43, 26.10, 20, 0, 20).getContent().stream()
+                .map(PropertyLocationDTO::getPropertyId).toList());
+    }
+
+    @Test
+    void onPropertyChanged_ShouldMoveProperty_WhenCoordinatesChange() {
+        suburb.setLatitude(46.77);
+        suburb.setLongitude(23.62);
+        propertyGeoIndex.onPropertyChanged(PropertyChangedEvent.updated(suburb));
+
+        assertEquals(1, propertyGeoIndex.searchWithinRadius(44.43, 26.10, 20, 0, 20).getTotalElements());
+        assertEquals(2, propertyGeoIndex.searchWithinRadius(46.77, 23.62, 5, 0, 20).getTotalElements());
+    }
+
+    @Test
+    void clusters_ShouldAggregatePerZoomLevel() {
+        List<PropertyClusterDTO> countryLevel = propertyGeoIndex.clusters(40, 20, 48, 30, 4);
+        List<PropertyClusterDTO> cityLevel = propertyGeoIndex.clusters(44, 25.5, 45, 26.5, 12);
+
+        assertEquals(2, countryLevel.size());
+        PropertyClusterDTO bucharest = countryLevel.stream()
+                .filter(cluster -> cluster.getCount() == 2)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(BigDecimal.valueOf(501), bucharest.getMinRent());
+        assertEquals(BigDecimal.valueOf(502), bucharest.getMaxRent());
+        assertNull(bucharest.getPropertyId());
+        assertEquals((44.4268 + 44.5077) / 2, bucharest.getLatitude(), 1e-9);
+
+        assertEquals(2, cityLevel.size());
+        assertTrue(cityLevel.stream().allMatch(cluster -> cluster.getCount() == 1 && cluster.getPropertyId() != null));
+    }
+
+    @Test
+    void clusters_ShouldUpdateIncrementally_WhenPropertyIsRemoved() {
+        propertyGeoIndex.onPropertyChanged(PropertyChangedEvent.deleted(1L));
+
+        List<PropertyClusterDTO> clusters = propertyGeoIndex.clusters(40, 20, 48, 30, 4);
+
+        PropertyClusterDTO bucharest = clusters.stream()
+                .filter(cluster -> cluster.getLatitude() < 45)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, bucharest.getCount());
+        assertEquals(2L, bucharest.getPropertyId());
+        assertEquals(BigDecimal.valueOf(502), bucharest.getMinRent());
+    }
+
+    @Test
+    void searchWithinRadius_ShouldRejectInvalidArguments() {
+        assertThrows(ResponseStatusException.class,
+                () -> propertyGeoIndex.searchWithinRadius(95, 26.10, 5, 0, 20));
+        assertThrows(ResponseStatusException.class,
+                () -> propertyGeoIndex.searchWithinRadius(44.43, 26.10, 5, 0, 1000));
+        assertThrows(ResponseStatusException.class,
+                () -> propertyGeoIndex.clusters(-90, -180, 90, 180, 18));
+    }
+
+    private static Property property(Long id, double latitude, double longitude, PropertyStatus status) {
+        return Property.builder()
+                .propertyId(id)
+                .name("Property " + id)
+                .address("Address " + id)
+                .type(PropertyType.APARTMENT)
+                .rentAmount(BigDecimal.valueOf(500 + id))
+                .latitude(latitude)
+                .longitude(longitude)
+                .status(status)
+                .validationStatus(ValidationStatus.APPROVED)
+                .build();
+    }
+}
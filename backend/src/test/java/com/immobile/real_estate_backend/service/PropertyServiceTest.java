@@ -1,15 +1,13 @@
 package com.immobile.real_estate_backend.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.immobile.real_estate_backend.model.converter.PropertyConverter;
 import com.immobile.real_estate_backend.model.dto.PropertyDTO;
-import com.immobile.real_estate_backend.model.entity.ActivityLog;
+import com.immobile.real_estate_backend.model.entity.Image;
 import com.immobile.real_estate_backend.model.entity.Property;
 import com.immobile.real_estate_backend.model.entity.User;
 import com.immobile.real_estate_backend.model.enums.PropertyStatus;
 import com.immobile.real_estate_backend.model.enums.PropertyType;
 import com.immobile.real_estate_backend.model.enums.ValidationStatus;
-import com.immobile.real_estate_backend.repository.ActivityLogRepository;
 import com.immobile.real_estate_backend.repository.PropertyRepository;
 import com.immobile.real_estate_backend.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +17,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.multipart.MultipartFile;
@@ -49,10 +48,25 @@ class PropertyServiceTest {
     private ModelMapper modelMapper;
 
     @Mock
-    private ActivityLogRepository activityLogRepository;
+    private ActivityLogWriter activityLogWriter;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private ImageService imageService;
+
+    @Mock
+    private PropertyGeoIndex propertyGeoIndex;
+
+    @Mock
+    private PropertyTextIndex propertyTextIndex;
+
+    @Mock
+    private PropertyFacetIndex propertyFacetIndex;
+
+    @Mock
+    private PublicPropertyListingCache publicPropertyListingCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private PropertyService propertyService;
@@ -102,10 +116,9 @@ class PropertyServiceTest {
         );
 
         when(propertyConverter.toPropertyForCreation(testPropertyDTO)).thenReturn(testProperty);
+        when(imageService.newImage(any(MultipartFile.class))).thenAnswer(invocation -> new Image());
         when(propertyRepository.save(any(Property.class))).thenReturn(testProperty);
         when(propertyConverter.toPropertyDTO(testProperty)).thenReturn(testPropertyDTO);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
-        when(activityLogRepository.save(any(ActivityLog.class))).thenReturn(new ActivityLog());
 
         PropertyDTO result = propertyService.createProperty(testPropertyDTO, images);
 
@@ -113,7 +126,9 @@ class PropertyServiceTest {
         assertEquals(testPropertyDTO.getName(), result.getName());
         assertEquals(testPropertyDTO.getAddress(), result.getAddress());
         verify(propertyRepository).save(any(Property.class));
-        verify(activityLogRepository).save(any(ActivityLog.class));
+        verify(activityLogWriter).record(any(ActivityLogEvent.class));
+        verify(imageService, times(2)).newImage(any(MultipartFile.class));
+        assertEquals(2, testProperty.getImages().size());
     }
 
     @Test
@@ -121,8 +136,6 @@ class PropertyServiceTest {
         when(propertyConverter.toPropertyForCreation(testPropertyDTO)).thenReturn(testProperty);
         when(propertyRepository.save(testProperty)).thenReturn(testProperty);
         when(propertyConverter.toPropertyDTO(testProperty)).thenReturn(testPropertyDTO);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
-        when(activityLogRepository.save(any(ActivityLog.class))).thenReturn(new ActivityLog());
 
         PropertyDTO result = propertyService.createProperty(testPropertyDTO, null);
 
@@ -157,7 +170,7 @@ class PropertyServiceTest {
         List<Property> properties = List.of(testProperty);
         when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(testUser));
         when(propertyRepository.getPropertiesByOwner(testUser)).thenReturn(properties);
-        when(propertyConverter.toPropertyDTO(testProperty)).thenReturn(testPropertyDTO);
+        when(propertyConverter.toPropertyDTOs(List.of(testProperty))).thenReturn(List.of(testPropertyDTO));
 
         List<PropertyDTO> result = propertyService.findByUserEmail("john.doe@example.com");
 
@@ -186,6 +199,7 @@ class PropertyServiceTest {
         verify(propertyRepository).save(argThat(property ->
                 property.getValidationStatus() == ValidationStatus.APPROVED &&
                         property.getStatus() == PropertyStatus.AVAILABLE));
+        verify(eventPublisher).publishEvent(new PropertyChangedEvent(1L, testProperty));
     }
 
     @Test
@@ -218,6 +232,7 @@ class PropertyServiceTest {
 
         verify(propertyRepository).save(argThat(property ->
                 property.getStatus() == PropertyStatus.RENTED));
+        verify(eventPublisher).publishEvent(new PropertyChangedEvent(1L, testProperty));
     }
 
     @Test
@@ -231,13 +246,12 @@ class PropertyServiceTest {
     @Test
     void deletePropertyById_ShouldDeleteProperty_WhenPropertyExists() {
         when(propertyRepository.findById(1L)).thenReturn(Optional.of(testProperty));
-        when(activityLogRepository.save(any(ActivityLog.class))).thenReturn(new ActivityLog());
         doNothing().when(propertyRepository).deleteById(1L);
 
         propertyService.deletePropertyById(1L);
 
         verify(propertyRepository).deleteById(1L);
-        verify(activityLogRepository).save(any(ActivityLog.class));
+        verify(activityLogWriter).record(any(ActivityLogEvent.class));
     }
 
     @Test
@@ -254,7 +268,7 @@ class PropertyServiceTest {
         List<Property> pendingProperties = List.of(testProperty);
         when(propertyRepository.findByValidationStatus(ValidationStatus.PENDING))
                 .thenReturn(pendingProperties);
-        when(propertyConverter.toPropertyDTO(testProperty)).thenReturn(testPropertyDTO);
+        when(propertyConverter.toPropertyDTOs(List.of(testProperty))).thenReturn(List.of(testPropertyDTO));
 
         List<PropertyDTO> result = propertyService.findPendingProperties();
 
@@ -265,16 +279,14 @@ class PropertyServiceTest {
     }
 
     @Test
-    void getAllProperties_ShouldReturnAllProperties() {
-        List<Property> properties = List.of(testProperty);
-        when(propertyRepository.findAll()).thenReturn(properties);
+    void getPropertiesByIds_ShouldLoadAllRequestedPropertiesInOneQuery() {
+        when(propertyRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(testProperty));
+        when(propertyConverter.toPropertyDTOs(List.of(testProperty))).thenReturn(List.of(testPropertyDTO));
 
-        List<Property> result = propertyService.getAllProperties();
+        List<PropertyDTO> result = propertyService.getPropertiesByIds(List.of(1L, 2L));
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testProperty.getName(), result.get(0).getName());
-        verify(propertyRepository).findAll();
+        assertEquals(List.of(testPropertyDTO), result);
+        verify(propertyRepository, never()).findById(any());
     }
 
     @Test
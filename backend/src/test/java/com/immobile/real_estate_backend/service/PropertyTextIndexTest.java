@@ -0,0 +1,85 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.Property;
+import com.immobile.real_estate_backend.repository.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyTextIndexTest {
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @InjectMocks
+    private PropertyTextIndex propertyTextIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(propertyRepository.findAll()).thenReturn(List.of(
+                property(1L, "Apartament Herăstrău", "Șoseaua Nordului 10, București"),
+                property(2L, "Garsonieră Centru", "Bulevardul Ştefan cel Mare 5, Iași"),
+                property(3L, "Casa Brașov", "Strada Republicii 12, Brașov")));
+        propertyTextIndex.rebuild();
+    }
+
+    @Test
+    void search_ShouldFoldDiacritics() {
+        assertEquals(List.of(2L), propertyTextIndex.search("stefan cel mare", 0, 20).getContent());
+        assertEquals(List.of(1L), propertyTextIndex.search("SOSEAUA NORDULUI", 0, 20).getContent());
+        assertEquals(List.of(3L), propertyTextIndex.search("Brașov", 0, 20).getContent());
+    }
+
+    @Test
+    void search_ShouldMatchPrefixes() {
+        assertEquals(List.of(1L), propertyTextIndex.search("bucur", 0, 20).getContent());
+        assertEquals(List.of(3L), propertyTextIndex.search("str repub", 0, 20).getContent());
+    }
+
+    @Test
+    void search_ShouldTolerateOneTypo() {
+        assertEquals(List.of(3L), propertyTextIndex.search("brasvo", 0, 20).getContent());
+        assertEquals(List.of(2L), propertyTextIndex.search("garsoniera centu", 0, 20).getContent());
+        assertTrue(propertyTextIndex.search("bxxsov", 0, 20).getContent().isEmpty());
+    }
+
+    @Test
+    void search_ShouldRankPrefixMatchesAboveTypos() {
+        propertyTextIndex.onPropertyChanged(PropertyChangedEvent.updated(
+                property(4L, "Vila Brasovului", "Strada Lungă 1, Brașov")));
+
+        // "brasovului" starts with the term, "brasov" is one edit away from it.
+        assertEquals(List.of(4L, 3L), propertyTextIndex.search("brasovu", 0, 20).getContent());
+    }
+
+    @Test
+    void onPropertyChanged_ShouldRemoveDeletedProperties() {
+        propertyTextIndex.onPropertyChanged(PropertyChangedEvent.deleted(3L));
+
+        assertTrue(propertyTextIndex.search("brasov", 0, 20).getContent().isEmpty());
+        assertEquals(List.of(2L), propertyTextIndex.search("iasi", 0, 20).getContent());
+    }
+
+    @Test
+    void search_ShouldRejectQueriesWithoutTerms() {
+        assertThrows(ResponseStatusException.class, () -> propertyTextIndex.search(" ,. ", 0, 20));
+    }
+
+    private static Property property(Long id, String name, String address) {
+        return Property.builder()
+                .propertyId(id)
+                .name(name)
+                .address(address)
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.immobile.real_estate_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.immobile.real_estate_backend.model.converter.PropertyConverter;
+import com.immobile.real_estate_backend.model.entity.Property;
+import com.immobile.real_estate_backend.model.entity.User;
+import com.immobile.real_estate_backend.model.enums.PropertyStatus;
+import com.immobile.real_estate_backend.model.enums.ValidationStatus;
+import com.immobile.real_estate_backend.repository.ImageRepository;
+import com.immobile.real_estate_backend.repository.PropertyRepository;
+import com.immobile.real_estate_backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublicPropertyListingCacheTest {
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PublicPropertyListingCache listingCache;
+
+    private final Property property = Property.builder()
+            .propertyId(1L)
+            .owner(User.builder().userId(7L).build())
+            .name("Garsonieră")
+            .address("Str. Lalelelor 12, ap. 4")
+            .latitude(44.426767)
+            .longitude(26.102538)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        listingCache = new PublicPropertyListingCache(propertyRepository,
+                new PropertyConverter(mock(UserRepository.class), imageRepository), new ObjectMapper(), transactionManager);
+        when(propertyRepository.findByStatusAndValidationStatusOrderByPropertyId(
+                PropertyStatus.AVAILABLE, ValidationStatus.APPROVED)).thenReturn(List.of(property));
+        when(imageRepository.findImageIdsByPropertyIds(List.of(1L))).thenReturn(List.of());
+    }
+
+    @Test
+    void get_ShouldServeCachedBytesWithoutReloading() {
+        PublicPropertyListingCache.Snapshot first = listingCache.get();
+        PublicPropertyListingCache.Snapshot second = listingCache.get();
+
+        assertSame(first, second);
+        assertTrue(new String(first.json(), StandardCharsets.UTF_8).contains("\"name\":\"Garsonieră\""));
+        verify(propertyRepository, times(1))
+                .findByStatusAndValidationStatusOrderByPropertyId(PropertyStatus.AVAILABLE, ValidationStatus.APPROVED);
+    }
+
+    @Test
+    void get_ShouldLeaveOutOwnerAndAddressAndCoarsenCoordinates() {
+        String json = new String(listingCache.get().json(), StandardCharsets.UTF_8);
+
+        assertFalse(json.contains("ownerId"));
+        assertFalse(json.contains("Lalelelor"));
+        assertTrue(json.contains("\"latitude\":44.43"));
+        assertTrue(json.contains("\"longitude\":26.1"));
+    }
+
+    @Test
+    void onPropertyChanged_ShouldInvalidateSnapshot() {
+        PublicPropertyListingCache.Snapshot first = listingCache.get();
+
+        listingCache.onPropertyChanged(PropertyChangedEvent.deleted(2L));
+        PublicPropertyListingCache.Snapshot second = listingCache.get();
+
+        assertEquals(first.version() + 1, second.version());
+        assertNotEquals(first.eTag(), second.eTag());
+        verify(propertyRepository, times(2))
+                .findByStatusAndValidationStatusOrderByPropertyId(PropertyStatus.AVAILABLE, ValidationStatus.APPROVED);
+    }
+}
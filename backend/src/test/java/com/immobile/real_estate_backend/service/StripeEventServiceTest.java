@@ -0,0 +1,222 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.StripeEvent;
+import com.immobile.real_estate_backend.model.enums.StripeEventStatus;
+import com.immobile.real_estate_backend.repository.StripeEventRepository;
+import com.stripe.Stripe;
+import com.stripe.net.Webhook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StripeEventServiceTest {
+
+    private static final String WEBHOOK_SECRET = "whsec_test_secret";
+
+    @Mock
+    private StripeEventRepository stripeEventRepository;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StripeStandIn stripe;
+    private StripeEventService stripeEventService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stripe = new StripeStandIn();
+        stripeEventService = new StripeEventService(stripeEventRepository, paymentService, stripe.client(),
+                transactionManager, new SyncTaskExecutor(), WEBHOOK_SECRET, Duration.ofMinutes(5), 50, 3,
+                Duration.ofSeconds(30), Duration.ofHours(1), Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stripe.close();
+    }
+
+    private static String checkoutEvent(String eventId, String type, String paymentStatus, Long leaseId) {
+        return """
+                {"id":"%s","object":"event","api_version":"%s","type":"%s","data":{"object":%s}}"""
+                .formatted(eventId, Stripe.API_VERSION, type,
+                        StripeStandIn.sessionJson("cs_test_" + eventId, paymentStatus, leaseId));
+    }
+
+    // What a stand-in session records: its own amount and creation day, not today's rent
+    private static PaymentService.StripeCheckout checkout(String sessionId) {
+        return new PaymentService.StripeCheckout(sessionId, 7L, new BigDecimal("1500.00"),
+                Instant.ofEpochSecond(StripeStandIn.SESSION_CREATED).atZone(ZoneId.systemDefault()).toLocalDate());
+    }
+
+    private static String sign(String payload) throws Exception {
+        long timestamp = Webhook.Util.getTimeNow();
+        return "t=" + timestamp + ",v1=" + Webhook.Util.computeHmacSha256(WEBHOOK_SECRET, timestamp + "." + payload);
+    }
+
+    // Stores the inserted row so the worker can claim and load it
+    private void storeInbox() {
+        ArgumentCaptor<StripeEvent> saved = ArgumentCaptor.forClass(StripeEvent.class);
+        when(stripeEventRepository.saveAndFlush(saved.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(stripeEventRepository.claim(anyString(), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+        when(stripeEventRepository.findById(anyString())).thenAnswer(invocation -> Optional.of(saved.getValue()));
+    }
+
+    @Test
+    void receive_ShouldStoreVerifiedEventAndRecordPayment() throws Exception {
+        String payload = checkoutEvent("evt_1", StripeEventService.CHECKOUT_COMPLETED, "paid", 7L);
+        storeInbox();
+
+        assertTrue(stripeEventService.receive(payload, sign(payload)));
+
+        ArgumentCaptor<StripeEvent> saved = ArgumentCaptor.forClass(StripeEvent.class);
+        verify(stripeEventRepository).saveAndFlush(saved.capture());
+        assertEquals("evt_1", saved.getValue().getEventId());
+        assertEquals(payload, saved.getValue().getPayload());
+        verify(paymentService).recordStripeCheckout(checkout("cs_test_evt_1"));
+        verify(stripeEventRepository).markDone(eq("evt_1"), eq(StripeEventStatus.PROCESSED), any(LocalDateTime.class));
+        assertTrue(stripe.getRequests().isEmpty());
+    }
+
+    @Test
+    void receive_ShouldRejectInvalidSignature() throws Exception {
+        String payload = checkoutEvent("evt_1", StripeEventService.CHECKOUT_COMPLETED, "paid", 7L);
+        String signature = sign(payload.replace("\"paid\"", "\"unpaid\""));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> stripeEventService.receive(payload, signature));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        verify(stripeEventRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    void receive_ShouldNotProcessRedeliveredEvent() throws Exception {
+        String payload = checkoutEvent("evt_1", StripeEventService.CHECKOUT_COMPLETED, "paid", 7L);
+        when(stripeEventRepository.existsById("evt_1")).thenReturn(true);
+
+        assertFalse(stripeEventService.receive(payload, sign(payload)));
+
+        verify(stripeEventRepository, never()).saveAndFlush(any());
+        verify(stripeEventRepository, never()).claim(anyString(), any(), any());
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    void receive_ShouldIgnoreOtherEventTypesAndUnpaidSessions() throws Exception {
+        String payload = checkoutEvent("evt_2", "checkout.session.completed", "unpaid", 7L);
+        storeInbox();
+
+        stripeEventService.receive(payload, sign(payload));
+
+        verify(stripeEventRepository).markDone(eq("evt_2"), eq(StripeEventStatus.IGNORED), any(LocalDateTime.class));
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    void process_ShouldSkipEventClaimedElsewhere() {
+        when(stripeEventRepository.claim(eq("evt_1"), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(0);
+
+        stripeEventService.process("evt_1");
+
+        verify(stripeEventRepository, never()).findById(anyString());
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    void receive_ShouldTreatConcurrentlyRecordedSessionAsProcessed() throws Exception {
+        String payload = checkoutEvent("evt_1", StripeEventService.CHECKOUT_COMPLETED, "paid", 7L);
+        storeInbox();
+        when(paymentService.recordStripeCheckout(any()))
+                .thenThrow(new ResponseStatusException(HttpStatus.CONFLICT, "Payment already processed"));
+        when(paymentService.isStripeSessionRecorded("cs_test_evt_1")).thenReturn(true);
+
+        stripeEventService.receive(payload, sign(payload));
+
+        verify(stripeEventRepository).markDone(eq("evt_1"), eq(StripeEventStatus.PROCESSED), any(LocalDateTime.class));
+    }
+
+    @Test
+    void receive_ShouldRetry_WhenCycleIsPaidByAnotherPayment() throws Exception {
+        String payload = checkoutEvent("evt_1", StripeEventService.CHECKOUT_COMPLETED, "paid", 7L);
+        storeInbox();
+        when(paymentService.recordStripeCheckout(any()))
+                .thenThrow(new ResponseStatusException(HttpStatus.CONFLICT, "Payment already processed"));
+        when(paymentService.isStripeSessionRecorded("cs_test_evt_1")).thenReturn(false);
+
+        stripeEventService.receive(payload, sign(payload));
+
+        verify(stripeEventRepository).markAttemptFailed(eq("evt_1"), eq(StripeEventStatus.PENDING), eq(1),
+                any(LocalDateTime.class), anyString());
+        verify(stripeEventRepository, never()).markDone(anyString(), any(), any());
+    }
+
+    @Test
+    void receive_ShouldScheduleRetry_WhenRecordingFails() throws Exception {
+        String payload = checkoutEvent("evt_1", StripeEventService.CHECKOUT_COMPLETED, "paid", 7L);
+        storeInbox();
+        when(paymentService.recordStripeCheckout(any())).thenThrow(new RuntimeException("database unavailable"));
+
+        stripeEventService.receive(payload, sign(payload));
+
+        verify(stripeEventRepository).markAttemptFailed(eq("evt_1"), eq(StripeEventStatus.PENDING), eq(1),
+                any(LocalDateTime.class), eq("database unavailable"));
+        verify(stripeEventRepository, never()).markDone(anyString(), any(), any());
+    }
+
+    @Test
+    void requestConfirmation_ShouldRetrieveSessionOnWorker() {
+        stripe.addSession("cs_test_42", "paid", 7L);
+        storeInbox();
+
+        stripeEventService.requestConfirmation("cs_test_42");
+
+        assertEquals(1, stripe.getRequests().size());
+        assertTrue(stripe.getRequests().get(0).startsWith("GET /v1/checkout/sessions/cs_test_42"));
+        verify(paymentService).recordStripeCheckout(checkout("cs_test_42"));
+        verify(stripeEventRepository).markDone(eq(StripeEventService.CONFIRMATION_PREFIX + "cs_test_42"),
+                eq(StripeEventStatus.PROCESSED), any(LocalDateTime.class));
+    }
+
+    @Test
+    void requestConfirmation_ShouldFailAtOnce_WhenStripeDoesNotKnowTheSession() {
+        storeInbox();
+
+        stripeEventService.requestConfirmation("cs_test_missing");
+
+        verify(stripeEventRepository).markAttemptFailed(eq(StripeEventService.CONFIRMATION_PREFIX + "cs_test_missing"),
+                eq(StripeEventStatus.FAILED), eq(1), any(LocalDateTime.class), anyString());
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    void backoff_ShouldGrowExponentiallyUpToMax() {
+        assertEquals(Duration.ofSeconds(30), stripeEventService.backoff(1));
+        assertEquals(Duration.ofSeconds(120), stripeEventService.backoff(3));
+        assertEquals(Duration.ofHours(1), stripeEventService.backoff(12));
+    }
+}
@@ -0,0 +1,113 @@
+package com.immobile.real_estate_backend.service;
+
+import com.stripe.StripeClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process stand-in for the Stripe API, enough for Checkout sessions. Created
+ * sessions and sessions added by the test can be retrieved; every request is recorded as
+ * {@code METHOD path} followed by its decoded form body, if any.
+ */
+class StripeStandIn implements AutoCloseable {
+
+    private static final String SESSIONS_PATH = "/v1/checkout/sessions";
+
+    /** Creation time and amount, in cents, of every session: 2024-03-05 12:00 UTC, 1500.00. */
+    static final long SESSION_CREATED = 1709640000L;
+    static final long SESSION_AMOUNT_TOTAL = 150000L;
+
+    private final HttpServer server;
+    private final Map<String, String> sessions = new ConcurrentHashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    StripeStandIn() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(SESSIONS_PATH, this::handleSessions);
+        server.start();
+    }
+
+    StripeClient client() {
+        return StripeClient.builder()
+                .setApiKey("sk_test_stand_in")
+                .setApiBase("http://localhost:" + server.getAddress().getPort())
+                .setMaxNetworkRetries(0)
+                .build();
+    }
+
+    void addSession(String id, String paymentStatus, Long leaseId) {
+        sessions.put(id, sessionJson(id, paymentStatus, leaseId));
+    }
+
+    List<String> getRequests() {
+        return requests;
+    }
+
+    static String sessionJson(String id, String paymentStatus, Long leaseId) {
+        return """
+                {"id":"%s","object":"checkout.session","mode":"payment","payment_status":"%s",\
+                "created":%d,"amount_total":%d,"currency":"ron","metadata":{"leaseId":"%d"}}"""
+                .formatted(id, paymentStatus, SESSION_CREATED, SESSION_AMOUNT_TOTAL, leaseId);
+    }
+
+    private void handleSessions(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String body = URLDecoder.decode(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8),
+                    StandardCharsets.UTF_8);
+            requests.add(exchange.getRequestMethod() + " " + path + (body.isEmpty() ? "" : " " + body));
+
+            if (exchange.getRequestMethod().equals("POST") && path.equals(SESSIONS_PATH)) {
+                String id = "cs_test_" + sequence.incrementAndGet();
+                String json = sessionJson(id, "unpaid", leaseIdFrom(body));
+                sessions.put(id, json);
+                respond(exchange, 200, json);
+                return;
+            }
+
+            String json = sessions.get(path.substring(path.lastIndexOf('/') + 1));
+            if (exchange.getRequestMethod().equals("GET") && json != null) {
+                respond(exchange, 200, json);
+            } else {
+                respond(exchange, 404, """
+                        {"error":{"type":"invalid_request_error","message":"No such checkout.session"}}""");
+            }
+        }
+    }
+
+    private static Long leaseIdFrom(String form) {
+        for (String field : form.split("&")) {
+            if (field.startsWith("metadata[leaseId]=")) {
+                return Long.parseLong(field.substring(field.indexOf('=') + 1));
+            }
+        }
+        return 0L;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,88 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.converter.TenantStatsConverter;
+import com.immobile.real_estate_backend.model.entity.Payment;
+import com.immobile.real_estate_backend.model.entity.TenantStats;
+import com.immobile.real_estate_backend.repository.LeaseRepository;
+import com.immobile.real_estate_backend.repository.PaymentRepository;
+import com.immobile.real_estate_backend.repository.ReviewRepository;
+import com.immobile.real_estate_backend.repository.TenantStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantScoreServiceTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private TenantStatsRepository tenantStatsRepository;
+
+    @Mock
+    private LeaseRepository leaseRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private TenantStatsConverter tenantStatsConverter;
+
+    @InjectMocks
+    private TenantScoreService tenantScoreService;
+
+    @Test
+    void pollDirtyTenants_ShouldReturnEachMarkedTenantOnce() {
+        tenantScoreService.markTenantDirty(1L);
+        tenantScoreService.markTenantDirty(2L);
+        tenantScoreService.markTenantDirty(1L);
+
+        List<Long> batch = tenantScoreService.pollDirtyTenants(10);
+
+        assertEquals(2, batch.size());
+        assertTrue(batch.containsAll(List.of(1L, 2L)));
+        assertTrue(tenantScoreService.pollDirtyTenants(10).isEmpty());
+    }
+
+    @Test
+    void pollDirtyTenants_ShouldRespectBatchSize() {
+        tenantScoreService.markTenantDirty(1L);
+        tenantScoreService.markTenantDirty(2L);
+        tenantScoreService.markTenantDirty(3L);
+
+        assertEquals(2, tenantScoreService.pollDirtyTenants(2).size());
+        assertEquals(1, tenantScoreService.pollDirtyTenants(2).size());
+    }
+
+    @Test
+    void markTenantDirty_ShouldIgnoreNullTenant() {
+        tenantScoreService.markTenantDirty(null);
+
+        assertTrue(tenantScoreService.pollDirtyTenants(10).isEmpty());
+    }
+
+    @Test
+    void updateScoreForTenant_ShouldLoadPaymentsOnce() {
+        Payment late = Payment.builder().wasLate(true).build();
+        Payment onTime = Payment.builder().wasLate(false).build();
+        when(paymentRepository.findCompletedByTenantId(1L)).thenReturn(List.of(late, onTime));
+        when(reviewRepository.findLandlordReviewsAboutTenant(1L)).thenReturn(List.of());
+        when(tenantStatsRepository.findByTenantId(1L)).thenReturn(Optional.empty());
+
+        tenantScoreService.updateScoreForTenant(1L);
+
+        verify(paymentRepository, times(1)).findCompletedByTenantId(1L);
+        verify(tenantStatsRepository).save(argThat((TenantStats stats) ->
+                stats.getTotalPayments() == 2 && stats.getLatePayments() == 1));
+        verifyNoMoreInteractions(paymentRepository);
+    }
+}
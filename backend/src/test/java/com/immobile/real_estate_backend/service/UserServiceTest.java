@@ -16,12 +16,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -39,6 +41,9 @@ class UserServiceTest {
     @Mock
     private RoleService roleService;
 
+    @Mock
+    private UserStateCache userStateCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -137,6 +142,7 @@ class UserServiceTest {
         verify(userRepository).findById(1L);
         verify(userRepository).save(argThat(user ->
                 !user.getIsActive() && user.getDeactivatedAt() != null));
+        verify(userStateCache).evictAfterCommit(1L);
     }
 
     @Test
@@ -145,6 +151,7 @@ class UserServiceTest {
 
         assertThrows(EntityNotFoundException.class,
                 () -> userService.deactivateUser(999L));
+        verifyNoInteractions(userStateCache);
     }
 
     @Test
@@ -159,6 +166,7 @@ class UserServiceTest {
         verify(userRepository).findById(1L);
         verify(userRepository).save(argThat(user ->
                 user.getIsActive() && user.getDeactivatedAt() == null));
+        verify(userStateCache).evictAfterCommit(1L);
     }
 
     @Test
@@ -176,16 +184,22 @@ class UserServiceTest {
     }
 
     @Test
-    void getAllUsers_ShouldReturnAllUsers() {
-        List<User> users = List.of(testUser);
-        when(userRepository.findAll()).thenReturn(users);
+    void getUsersByIds_ShouldLoadAllRequestedUsersInOneQuery() {
+        when(userRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(testUser));
+        when(userConverter.toUserDTO(testUser)).thenReturn(testUserDTO);
 
-        List<User> result = userService.getAllUsers();
+        List<UserDTO> result = userService.getUsersByIds(List.of(1L, 2L));
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testUser.getEmail(), result.get(0).getEmail());
-        verify(userRepository).findAll();
+        assertEquals(List.of(testUserDTO), result);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void getUsersByIds_ShouldRejectMoreIdsThanOnePage() {
+        List<Long> ids = LongStream.rangeClosed(1, KeysetCursor.MAX_LIMIT + 1).boxed().toList();
+
+        assertThrows(ResponseStatusException.class, () -> userService.getUsersByIds(ids));
+        verifyNoInteractions(userRepository);
     }
 
     @Test
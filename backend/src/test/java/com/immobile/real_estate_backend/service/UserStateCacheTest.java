@@ -0,0 +1,124 @@
+package com.immobile.real_estate_backend.service;
+
+import com.immobile.real_estate_backend.model.entity.Role;
+import com.immobile.real_estate_backend.model.entity.User;
+import com.immobile.real_estate_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStateCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserStateCache newCache(Duration ttl, int maxEntries) {
+        return new UserStateCache(userRepository, ttl, maxEntries);
+    }
+
+    private void stubUser(long userId, String email, boolean active, String... roles) {
+        User user = User.builder()
+                .userId(userId)
+                .email(email)
+                .isActive(active)
+                .roles(Arrays.stream(roles).map(name -> Role.builder().name(name).build()).toList())
+                .build();
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndServeFromCache() {
+        stubUser(1L, "tenant@example.com", true, "TENANT");
+        UserStateCache cache = newCache(Duration.ofMinutes(5), 100);
+
+        UserStateCache.UserState state = cache.get("tenant@example.com").orElseThrow();
+        cache.get("tenant@example.com");
+
+        assertEquals(1L, state.userId());
+        assertTrue(state.active());
+        assertEquals(Set.of("ROLE_TENANT"), state.authorities());
+        verify(userRepository, times(1)).findByEmail("tenant@example.com");
+    }
+
+    @Test
+    void get_ShouldReloadExpiredEntries() {
+        stubUser(1L, "tenant@example.com", true, "TENANT");
+        UserStateCache cache = newCache(Duration.ZERO, 100);
+
+        cache.get("tenant@example.com");
+        cache.get("tenant@example.com");
+
+        verify(userRepository, times(2)).findByEmail("tenant@example.com");
+    }
+
+    @Test
+    void get_ShouldNotCacheUnknownEmails() {
+        when(userRepository.findByEmail("new@example.com")).thenReturn(Optional.empty());
+        UserStateCache cache = newCache(Duration.ofMinutes(5), 100);
+
+        assertTrue(cache.get("new@example.com").isEmpty());
+        cache.get("new@example.com");
+
+        verify(userRepository, times(2)).findByEmail("new@example.com");
+    }
+
+    @Test
+    void get_ShouldStartOver_WhenFullOfLiveEntries() {
+        stubUser(1L, "a@example.com", true, "TENANT");
+        stubUser(2L, "b@example.com", true, "TENANT");
+        stubUser(3L, "c@example.com", true, "TENANT");
+        UserStateCache cache = newCache(Duration.ofMinutes(5), 2);
+
+        cache.get("a@example.com");
+        cache.get("b@example.com");
+        cache.get("c@example.com");
+        cache.get("c@example.com");
+        cache.get("a@example.com");
+
+        verify(userRepository, times(1)).findByEmail("c@example.com");
+        verify(userRepository, times(2)).findByEmail("a@example.com");
+    }
+
+    @Test
+    void evictAfterCommit_ShouldKeepStateUntilTransactionCommits() {
+        stubUser(1L, "tenant@example.com", true, "TENANT");
+        UserStateCache cache = newCache(Duration.ofMinutes(5), 100);
+        cache.get("tenant@example.com");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evictAfterCommit(1L);
+            cache.get("tenant@example.com");
+            verify(userRepository, times(1)).findByEmail("tenant@example.com");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.get("tenant@example.com");
+        verify(userRepository, times(2)).findByEmail("tenant@example.com");
+    }
+
+    @Test
+    void grantedOf_ShouldDropClaimedAuthoritiesTheUserNoLongerHolds() {
+        UserStateCache.UserState state = new UserStateCache.UserState(1L, true, Set.of("ROLE_TENANT"));
+
+        assertEquals(List.of("ROLE_TENANT"), state.grantedOf(List.of("ROLE_TENANT", "ROLE_ADMIN")));
+        assertEquals(List.of(), state.grantedOf(List.of("ROLE_LANDLORD")));
+        assertEquals(List.of(), state.grantedOf(List.of()));
+    }
+}
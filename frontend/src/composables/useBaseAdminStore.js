@@ -1,5 +1,6 @@
 import { ref, computed } from 'vue'
 import { usePagination } from '@/composables/usePagination.js'
+import { useCursorPages } from '@/composables/useCursorPages.js'
 
 export function useBaseAdminStore(config = {}) {
     const {
@@ -141,6 +142,33 @@ export function useBaseAdminStore(config = {}) {
         }
     }
 
+    const { hasMore, loadingMore, load, loadMore: loadNextPage } = useCursorPages(items)
+
+    // For keyset-paginated lists: fetchPageFunction(cursor) returns { items, nextCursor }
+    const fetchPages = async (fetchPageFunction) => {
+        loading.value = true
+        error.value = null
+        try {
+            await load(fetchPageFunction)
+        } catch (err) {
+            error.value = err.message || `Failed to fetch ${entityName}`
+            console.error(`Error fetching ${entityName}:`, err)
+            items.value = []
+        } finally {
+            loading.value = false
+        }
+    }
+
+    const loadMore = async () => {
+        error.value = null
+        try {
+            await loadNextPage()
+        } catch (err) {
+            error.value = err.message || `Failed to fetch more ${entityName}`
+            console.error(`Error fetching more ${entityName}:`, err)
+        }
+    }
+
     const executeAction = async (actionFunction, ...args) => {
         loading.value = true
         error.value = null
@@ -219,7 +247,11 @@ export function useBaseAdminStore(config = {}) {
         totalPages,
         paginatedItems,
         selectedCount,
+        hasMore,
+        loadingMore,
         fetchItems,
+        fetchPages,
+        loadMore,
         executeAction,
         setSort,
         toggleSelection,
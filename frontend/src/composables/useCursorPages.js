@@ -0,0 +1,37 @@
+import { ref, computed } from 'vue'
+
+// Keeps the loaded pages of a keyset-paginated list in itemsRef. load() starts over
+// from the first page; loadMore() appends the next one while the server has more.
+export function useCursorPages(itemsRef) {
+    const nextCursor = ref(null)
+    const loadingMore = ref(false)
+    let fetchPage = null
+
+    const hasMore = computed(() => nextCursor.value !== null)
+
+    const load = async (fetchFunction) => {
+        fetchPage = fetchFunction
+        const page = await fetchPage(null)
+        itemsRef.value = page.items
+        nextCursor.value = page.nextCursor
+    }
+
+    const loadMore = async () => {
+        if (!fetchPage || !nextCursor.value || loadingMore.value) return
+        loadingMore.value = true
+        try {
+            const page = await fetchPage(nextCursor.value)
+            itemsRef.value = [...itemsRef.value, ...page.items]
+            nextCursor.value = page.nextCursor
+        } finally {
+            loadingMore.value = false
+        }
+    }
+
+    return {
+        hasMore,
+        loadingMore,
+        load,
+        loadMore
+    }
+}
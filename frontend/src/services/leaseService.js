@@ -1,20 +1,15 @@
 import {BASE_URL} from "@/configs/config.js";
+import { fetchPage } from "@/services/pagination.js";
 
 const API = `${BASE_URL}/lease`;
 
-export const fetchAllLeases= async () => {
+export const fetchLeasesPage = async (cursor = null) => {
     const token = localStorage.getItem('token');
-    const response = await fetch(`${API}`, {
+    return await fetchPage(API, cursor, {
         headers: {
             'Authorization': `Bearer ${token}`
         }
     });
-
-    if (!response.ok) {
-        throw new Error(`Failed to fetch leases: ${response.status}`);
-    }
-
-    return await response.json();
 };
 
 export const fetchActiveLeasesByOwnerId = async (userId) => {
@@ -1,20 +1,17 @@
 import { BASE_URL } from "@/configs/config.js";
+import { fetchPage } from "@/services/pagination.js";
 
 const API = `${BASE_URL}/activity-log`;
 
-export const fetchAllLogs = async () => {
+export const fetchLogsPage = async (cursor = null) => {
     try {
         const token = localStorage.getItem('token');
-        const response = await fetch(`${API}`, {
+        return await fetchPage(API, cursor, {
             method: 'GET',
             headers: {
                 'Authorization': `Bearer ${token}`
             }
         });
-        if (!response.ok) {
-            throw new Error(`HTTP error! status: ${response.status}`);
-        }
-        return await response.json();
     } catch (error) {
         console.error('Error fetching logs:', error);
         throw error;
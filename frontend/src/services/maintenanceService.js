@@ -1,4 +1,5 @@
 import {BASE_URL} from "@/configs/config.js";
+import { fetchPage } from "@/services/pagination.js";
 const API = `${BASE_URL}/maintenance`;
 
 export const fetchMaintenanceRequestsByLease = async (leaseId) => {
@@ -140,17 +141,25 @@ export const setMaintenanceCost = async (requestId, cost) => {
     }
 }
 
-export const fetchAllMaintenanceRequests = async () => {
+export const fetchMaintenanceRequestsCount = async () => {
+    const response = await fetch(`${API}/count`, {
+        headers: {
+            'Authorization': `Bearer ${localStorage.getItem('token')}`
+        }
+    });
+    if (!response.ok) {
+        throw new Error(`HTTP error! status: ${response.status}`);
+    }
+    return (await response.json()).count;
+};
+
+export const fetchMaintenanceRequestsPage = async (cursor = null) => {
     try {
-        const response = await fetch(`${API}`, {
+        return await fetchPage(API, cursor, {
             headers: {
                 'Authorization': `Bearer ${localStorage.getItem('token')}`
             }
         });
-        if (!response.ok) {
-            throw new Error(`HTTP error! status: ${response.status}`);
-        }
-        return await response.json();
     } catch (error) {
         console.error('Error fetching all maintenance requests:', error);
         throw error;
@@ -78,3 +78,22 @@ export const markAllNotificationAsReadByEmail = async (email) => {
 };
 
 
+
+export const fetchUnreadCountByEmail = async (email) => {
+    try {
+        const token = localStorage.getItem('token');
+        const response = await fetch(`${API}/user/email/${encodeURIComponent(email)}/unread-count`, {
+            headers: {
+                'Authorization': `Bearer ${token}`,
+                'Content-Type': 'application/json'
+            }
+        });
+        if (!response.ok) {
+            throw new Error(`HTTP error! status: ${response.status}`);
+        }
+        return await response.json();
+    } catch (error) {
+        console.error('Error fetching unread notification count:', error);
+        throw error;
+    }
+};
@@ -0,0 +1,39 @@
+// List endpoints are keyset-paginated: each response carries the cursor of the
+// next page in the X-Next-Cursor header, which is absent on the last page.
+// Lists show the first page and fetch the next one only when asked to.
+const PAGE_LIMIT = 50;
+
+export const fetchPage = async (url, cursor = null, options = {}) => {
+    const params = new URLSearchParams({ limit: PAGE_LIMIT });
+    if (cursor) {
+        params.set('cursor', cursor);
+    }
+    const response = await fetch(`${url}?${params}`, options);
+    if (!response.ok) {
+        throw new Error(`HTTP error! status: ${response.status}`);
+    }
+    return {
+        items: await response.json(),
+        nextCursor: response.headers.get('X-Next-Cursor')
+    };
+};
+
+// Lookups by id go through the list endpoint's ?ids= filter, which accepts
+// at most one page worth of ids per request.
+const MAX_IDS_PER_REQUEST = 200;
+
+export const fetchByIds = async (url, ids, options = {}) => {
+    const unique = [...new Set(ids.filter(Boolean))];
+    const batches = [];
+    for (let i = 0; i < unique.length; i += MAX_IDS_PER_REQUEST) {
+        batches.push(unique.slice(i, i + MAX_IDS_PER_REQUEST));
+    }
+    const results = await Promise.all(batches.map(async batch => {
+        const response = await fetch(`${url}?ids=${batch.join(',')}`, options);
+        if (!response.ok) {
+            throw new Error(`HTTP error! status: ${response.status}`);
+        }
+        return await response.json();
+    }));
+    return results.flat();
+};
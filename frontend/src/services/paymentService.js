@@ -1,21 +1,16 @@
 import { BASE_URL } from "@/configs/config.js";
+import { fetchPage } from "@/services/pagination.js";
 
 const API = `${BASE_URL}/payment`;
 
-export const getAllPayments = async () => {
+export const getPaymentsPage = async (cursor = null) => {
     try {
         const token = localStorage.getItem('token');
-        const response = await fetch(`${API}`, {
+        return await fetchPage(API, cursor, {
             headers: {
                 'Authorization': `Bearer ${token}`
             }
         });
-
-        if (!response.ok) {
-            throw new Error(`HTTP error! status: ${response.status}`);
-        }
-
-        return await response.json();
     } catch (error) {
         console.error('Error fetching all payments:', error);
         throw error;
@@ -143,7 +138,7 @@ export const createStripeCheckoutSession = async (leaseId) => {
 export const confirmStripePayment = async (sessionId) => {
     const token = localStorage.getItem('token');
 
-    const response = await fetch(`${API}/stripe/confirm?session_id=${sessionId}`, {
+    const response = await fetch(`${API}/stripe/confirm?session_id=${encodeURIComponent(sessionId)}`, {
         method: 'POST',
         headers: {
             'Authorization': `Bearer ${token}`
@@ -158,6 +153,23 @@ export const confirmStripePayment = async (sessionId) => {
     return await response.json();
 };
 
+export const getStripeConfirmationStatus = async (sessionId) => {
+    const token = localStorage.getItem('token');
+
+    const response = await fetch(`${API}/stripe/confirm?session_id=${encodeURIComponent(sessionId)}`, {
+        headers: {
+            'Authorization': `Bearer ${token}`
+        }
+    });
+
+    if (!response.ok) {
+        const text = await response.text();
+        throw new Error(text || `Failed to check payment confirmation. Status: ${response.status}`);
+    }
+
+    return await response.json();
+};
+
 export const isPaymentMadeThisMonth = async (leaseId) => {
     try {
         const response = await fetch(`${API}/lease/${leaseId}/paid-this-month`, {
@@ -1,4 +1,5 @@
 import {BASE_URL} from "@/configs/config.js";
+import { fetchByIds, fetchPage } from "@/services/pagination.js";
 
 const API = `${BASE_URL}/property`;
 
@@ -85,19 +86,34 @@ export const fetchPendingProperties = async () => {
     return await response.json();
 };
 
-export const fetchAllPropertiesAdmin = async () => {
-    const token = localStorage.getItem('token');
-    const response = await fetch(`${API}`, {
+export const fetchPropertiesCount = async () => {
+    const response = await fetch(`${API}/count`, {
         headers: {
-            'Authorization': `Bearer ${token}`
+            'Authorization': `Bearer ${localStorage.getItem('token')}`
         }
     });
-
     if (!response.ok) {
         throw new Error(`HTTP error! status: ${response.status}`);
     }
+    return (await response.json()).count;
+};
 
-    return await response.json();
+// Loads just the properties a view refers to, one request per batch of ids
+export const fetchPropertiesByIds = async (propertyIds) => {
+    return await fetchByIds(API, propertyIds, {
+        headers: {
+            'Authorization': `Bearer ${localStorage.getItem('token')}`
+        }
+    });
+};
+
+export const fetchPropertiesPageAdmin = async (cursor = null) => {
+    const token = localStorage.getItem('token');
+    return await fetchPage(API, cursor, {
+        headers: {
+            'Authorization': `Bearer ${token}`
+        }
+    });
 };
 
 export const validateProperty = async (propertyId, status) => {
@@ -1,4 +1,5 @@
 import { BASE_URL } from "@/configs/config.js";
+import { fetchByIds, fetchPage } from "@/services/pagination.js";
 const API = `${BASE_URL}/user`;
 
 export const fetchUserById = async (userId) => {
@@ -42,24 +43,44 @@ export const fetchUserByEmail = async (email) => {
     }
 };
 
-export const fetchAllUsers = async () => {
+export const fetchUsersPage = async (cursor = null) => {
     try {
         const token = localStorage.getItem('token');
 
-        const response = await fetch(`${API}`, {
+        return await fetchPage(API, cursor, {
             method: 'GET',
             headers: {
                 'Authorization': `Bearer ${token}`,
                 'Content-Type': 'application/json'
             }
         });
-        return await response.json();
     } catch (error) {
         console.error('Error fetching users:', error);
         throw error;
     }
 };
 
+export const fetchUsersCount = async () => {
+    const response = await fetch(`${API}/count`, {
+        headers: {
+            'Authorization': `Bearer ${localStorage.getItem('token')}`
+        }
+    });
+    if (!response.ok) {
+        throw new Error(`HTTP error! status: ${response.status}`);
+    }
+    return (await response.json()).count;
+};
+
+// Loads just the users a view refers to, one request per batch of ids
+export const fetchUsersByIds = async (userIds) => {
+    return await fetchByIds(API, userIds, {
+        headers: {
+            'Authorization': `Bearer ${localStorage.getItem('token')}`
+        }
+    });
+};
+
 export const createUser = async (userData) => {
     try {
         const response = await fetch(API, {
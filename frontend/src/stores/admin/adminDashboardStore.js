@@ -8,9 +8,9 @@ import {
     rejectLease,
     fetchLeaseTrends
 } from '@/services/leaseService.js'
-import { fetchAllPropertiesAdmin, fetchPendingProperties, validateProperty } from '@/services/propertyService.js'
-import { fetchAllUsers } from '@/services/userService.js'
-import { fetchAllMaintenanceRequests } from '@/services/maintenanceService.js'
+import { fetchPropertiesCount, fetchPendingProperties, validateProperty } from '@/services/propertyService.js'
+import { fetchUsersCount } from '@/services/userService.js'
+import { fetchMaintenanceRequestsCount } from '@/services/maintenanceService.js'
 import { BASE_URL } from "@/configs/config.js"
 
 export const useAdminDashboardStore = defineStore('adminDashboardStore', () => {
@@ -158,21 +158,6 @@ export const useAdminDashboardStore = defineStore('adminDashboardStore', () => {
         pendingProperties.value = await fetchPendingProperties()
     }
 
-    const fetchUsersCount = async () => {
-        const users = await fetchAllUsers()
-        return users.length
-    }
-
-    const fetchPropertiesCount = async () => {
-        const properties = await fetchAllPropertiesAdmin()
-        return properties.length
-    }
-
-    const fetchMaintenanceRequestsCount = async () => {
-        const maintenance = await fetchAllMaintenanceRequests()
-        return maintenance.length
-    }
-
     const fetchStatsData = async () => {
         statsLoading.value = true
         try {
@@ -1,6 +1,6 @@
 import { defineStore } from 'pinia'
 import { useBaseAdminStore } from '@/composables/useBaseAdminStore.js'
-import { fetchAllMaintenanceRequests } from '@/services/maintenanceService.js'
+import { fetchMaintenanceRequestsPage } from '@/services/maintenanceService.js'
 
 export const useMaintenanceAdminStore = defineStore('maintenanceAdmin', () => {
     const baseStore = useBaseAdminStore({
@@ -16,7 +16,7 @@ export const useMaintenanceAdminStore = defineStore('maintenanceAdmin', () => {
         idField: 'requestId'
     })
 
-    const fetchRequests = () => baseStore.fetchItems(fetchAllMaintenanceRequests)
+    const fetchRequests = () => baseStore.fetchPages(fetchMaintenanceRequestsPage)
 
     return {
         ...baseStore,
@@ -1,6 +1,6 @@
 import { defineStore } from 'pinia'
 import { useBaseAdminStore } from '@/composables/useBaseAdminStore.js'
-import { getAllPayments } from '@/services/paymentService.js'
+import { getPaymentsPage } from '@/services/paymentService.js'
 
 export const usePaymentAdminStore = defineStore('paymentAdmin', () => {
     const baseStore = useBaseAdminStore({
@@ -16,7 +16,7 @@ export const usePaymentAdminStore = defineStore('paymentAdmin', () => {
         idField: 'paymentId'
     })
 
-    const fetchPayments = () => baseStore.fetchItems(getAllPayments)
+    const fetchPayments = () => baseStore.fetchPages(getPaymentsPage)
 
     return {
         ...baseStore,
@@ -2,7 +2,7 @@ import { defineStore } from 'pinia'
 import { computed } from 'vue'
 import { useBaseAdminStore } from '@/composables/useBaseAdminStore.js'
 import {
-    fetchAllPropertiesAdmin,
+    fetchPropertiesPageAdmin,
     validateProperty,
     fetchPendingProperties
 } from '@/services/propertyService.js'
@@ -29,7 +29,7 @@ export const useAdminPropertyStore = defineStore('adminPropertyStore', () => {
 
     const statuses = ['ALL', 'ACTIVE', 'PENDING', 'INACTIVE', 'RENTED', 'MAINTENANCE']
 
-    const fetchProperties = () => baseStore.fetchItems(fetchAllPropertiesAdmin)
+    const fetchProperties = () => baseStore.fetchPages(fetchPropertiesPageAdmin)
 
     const validatePropertyAction = (propertyId) =>
         baseStore.executeAction(validateProperty, propertyId)
@@ -1,7 +1,8 @@
 import { defineStore } from 'pinia'
 import { ref, computed } from 'vue'
-import { fetchAllLogs } from '@/services/logsService.js'
+import { fetchLogsPage } from '@/services/logsService.js'
 import { usePagination } from "@/composables/usePagination.js";
+import { useCursorPages } from "@/composables/useCursorPages.js";
 
 export const useLogStore = defineStore('logStore', () => {
     const logs = ref([])
@@ -18,10 +19,12 @@ export const useLogStore = defineStore('logStore', () => {
     const sortField = ref('createdAt')
     const sortDirection = ref('desc')
 
+    const { hasMore, loadingMore, load, loadMore: loadNextPage } = useCursorPages(logs)
+
     const fetchLogs = async () => {
         try {
             loading.value = true
-            logs.value = await fetchAllLogs()
+            await load(fetchLogsPage)
         } catch (err) {
             error.value = 'Failed to fetch logs'
             console.error(err)
@@ -30,6 +33,15 @@ export const useLogStore = defineStore('logStore', () => {
         }
     }
 
+    const loadMore = async () => {
+        try {
+            await loadNextPage()
+        } catch (err) {
+            error.value = 'Failed to fetch more logs'
+            console.error(err)
+        }
+    }
+
     const totalLogs = computed(() => logs.value.length)
 
     const errorCount = computed(() => {
@@ -235,8 +247,11 @@ export const useLogStore = defineStore('logStore', () => {
         paginatedLogs,
         totalPages,
         middlePages,
+        hasMore,
+        loadingMore,
 
         fetchLogs,
+        loadMore,
         sortBy,
         applyFilters,
         resetFilters,
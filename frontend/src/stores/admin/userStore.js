@@ -1,8 +1,9 @@
 // stores/userStore.js
 import { defineStore } from 'pinia'
 import { ref, computed } from 'vue'
+import { useCursorPages } from '@/composables/useCursorPages.js'
 import {
-    fetchAllUsers,
+    fetchUsersPage,
     createUser,
     deleteUser,
     activateUser,
@@ -18,6 +19,8 @@ export const useUserStore = defineStore('userStore', () => {
 
     const roles = ['ADMIN', 'LANDLORD', 'TENANT']
 
+    const { hasMore, loadingMore, load, loadMore: loadNextPage } = useCursorPages(users)
+
     const filteredUsers = computed(() => {
         if (!searchQuery.value) return users.value
         const query = searchQuery.value.toLowerCase()
@@ -32,7 +35,7 @@ export const useUserStore = defineStore('userStore', () => {
         loading.value = true
         error.value = null
         try {
-            users.value = await fetchAllUsers()
+            await load(fetchUsersPage)
         } catch (err) {
             error.value = err.message || 'Failed to load users'
         } finally {
@@ -40,6 +43,14 @@ export const useUserStore = defineStore('userStore', () => {
         }
     }
 
+    const loadMoreUsers = async () => {
+        try {
+            await loadNextPage()
+        } catch (err) {
+            error.value = err.message || 'Failed to load more users'
+        }
+    }
+
     const addUser = async (userData) => {
         loading.value = true
         try {
@@ -99,7 +110,10 @@ export const useUserStore = defineStore('userStore', () => {
         searchQuery,
         roles,
         filteredUsers,
+        hasMore,
+        loadingMore,
         loadUsers,
+        loadMoreUsers,
         addUser,
         removeUser,
         toggleStatus,
@@ -8,7 +8,6 @@ import {
     fetchMyLeases
 } from '@/services/leaseService.js'
 import {
-    fetchAllUsers,
     fetchUserById
 } from '@/services/userService.js'
 import {
@@ -36,7 +35,6 @@ export const usePaymentLandlordStore = defineStore('paymentLandlordStore', () =>
         try {
             payments.value = await fetchPaymentsForOwner()
             leases.value = await fetchMyLeases()
-            users.value = await fetchAllUsers()
             properties.value = await Promise.all(
                 leases.value.map(lease => fetchPropertyById(lease.propertyId))
             )
@@ -56,6 +54,9 @@ export const usePaymentLandlordStore = defineStore('paymentLandlordStore', () =>
                 })
             )
 
+            // The only users this view refers to are the tenants of its leases
+            users.value = tenants.value.filter(Boolean)
+
             leases.value = leases.value.map(lease => ({
                 ...lease,
                 property: properties.value.find(p => p.propertyId === lease.propertyId)
@@ -1,6 +1,6 @@
 import { defineStore } from 'pinia'
 import { ref } from 'vue'
-import { fetchNotificationsByEmail, markAllNotificationAsReadByEmail} from '@/services/notificationService'
+import { fetchNotificationsByEmail, fetchUnreadCountByEmail, markAllNotificationAsReadByEmail} from '@/services/notificationService'
 import { jwtDecode } from 'jwt-decode'
 
 export const useNotificationStore =
@@ -9,13 +9,18 @@ export const useNotificationStore =
     const unreadCount = ref(0)
     const intervalId = ref(null)
 
+    const currentEmail = () => {
+        const token = localStorage.getItem('token')
+        if (!token) return null
+
+        const decoded = jwtDecode(token)
+        return decoded?.userId || decoded?.id || decoded?.sub
+    }
+
     const fetchNotification = async () => {
         try {
-            const token = localStorage.getItem('token')
-            if (!token) return
-
-            const decoded = jwtDecode(token)
-            const email = decoded?.userId || decoded?.id || decoded?.sub
+            const email = currentEmail()
+            if (!email) return
 
             const response = await fetchNotificationsByEmail(email)
             notifications.value = response
@@ -25,10 +30,25 @@ export const useNotificationStore =
         }
     }
 
+    // Polls the cheap unread counter and only reloads the full list when it changed
+    const refreshIfChanged = async () => {
+        try {
+            const email = currentEmail()
+            if (!email) return
+
+            const count = await fetchUnreadCountByEmail(email)
+            if (count !== unreadCount.value) {
+                await fetchNotification()
+            }
+        } catch (error) {
+            console.error('Error polling notifications:', error)
+        }
+    }
+
     const startPolling = () => {
         if (!intervalId.value) {
             fetchNotification()
-            intervalId.value = setInterval(fetchNotification, 30000)
+            intervalId.value = setInterval(refreshIfChanged, 30000)
         }
     }
 
@@ -41,7 +61,7 @@ export const useNotificationStore =
 
     const markAllAsRead = async () => {
         try {
-            await markAllNotificationAsReadByEmail();
+            await markAllNotificationAsReadByEmail(currentEmail());
 
             notifications.value.forEach(notification => {
                 if (!notification.read) {